@@ -2,33 +2,112 @@ package com.sapiens.bdms.decisionexecutor;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.sapiens.bdms.decisionexecutor.cli.BulkExecutionCommand;
+import com.sapiens.bdms.decisionexecutor.service.face.ExecutionMetricsService;
+import com.sapiens.bdms.decisionexecutor.ws.model.ExecutionResultModule;
+import org.springframework.boot.DefaultApplicationArguments;
 import org.springframework.boot.SpringApplication;
+import org.springframework.boot.WebApplicationType;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
 import org.springframework.context.annotation.Bean;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
 import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+
+import java.io.IOException;
+import java.lang.reflect.Type;
+import java.util.Arrays;
 
 /***
- * This is the Spring boot configuration and lunch class
+ * This is the Spring boot configuration and lunch class.
+ * Started with "--batch", executes a decision or flow for the records of an input file instead (see BulkExecutionCommand)
  */
 @SpringBootApplication
 public class DecisionExecutorApplication {
 
 	public static void main(String[] args) {
+		if (Arrays.asList(args).contains("--" + BulkExecutionCommand.BATCH_OPTION)) {
+			// files in, files out, without the web server
+			ConfigurableApplicationContext context = new SpringApplicationBuilder(DecisionExecutorApplication.class)
+					.web(WebApplicationType.NONE)
+					.run(args);
+			int exitCode = context.getBean(BulkExecutionCommand.class).run(new DefaultApplicationArguments(args));
+			System.exit(SpringApplication.exit(context, () -> exitCode));
+		}
 		SpringApplication.run(DecisionExecutorApplication.class, args);
 	}
 
 	/***
-	 * Configuration setting for jackson auto JSON serialization for HTTP requests and responses
+	 * Configuration setting for jackson auto JSON serialization for HTTP requests and responses.
+	 * The responses of the execution calls are timed as their serialization phase.
+	 * @return
+	 */
+	@Bean
+	public MappingJackson2HttpMessageConverter mappingJackson2HttpMessageConverter(ExecutionMetricsService pojoExecutionMetricsService) {
+		MappingJackson2HttpMessageConverter converter =
+				new MappingJackson2HttpMessageConverter(configure(new ObjectMapper())) {
+					@Override
+					protected void writeInternal(Object object, Type type, HttpOutputMessage outputMessage) throws IOException {
+						timeSerialization(pojoExecutionMetricsService, () -> super.writeInternal(object, type, outputMessage));
+					}
+				};
+		return converter;
+	}
+
+	/***
+	 * Same as the JSON serialization, for the requests and responses of "application/x-jackson-smile" content type
+	 * @return
+	 */
+	@Bean
+	public MappingJackson2SmileHttpMessageConverter mappingJackson2SmileHttpMessageConverter(ExecutionMetricsService pojoExecutionMetricsService) {
+		return new MappingJackson2SmileHttpMessageConverter(configure(new ObjectMapper(new SmileFactory()))) {
+			@Override
+			protected void writeInternal(Object object, Type type, HttpOutputMessage outputMessage) throws IOException {
+				timeSerialization(pojoExecutionMetricsService, () -> super.writeInternal(object, type, outputMessage));
+			}
+		};
+	}
+
+	/***
+	 * Same as the JSON serialization, for the requests and responses of "application/cbor" content type
 	 * @return
 	 */
 	@Bean
-	public MappingJackson2HttpMessageConverter mappingJackson2HttpMessageConverter() {
-		ObjectMapper mapper = new ObjectMapper();
+	public MappingJackson2CborHttpMessageConverter mappingJackson2CborHttpMessageConverter(ExecutionMetricsService pojoExecutionMetricsService) {
+		return new MappingJackson2CborHttpMessageConverter(configure(new ObjectMapper(new CBORFactory()))) {
+			@Override
+			protected void writeInternal(Object object, Type type, HttpOutputMessage outputMessage) throws IOException {
+				timeSerialization(pojoExecutionMetricsService, () -> super.writeInternal(object, type, outputMessage));
+			}
+		};
+	}
+
+	/***
+	 * Times the given write of a response as its serialization phase, the same for every format
+	 */
+	private static void timeSerialization(ExecutionMetricsService pojoExecutionMetricsService, ResponseWrite write) throws IOException {
+		long start = pojoExecutionMetricsService.startPhase();
+		write.write();
+		pojoExecutionMetricsService.endSerialization(start);
+	}
 
+	private static ObjectMapper configure(ObjectMapper mapper) {
 		// change the default not to fail on empty beans
 		mapper.configure(SerializationFeature.FAIL_ON_EMPTY_BEANS, false);
-		MappingJackson2HttpMessageConverter converter =
-				new MappingJackson2HttpMessageConverter(mapper);
-		return converter;
+		// the decision and flow results are written by their own serializers
+		mapper.registerModule(new ExecutionResultModule());
+		return mapper;
+	}
+
+	/***
+	 * The write of a response by a message converter, typically its super call
+	 */
+	private interface ResponseWrite {
+		void write() throws IOException;
 	}
 }
@@ -0,0 +1,112 @@
+package com.sapiens.bdms.decisionexecutor.cli;
+
+import com.sapiens.bdms.decisionexecutor.service.face.ArtifactExecutorService;
+import com.sapiens.bdms.decisionexecutor.service.face.BulkExecutionService;
+import com.sapiens.bdms.decisionexecutor.service.face.BulkExecutionService.ChunkExecution;
+import com.sapiens.bdms.decisionexecutor.service.face.ExecutionProfileService;
+import com.sapiens.bdms.decisionexecutor.service.model.ArtifactKey;
+import com.sapiens.bdms.decisionexecutor.service.model.BatchItemResult;
+import com.sapiens.bdms.decisionexecutor.service.model.BulkExecutionReport;
+import com.sapiens.bdms.decisionexecutor.service.model.ExecutionProfile;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.Resource;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+import static com.sapiens.bdms.decisionexecutor.ws.model.ExecutionResultDtos.normalizeFlowResult;
+import static com.sapiens.bdms.decisionexecutor.ws.model.ExecutionResultDtos.toError;
+
+/***
+ * Executes a decision or flow for each record of an input file into an output file, without the web server, e.g:
+ * --batch --artifact=decision/com.sapiens/CustomerTurnoverAmount/Base/1.0 --in=inputs.csv --out=results.ndjson
+ */
+@Component
+public class BulkExecutionCommand {
+
+	public static final String BATCH_OPTION = "batch";
+
+	private static final String USAGE = "Usage: --batch --artifact=<decision/{packagePrefix}/{conclusionName}/{view}/{version} or " +
+			"flow/{packagePrefix}/{flowName}/{version}> --in=<input .csv or .ndjson file> --out=<output .ndjson file> " +
+			"[--checkpoint=<checkpoint file, \"<out>.checkpoint\" by default>] " +
+			"[--profile=<full or lean, the artifact's configured execution profile by default>]";
+
+	private final Logger logger = LoggerFactory.getLogger(this.getClass());
+
+	@Resource
+	private ArtifactExecutorService pojoArtifactExecutorService;
+
+	@Resource
+	private BulkExecutionService pojoBulkExecutionService;
+
+	@Resource
+	private ExecutionProfileService pojoExecutionProfileService;
+
+	/***
+	 * @param args The command line arguments
+	 * @return The process exit code, 0 if all the records were executed, even if some of them failed
+	 */
+	public int run(ApplicationArguments args) {
+		String artifact = getOption(args, "artifact");
+		String in = getOption(args, "in");
+		String out = getOption(args, "out");
+		if (artifact == null || in == null || out == null) {
+			logger.error(USAGE);
+			return 2;
+		}
+		String checkpointOption = getOption(args, "checkpoint");
+		Path output = Paths.get(out);
+		Path checkpoint = checkpointOption != null ? Paths.get(checkpointOption) : output.resolveSibling(output.getFileName() + ".checkpoint");
+
+		String[] parts = artifact.split("/");
+		ArtifactKey artifactKey;
+		if (parts.length == 5 && parts[0].equals("decision")) {
+			artifactKey = ArtifactKey.decision(parts[1], parts[2], parts[3], parts[4]);
+		} else if (parts.length == 4 && parts[0].equals("flow")) {
+			artifactKey = ArtifactKey.flow(parts[1], parts[2], parts[3]);
+		} else {
+			logger.error("Invalid artifact \"" + artifact + "\". " + USAGE);
+			return 2;
+		}
+		ExecutionProfile profile;
+		try {
+			profile = pojoExecutionProfileService.resolve(artifactKey, getOption(args, "profile"));
+		} catch (IllegalArgumentException e) {
+			logger.error(e.getMessage() + ". " + USAGE);
+			return 2;
+		}
+
+		ChunkExecution execution;
+		Function<BatchItemResult, Object> resultView;
+		if (parts[0].equals("decision")) {
+			execution = inputs -> pojoArtifactExecutorService.executeDecisionBatch(parts[1], parts[2], parts[3], parts[4], inputs, profile);
+			resultView = result -> result.isFailed() ? toError(result.getError()) : result.getResult();
+		} else {
+			execution = inputs -> pojoArtifactExecutorService.executeFlowBatch(parts[1], parts[2], parts[3], inputs, profile);
+			resultView = result -> result.isFailed() ? toError(result.getError()) : normalizeFlowResult((Map<String, Object>) result.getResult(), null, profile);
+		}
+
+		try {
+			BulkExecutionReport report = pojoBulkExecutionService.executeFile(execution, Paths.get(in), output, checkpoint, resultView);
+			long executed = report.getItems() - report.getResumedItems();
+			logger.info(String.format("Executed %d records of %s from \"%s\" into \"%s\" (%d before resuming), %d failed, in %d ms, %.0f records/s",
+									  report.getItems(), artifact, in, out, report.getResumedItems(), report.getFailedItems(),
+									  report.getDurationMillis(), executed * 1000.0 / Math.max(report.getDurationMillis(), 1)));
+			return 0;
+		} catch (Exception e) {
+			logger.error("Failed to execute " + artifact + " for \"" + in + "\", rerun to resume from the last checkpoint: " + e.getMessage(), e);
+			return 1;
+		}
+	}
+
+	private String getOption(ApplicationArguments args, String name) {
+		List<String> values = args.getOptionValues(name);
+		return values == null || values.isEmpty() ? null : values.get(0);
+	}
+}
@@ -0,0 +1,16 @@
+package com.sapiens.bdms.decisionexecutor.exception;
+
+/***
+ * Thrown when an artifact class is not found in any of the loaded artifacts jars.
+ * Does not fill in its stack trace so it can be created and re-thrown cheaply for unknown artifacts.
+ */
+public class ArtifactClassNotFoundException extends ClassNotFoundException {
+	public ArtifactClassNotFoundException(String message) {
+		super(message);
+	}
+
+	@Override
+	public synchronized Throwable fillInStackTrace() {
+		return this;
+	}
+}
@@ -0,0 +1,45 @@
+package com.sapiens.bdms.decisionexecutor.exception;
+
+import com.sapiens.bdms.decisionexecutor.service.model.ArtifactKey;
+import com.sapiens.bdms.java.exe.helper.base.ExecutableType;
+
+import java.nio.file.Paths;
+
+import static com.sapiens.bdms.decisionexecutor.GeneralConstants.README_URL;
+
+/***
+ * Thrown when the class of a requested decision or flow is not found in any of the loaded artifacts jars.
+ * Builds its message only once read and does not fill in its stack trace, so unknown artifacts are rejected cheaply.
+ */
+public class ArtifactNotFoundException extends ClassNotFoundException {
+	private final ArtifactKey artifact;
+	private final String defaultArtifactsJarLocation;
+	private String message;
+
+	public ArtifactNotFoundException(ArtifactKey artifact, String defaultArtifactsJarLocation) {
+		this.artifact = artifact;
+		this.defaultArtifactsJarLocation = defaultArtifactsJarLocation;
+	}
+
+	@Override
+	public String getMessage() {
+		if (message == null) {
+			String location = Paths.get(defaultArtifactsJarLocation).toAbsolutePath().toString();
+			message = artifact.getType() == ExecutableType.DECISION ?
+					String.format("Class for decision of conclusion \"%s\", view \"%s\" and version \"%s\" on package \"%s\" not found.\n" +
+										  "Make sure the above is accurate and the artifact jar/s located in the configured artifacts jar location (%s by default), \n" +
+										  "as described in %s",
+								  artifact.getName(), artifact.getView(), artifact.getVersion(), artifact.getPackagePrefix(), location, README_URL) :
+					String.format("Class for flow \"%s\" and version \"%s\" on package \"%s\" not found.\n" +
+										  "Make sure the above is accurate and the artifact jar/s located in the configured artifacts jar location (%s by default), \n" +
+										  "as described in %s",
+								  artifact.getName(), artifact.getVersion(), artifact.getPackagePrefix(), location, README_URL);
+		}
+		return message;
+	}
+
+	@Override
+	public synchronized Throwable fillInStackTrace() {
+		return this;
+	}
+}
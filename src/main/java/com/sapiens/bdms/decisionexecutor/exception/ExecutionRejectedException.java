@@ -0,0 +1,18 @@
+package com.sapiens.bdms.decisionexecutor.exception;
+
+/***
+ * Thrown when an execution is not accepted since the execution pool and its queue are full, so the client should
+ * retry after the given delay rather than wait behind the queued executions
+ */
+public class ExecutionRejectedException extends RuntimeException {
+	private final int retryAfterSeconds;
+
+	public ExecutionRejectedException(String message, int retryAfterSeconds) {
+		super(message);
+		this.retryAfterSeconds = retryAfterSeconds;
+	}
+
+	public int getRetryAfterSeconds() {
+		return retryAfterSeconds;
+	}
+}
@@ -0,0 +1,18 @@
+package com.sapiens.bdms.decisionexecutor.exception;
+
+/***
+ * Thrown when an execution does not complete before its deadline, in which case the execution is abandoned if not
+ * started yet, or its thread is interrupted
+ */
+public class ExecutionTimeoutException extends RuntimeException {
+	private final long timeoutMillis;
+
+	public ExecutionTimeoutException(String message, long timeoutMillis) {
+		super(message);
+		this.timeoutMillis = timeoutMillis;
+	}
+
+	public long getTimeoutMillis() {
+		return timeoutMillis;
+	}
+}
@@ -1,5 +1,15 @@
 package com.sapiens.bdms.decisionexecutor.service.face;
 
+import com.sapiens.bdms.decisionexecutor.service.model.ArtifactKey;
+import com.sapiens.bdms.decisionexecutor.service.model.ArtifactMetadata;
+import com.sapiens.bdms.decisionexecutor.service.model.BatchItemResult;
+import com.sapiens.bdms.decisionexecutor.service.model.BatchItemResultWriter;
+import com.sapiens.bdms.decisionexecutor.service.model.ExecutionProfile;
+import com.sapiens.bdms.decisionexecutor.service.model.ExecutionTrace;
+
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
 
 public interface ArtifactExecutorService {
@@ -11,16 +21,130 @@ public interface ArtifactExecutorService {
 	 * @param view The Decision's View
 	 * @param version The Decision's version
 	 * @param factValueByNameInputs The Map of the execution input values by their Fact Type name
+	 * @param profile The diagnostics to collect and return besides the conclusion
+	 * @param trace The trace to record the executed decisions into, null if not traced
 	 * @return Execution result as map of values by Fact Type Name and messages
 	 */
-	Object executeDecision(String packagePrefix, String conclusionName, String view, String version, Map<String, Object> factValueByNameInputs) throws ClassNotFoundException, IllegalAccessException, InstantiationException;
+	Object executeDecision(String packagePrefix, String conclusionName, String view, String version, Map<String, Object> factValueByNameInputs, ExecutionProfile profile, ExecutionTrace trace) throws ClassNotFoundException, IllegalAccessException, InstantiationException;
 	/***
 	 * Execute a Flow according to given parameters and return result with messages
 	 * @param packagePrefix The Java package prefix as was set to the "Generated Package Prefix" property in the
 	 *                      DM Java Adapter with which this Decision class was exported
 	 * @param version The Flow's version
 	 * @param factValueByNameInputs The Map of the execution input values by their Fact Type name
+	 * @param profile The diagnostics to collect and return besides the conclusion
+	 * @param trace The trace to record the executed decisions into, null if not traced
 	 * @return Execution result as map of execution result with row hits and messages by Fact Type Name
 	 */
-	Map<String, Object> executeFlow(String packagePrefix, String flowName, String version, Map<String, Object> factValueByNameInputs) throws ClassNotFoundException, IllegalAccessException, InstantiationException;
+	Map<String, Object> executeFlow(String packagePrefix, String flowName, String version, Map<String, Object> factValueByNameInputs, ExecutionProfile profile, ExecutionTrace trace) throws ClassNotFoundException, IllegalAccessException, InstantiationException;
+	/***
+	 * Execute a Decision View for each of the given inputs, resolving the Decision once for the whole batch
+	 * @param packagePrefix The Java package prefix as was set to the "Generated Package Prefix" property in the
+	 *                      DM Java Adapter with which this Decision class was exported
+	 * @param conclusionName The decision conclusion
+	 * @param view The Decision's View
+	 * @param version The Decision's version
+	 * @param batchInputs The Map of the execution input values by their Fact Type name, per item
+	 * @param profile The diagnostics to collect and return besides the conclusion
+	 * @return The execution result or error of each item, in the order of the given inputs
+	 */
+	List<BatchItemResult> executeDecisionBatch(String packagePrefix, String conclusionName, String view, String version, List<Map<String, Object>> batchInputs, ExecutionProfile profile) throws ClassNotFoundException;
+	/***
+	 * Execute a Flow for each of the given inputs, resolving the Flow once for the whole batch
+	 * @param packagePrefix The Java package prefix as was set to the "Generated Package Prefix" property in the
+	 *                      DM Java Adapter with which this Flow class was exported
+	 * @param flowName The Flow's name
+	 * @param version The Flow's version
+	 * @param batchInputs The Map of the execution input values by their Fact Type name, per item
+	 * @param profile The diagnostics to collect and return besides the conclusion
+	 * @return The execution result or error of each item, in the order of the given inputs
+	 */
+	List<BatchItemResult> executeFlowBatch(String packagePrefix, String flowName, String version, List<Map<String, Object>> batchInputs, ExecutionProfile profile) throws ClassNotFoundException;
+	/***
+	 * Execute a Decision View with the input values given by their position in the Decision's fact types order
+	 * @param packagePrefix The Java package prefix as was set to the "Generated Package Prefix" property in the
+	 *                      DM Java Adapter with which this Decision class was exported
+	 * @param conclusionName The decision conclusion
+	 * @param view The Decision's View
+	 * @param version The Decision's version
+	 * @param positionalInputs The execution input values in the fact types order, null for an input not given
+	 * @param profile The diagnostics to collect and return besides the conclusion
+	 * @return Execution result as map of values by Fact Type Name and messages
+	 */
+	Object executeDecisionPositional(String packagePrefix, String conclusionName, String view, String version, List<Object> positionalInputs, ExecutionProfile profile) throws ClassNotFoundException, InstantiationException;
+	/***
+	 * Execute a Flow with the input values given by their position in the Flow's fact types order
+	 * @param packagePrefix The Java package prefix as was set to the "Generated Package Prefix" property in the
+	 *                      DM Java Adapter with which this Flow class was exported
+	 * @param flowName The Flow's name
+	 * @param version The Flow's version
+	 * @param positionalInputs The execution input values in the fact types order, null for an input not given
+	 * @param profile The diagnostics to collect and return besides the conclusion
+	 * @return Execution result as map of execution result with row hits and messages by Fact Type Name
+	 */
+	Map<String, Object> executeFlowPositional(String packagePrefix, String flowName, String version, List<Object> positionalInputs, ExecutionProfile profile) throws ClassNotFoundException, InstantiationException;
+	/***
+	 * Execute a Decision View for each of the given inputs, given by their position in the Decision's fact types order
+	 * @param batchInputs The execution input values in the fact types order, per item
+	 * @return The execution result or error of each item, in the order of the given inputs
+	 */
+	List<BatchItemResult> executeDecisionPositionalBatch(String packagePrefix, String conclusionName, String view, String version, List<List<Object>> batchInputs, ExecutionProfile profile) throws ClassNotFoundException;
+	/***
+	 * Execute a Flow for each of the given inputs, given by their position in the Flow's fact types order
+	 * @param batchInputs The execution input values in the fact types order, per item
+	 * @return The execution result or error of each item, in the order of the given inputs
+	 */
+	List<BatchItemResult> executeFlowPositionalBatch(String packagePrefix, String flowName, String version, List<List<Object>> batchInputs, ExecutionProfile profile) throws ClassNotFoundException;
+	/***
+	 * Execute a Decision View for each of the inputs read from the given iterator, as soon as it is read, with a
+	 * bounded number of items executing or waiting to be written at any time
+	 * @param packagePrefix The Java package prefix as was set to the "Generated Package Prefix" property in the
+	 *                      DM Java Adapter with which this Decision class was exported
+	 * @param conclusionName The decision conclusion
+	 * @param view The Decision's View
+	 * @param version The Decision's version
+	 * @param inputs The Maps of the execution input values by their Fact Type name, read incrementally
+	 * @param profile The diagnostics to collect and return besides the conclusion
+	 * @param writer Writes the execution result or error of each item, in the order of the inputs
+	 */
+	void executeDecisionStream(String packagePrefix, String conclusionName, String view, String version, Iterator<Map<String, Object>> inputs, ExecutionProfile profile, BatchItemResultWriter writer) throws ClassNotFoundException, IOException;
+	/***
+	 * Execute a Flow for each of the inputs read from the given iterator, as soon as it is read, with a
+	 * bounded number of items executing or waiting to be written at any time
+	 * @param packagePrefix The Java package prefix as was set to the "Generated Package Prefix" property in the
+	 *                      DM Java Adapter with which this Flow class was exported
+	 * @param flowName The Flow's name
+	 * @param version The Flow's version
+	 * @param inputs The Maps of the execution input values by their Fact Type name, read incrementally
+	 * @param profile The diagnostics to collect and return besides the conclusion
+	 * @param writer Writes the execution result or error of each item, in the order of the inputs
+	 */
+	void executeFlowStream(String packagePrefix, String flowName, String version, Iterator<Map<String, Object>> inputs, ExecutionProfile profile, BatchItemResultWriter writer) throws ClassNotFoundException, IOException;
+	/***
+	 * Execute a Decision View or a Flow the same as an execution call, except that the result is neither cached nor
+	 * counted by the rule analytics, so the artifact's code is warm by the time the calls execute it
+	 * @param artifact The Decision View or Flow
+	 * @param factValueByNameInputs The Map of the execution input values by their Fact Type name
+	 * @param profile The diagnostics to collect besides the conclusion
+	 */
+	void warmUp(ArtifactKey artifact, Map<String, Object> factValueByNameInputs, ExecutionProfile profile) throws ClassNotFoundException, InstantiationException;
+	/***
+	 * Returns the input fact types of a Decision View according to given parameters
+	 * @param packagePrefix The Java package prefix as was set to the "Generated Package Prefix" property in the
+	 *                      DM Java Adapter with which this Decision class was exported
+	 * @param conclusionName The decision conclusion
+	 * @param view The Decision's View
+	 * @param version The Decision's version
+	 * @return The Decision's metadata
+	 */
+	ArtifactMetadata getDecisionMetadata(String packagePrefix, String conclusionName, String view, String version) throws ClassNotFoundException;
+	/***
+	 * Returns the input fact types of a Flow according to given parameters
+	 * @param packagePrefix The Java package prefix as was set to the "Generated Package Prefix" property in the
+	 *                      DM Java Adapter with which this Flow class was exported
+	 * @param flowName The Flow's name
+	 * @param version The Flow's version
+	 * @return The Flow's metadata
+	 */
+	ArtifactMetadata getFlowMetadata(String packagePrefix, String flowName, String version) throws ClassNotFoundException;
 }
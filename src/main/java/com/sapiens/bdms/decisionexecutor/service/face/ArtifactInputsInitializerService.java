@@ -1,16 +1,32 @@
 package com.sapiens.bdms.decisionexecutor.service.face;
 
+import com.sapiens.bdms.decisionexecutor.service.model.ExecutionPlan;
 import com.sapiens.bdms.java.exe.helper.base.Group;
 
+import java.util.List;
 import java.util.Map;
 
 public interface ArtifactInputsInitializerService {
 	/***
 	 * Sets given input values by fact name into the artifact instance to be executed
 	 * @param factValueByNameInputs Map of String fact values (or list of fact values) by fact name
-	 * @param artifactClass Java class of the artifact
+	 * @param plan The execution plan of the artifact
 	 * @param artifactInstance Constructed instance of the artifact
-	 * @param artifactName The artifact name
 	 */
-	void setFactInputs(Map<String, Object> factValueByNameInputs, Class artifactClass, Group artifactInstance, String artifactName);
+	void setFactInputs(Map<String, Object> factValueByNameInputs, ExecutionPlan plan, Group artifactInstance);
+	/***
+	 * Parses given input values by fact name to the fact data types, to be bound by the plan's fact schema
+	 * @param factValueByNameInputs Map of String fact values (or list of fact values) by fact name
+	 * @param plan The execution plan of the artifact
+	 * @return The parsed values by their normalized fact name
+	 */
+	Map<String, Object> parseFactInputs(Map<String, Object> factValueByNameInputs, ExecutionPlan plan);
+	/***
+	 * Parses given input values by position to the data types of the plan's fact types in the same position, without
+	 * matching any fact name
+	 * @param positionalInputs The input values in the fact types order of the plan's fact schema, null for an input not given
+	 * @param plan The execution plan of the artifact
+	 * @return The parsed values by their normalized fact name
+	 */
+	Map<String, Object> parsePositionalFactInputs(List<Object> positionalInputs, ExecutionPlan plan);
 }
@@ -1,15 +1,30 @@
 package com.sapiens.bdms.decisionexecutor.service.face;
 
 import com.sapiens.bdms.decisionexecutor.exception.MissingFileException;
+import com.sapiens.bdms.decisionexecutor.service.model.ArtifactsGeneration;
+import com.sapiens.bdms.decisionexecutor.service.model.ArtifactsGenerationStatistics;
+import com.sapiens.bdms.decisionexecutor.service.model.ArtifactsReloadStatistics;
+
+import java.nio.file.Path;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
 
 public interface ArtifactsJarLoaderService {
 	/***
-	 * Tries to load the class according to given classpath by iterating all existing Jars class loaders
+	 * Loads the class according to given classpath from the current generation of loaded jars.
+	 * In case the class exists in more than one jar, it is loaded from the last loaded jar.
 	 * @param fullClassName full classpath to the required class
 	 * @return The class found
 	 * @throws ClassNotFoundException if no class was found in any of the class loaders
 	 */
 	Class getArtifactClass(String fullClassName) throws ClassNotFoundException;
+	/***
+	 * Pins the current generation of loaded jars, so its class loaders stay open even if reloaded meanwhile.
+	 * Never blocks, even while a reload is in progress.
+	 * @return The current generation, to be closed once done using it
+	 */
+	ArtifactsGeneration acquireGeneration();
 	/***
 	 * Calls "loadArtifactJarsFrom" with the configured default jars location
 	 * @param reloadIfAlreadyLoaded Reload even if Jar already loaded before
@@ -25,5 +40,25 @@ public interface ArtifactsJarLoaderService {
 	 * @throws MissingFileException if no Jar was found in given path
 	 */
 	int loadArtifactJarsFrom(String path, boolean reloadIfAlreadyLoaded) throws MissingFileException;
+	/***
+	 * Loads (or reloads) the given changed Jars and unloads the given removed Jars as a single reload
+	 * @param changedJars Jars that were added or modified since last loaded
+	 * @param removedJars Jars that no longer exist
+	 * @return Number of Jars loaded
+	 */
+	int reloadArtifactJars(Collection<Path> changedJars, Collection<Path> removedJars);
 	boolean isClassLoadersEmpty();
+	/***
+	 * @return The accumulated statistics of all the reloads done so far
+	 */
+	ArtifactsReloadStatistics getReloadStatistics();
+	/***
+	 * @return The jars of every artifact class found in more than one jar by class name,
+	 * where the first jar is the one the class is loaded from
+	 */
+	Map<String, List<String>> getDuplicateArtifactClasses();
+	/***
+	 * @return The current generation of loaded jars and the replaced generations still being drained
+	 */
+	ArtifactsGenerationStatistics getGenerationStatistics();
 }
@@ -0,0 +1,14 @@
+package com.sapiens.bdms.decisionexecutor.service.face;
+
+public interface ArtifactsJarWatcherService {
+	/***
+	 * Scans the watched artifacts jar location and reloads any jar that was added, modified or removed since
+	 * the last scan, skipping jars that are still being written
+	 * @return Number of Jars loaded
+	 */
+	int reconcile();
+	/***
+	 * @return true if the artifacts jar location is currently watched for changes
+	 */
+	boolean isWatching();
+}
@@ -0,0 +1,13 @@
+package com.sapiens.bdms.decisionexecutor.service.face;
+
+import java.util.Set;
+
+/***
+ * Notified by the artifacts jar loader after a new generation of loaded jars replaced the current one
+ */
+public interface ArtifactsReloadListener {
+	/***
+	 * @param changedJarPaths Full paths of the jars that were reloaded or unloaded, hence anything resolved from them is stale
+	 */
+	void onArtifactJarsReloaded(Set<String> changedJarPaths);
+}
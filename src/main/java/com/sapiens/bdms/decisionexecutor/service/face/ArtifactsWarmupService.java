@@ -0,0 +1,14 @@
+package com.sapiens.bdms.decisionexecutor.service.face;
+
+import com.sapiens.bdms.decisionexecutor.service.model.ArtifactsWarmupStatistics;
+
+public interface ArtifactsWarmupService {
+	/***
+	 * @return true once the artifacts loaded on startup were warmed up, or if the warm-up is disabled
+	 */
+	boolean isReady();
+	/***
+	 * @return The accumulated statistics of the warm-ups done so far
+	 */
+	ArtifactsWarmupStatistics getStatistics();
+}
@@ -0,0 +1,32 @@
+package com.sapiens.bdms.decisionexecutor.service.face;
+
+import com.sapiens.bdms.decisionexecutor.service.model.BatchItemResult;
+import com.sapiens.bdms.decisionexecutor.service.model.BulkExecutionReport;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+public interface BulkExecutionService {
+	/***
+	 * Executes each of the records of the given CSV or newline-delimited JSON input file, chunk by chunk, and writes
+	 * the result of each as a newline-delimited JSON line of the given output file, in the order of the records.
+	 * Resumes from the given checkpoint file if exists, which is updated once each chunk is written and deleted once done.
+	 * @param execution Executes the records of a single chunk
+	 * @param input The input file, CSV if named "*.csv", newline-delimited JSON otherwise
+	 * @param output The output file
+	 * @param checkpoint The checkpoint file
+	 * @param resultView Transforms the result of each record into the object written as its output line
+	 * @return The number of records executed and failed
+	 */
+	BulkExecutionReport executeFile(ChunkExecution execution, Path input, Path output, Path checkpoint, Function<BatchItemResult, Object> resultView) throws IOException;
+
+	/***
+	 * Executes the records of a single chunk, returning the result of each in their order
+	 */
+	interface ChunkExecution {
+		List<BatchItemResult> execute(List<Map<String, Object>> inputs) throws Exception;
+	}
+}
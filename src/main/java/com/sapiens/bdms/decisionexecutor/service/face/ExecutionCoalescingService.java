@@ -0,0 +1,27 @@
+package com.sapiens.bdms.decisionexecutor.service.face;
+
+import com.sapiens.bdms.decisionexecutor.service.model.ArtifactKey;
+import com.sapiens.bdms.decisionexecutor.service.model.ExecutionCoalescingStatistics;
+import com.sapiens.bdms.decisionexecutor.service.model.ExecutionProfile;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
+
+public interface ExecutionCoalescingService {
+	/***
+	 * Shares the execution in flight of the same artifact, profile, inputs and timeout, if any, rather than submitting
+	 * another one, when "execution.coalescing.enabled"
+	 * @param artifact The executed artifact
+	 * @param profile The execution profile
+	 * @param inputs The execution input values by their fact name, as sent in the request
+	 * @param timeoutMillis The time the caller waits for the execution at most, 0 if only bound by the artifact's timeout
+	 * @param submission Submits the execution with the given timeout, called unless an identical execution is in flight
+	 * @return Completed with the result of the shared or submitted execution
+	 */
+	<T> CompletableFuture<T> coalesce(ArtifactKey artifact, ExecutionProfile profile, Map<String, Object> inputs, long timeoutMillis, Supplier<CompletableFuture<T>> submission);
+	/***
+	 * @return The number of executions in flight, submitted and shared
+	 */
+	ExecutionCoalescingStatistics getStatistics();
+}
@@ -0,0 +1,48 @@
+package com.sapiens.bdms.decisionexecutor.service.face;
+
+import com.sapiens.bdms.decisionexecutor.exception.ExecutionRejectedException;
+import com.sapiens.bdms.decisionexecutor.service.model.ArtifactBulkheadStatistics;
+import com.sapiens.bdms.decisionexecutor.service.model.ArtifactKey;
+import com.sapiens.bdms.decisionexecutor.service.model.ExecutionDispatcherStatistics;
+import com.sapiens.bdms.decisionexecutor.service.model.StuckExecutionStatistics;
+
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+
+public interface ExecutionDispatcherService {
+	/***
+	 * Queues the given execution of a single artifact to the execution pool, rather than executing it on the calling
+	 * web server thread, if admitted by the artifact's concurrency limit and its package prefix priority
+	 * @param artifact The executed artifact
+	 * @param timeoutMillis The time the caller waits for the execution at most, 0 if only bound by the artifact's timeout
+	 * @param execution The execution
+	 * @return Completed with the execution result, or exceptionally with the exception the execution failed with, or
+	 * with "ExecutionTimeoutException" once the deadline expires
+	 * @throws ExecutionRejectedException If the execution queue is full or the artifact's concurrency limit is reached
+	 */
+	<T> CompletableFuture<T> submit(ArtifactKey artifact, long timeoutMillis, Callable<T> execution) throws ExecutionRejectedException;
+	/***
+	 * Same as "submit", for an execution of a batch of inputs of the given artifact, which is not limited by the
+	 * artifact's concurrency limit since its items are executed by the batch execution pool
+	 */
+	<T> CompletableFuture<T> submitBatch(ArtifactKey artifact, long timeoutMillis, Callable<T> execution) throws ExecutionRejectedException;
+	/***
+	 * @param artifact The executed artifact
+	 * @param requestTimeoutMillis The time the caller waits for the execution at most, 0 if only bound by the artifact's timeout
+	 * @return The timeout the execution is submitted with, 0 for none
+	 */
+	long getTimeoutMillis(ArtifactKey artifact, long requestTimeoutMillis);
+	/***
+	 * @return The execution pool's queue depth, wait time and rejections
+	 */
+	ExecutionDispatcherStatistics getStatistics();
+	/***
+	 * @return The concurrency limit of each recently executed artifact
+	 */
+	List<ArtifactBulkheadStatistics> getBulkheadStatistics();
+	/***
+	 * @return The executions still running past their deadline, longest running first
+	 */
+	List<StuckExecutionStatistics> getStuckExecutions();
+}
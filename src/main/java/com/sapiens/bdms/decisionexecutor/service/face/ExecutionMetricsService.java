@@ -0,0 +1,35 @@
+package com.sapiens.bdms.decisionexecutor.service.face;
+
+import com.sapiens.bdms.decisionexecutor.service.model.ArtifactKey;
+import com.sapiens.bdms.decisionexecutor.service.model.ExecutionPhase;
+
+public interface ExecutionMetricsService {
+	/***
+	 * @return The time to measure a phase from, passed to "endPhase", 0 if the phases are not timed
+	 */
+	long startPhase();
+	/***
+	 * Records the time since the given start as the given phase of the given artifact
+	 * @param startNanos As returned by "startPhase"
+	 * @return The time the phase ended, to measure the next phase from
+	 */
+	long endPhase(ArtifactKey artifact, ExecutionPhase phase, long startNanos);
+	/***
+	 * Records the given duration as the given phase of the given artifact
+	 */
+	void recordPhase(ArtifactKey artifact, ExecutionPhase phase, long durationNanos);
+	/***
+	 * Binds the given artifact to the current web request, so the serialization of its response is timed by it
+	 */
+	void setRequestArtifact(ArtifactKey artifact);
+	/***
+	 * Records the time since the given start as the serialization of the current web request's artifact, if an
+	 * artifact was bound to it and executed before
+	 * @param startNanos As returned by "startPhase"
+	 */
+	void endSerialization(long startNanos);
+	/***
+	 * Counts the given error of an execution call by its type
+	 */
+	void recordError(Throwable error);
+}
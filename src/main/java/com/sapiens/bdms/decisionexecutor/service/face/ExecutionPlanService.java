@@ -0,0 +1,43 @@
+package com.sapiens.bdms.decisionexecutor.service.face;
+
+import com.sapiens.bdms.decisionexecutor.service.model.ArtifactKey;
+import com.sapiens.bdms.decisionexecutor.service.model.ArtifactsGeneration;
+import com.sapiens.bdms.decisionexecutor.service.model.ExecutionPlan;
+import com.sapiens.bdms.decisionexecutor.service.model.ExecutionPlanCacheStatistics;
+
+public interface ExecutionPlanService {
+	/***
+	 * Returns the cached execution plan of the requested Decision View, resolving it from given generation if not cached
+	 * @param generation The pinned generation of loaded jars to resolve the Decision class from
+	 * @param packagePrefix The Java package prefix as was set to the "Generated Package Prefix" property in the
+	 *                      DM Java Adapter with which this Decision class was exported
+	 * @param conclusionName The decision conclusion
+	 * @param view The Decision's View
+	 * @param version The Decision's version
+	 * @return The execution plan
+	 * @throws ClassNotFoundException if the Decision class was not found in any of the loaded jars
+	 */
+	ExecutionPlan getDecisionPlan(ArtifactsGeneration generation, String packagePrefix, String conclusionName, String view, String version) throws ClassNotFoundException;
+	/***
+	 * Returns the cached execution plan of the requested Flow, resolving it from given generation if not cached
+	 * @param generation The pinned generation of loaded jars to resolve the Flow class from
+	 * @param packagePrefix The Java package prefix as was set to the "Generated Package Prefix" property in the
+	 *                      DM Java Adapter with which this Flow class was exported
+	 * @param flowName The Flow's name
+	 * @param version The Flow's version
+	 * @return The execution plan
+	 * @throws ClassNotFoundException if the Flow class was not found in any of the loaded jars
+	 */
+	ExecutionPlan getFlowPlan(ArtifactsGeneration generation, String packagePrefix, String flowName, String version) throws ClassNotFoundException;
+	/***
+	 * Resolves the request parameters of an artifact class, as the inverse of the classpath its requests are resolved to
+	 * @param artifactClass A class of the loaded jars
+	 * @return The artifact the class is executed as, or null if not a Decision or Flow class of the configured
+	 * classpath formats
+	 */
+	ArtifactKey resolveArtifactKey(Class artifactClass);
+	/***
+	 * @return The execution plans cache hits, misses and size
+	 */
+	ExecutionPlanCacheStatistics getStatistics();
+}
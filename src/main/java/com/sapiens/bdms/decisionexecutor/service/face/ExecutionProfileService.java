@@ -0,0 +1,14 @@
+package com.sapiens.bdms.decisionexecutor.service.face;
+
+import com.sapiens.bdms.decisionexecutor.service.model.ArtifactKey;
+import com.sapiens.bdms.decisionexecutor.service.model.ExecutionProfile;
+
+public interface ExecutionProfileService {
+	/***
+	 * @param artifact The executed artifact
+	 * @param requestedProfile The profile name requested by the caller, null for the artifact's configured profile
+	 * @return The profile to execute the artifact with
+	 * @throws IllegalArgumentException If the requested profile is not a profile name
+	 */
+	ExecutionProfile resolve(ArtifactKey artifact, String requestedProfile);
+}
@@ -0,0 +1,32 @@
+package com.sapiens.bdms.decisionexecutor.service.face;
+
+import com.sapiens.bdms.decisionexecutor.service.model.ArtifactsGeneration;
+import com.sapiens.bdms.decisionexecutor.service.model.ExecutionPlan;
+import com.sapiens.bdms.decisionexecutor.service.model.ExecutionProfile;
+import com.sapiens.bdms.decisionexecutor.service.model.ExecutionResultCacheStatistics;
+import com.sapiens.bdms.decisionexecutor.service.model.ExecutionResultKey;
+
+import java.util.Map;
+
+public interface ExecutionResultCacheService {
+	/***
+	 * @param plan The execution plan of the executed artifact
+	 * @param profile The execution profile
+	 * @param parsedInputs The inputs parsed to the fact data types by their normalized fact name, before bound
+	 * @return The key of the execution's result, or null if the results cache is disabled or the artifact is not cacheable
+	 */
+	ExecutionResultKey getKey(ExecutionPlan plan, ExecutionProfile profile, Map<String, Object> parsedInputs);
+	/***
+	 * @return The cached result of the given key, or null if not cached
+	 */
+	Object get(ExecutionResultKey key);
+	/***
+	 * Caches the given result, which must not refer to the executed artifact instance
+	 * @param generation The generation the result was executed against, whose results are not cached once replaced
+	 */
+	void put(ArtifactsGeneration generation, ExecutionResultKey key, Object result);
+	/***
+	 * @return The number of cached results, their hits, misses, evictions and estimated memory footprint
+	 */
+	ExecutionResultCacheStatistics getStatistics();
+}
@@ -0,0 +1,38 @@
+package com.sapiens.bdms.decisionexecutor.service.face;
+
+import com.sapiens.bdms.decisionexecutor.service.model.ArtifactKey;
+import com.sapiens.bdms.decisionexecutor.service.model.ExecutionProfile;
+import com.sapiens.bdms.decisionexecutor.service.model.ExecutionTrace;
+import com.sapiens.bdms.decisionexecutor.service.model.ExecutionTraceStatistics;
+
+import java.util.Map;
+import java.util.concurrent.Callable;
+
+public interface ExecutionTraceService {
+	/***
+	 * @param artifact The executed artifact
+	 * @param profile The execution profile
+	 * @param inputs The execution input values by their fact name, as sent in the request
+	 * @param requestId Identifies the request, null to generate an ID if traced
+	 * @param requested Whether the request asked to be traced, otherwise traced at "execution.trace.sample.rate"
+	 * @return The trace to record the execution into, or null if the execution is not traced
+	 */
+	ExecutionTrace start(ArtifactKey artifact, ExecutionProfile profile, Map<String, Object> inputs, String requestId, boolean requested);
+	/***
+	 * Calls the given execution, recording its result or error, thread and duration into the given trace, and
+	 * publishes the trace to be written asynchronously
+	 * @param trace The trace of the execution, null if not traced
+	 * @param execution The execution, which records the executables it runs into the trace
+	 * @return The execution result
+	 */
+	<T> T execute(ExecutionTrace trace, Callable<T> execution) throws Exception;
+	/***
+	 * @param requestId The ID of a traced request
+	 * @return The written trace of the given request, or null if not traced, not written yet or no longer retained
+	 */
+	ExecutionTrace getTrace(String requestId);
+	/***
+	 * @return The number of traced executions, written, dropped and pending traces
+	 */
+	ExecutionTraceStatistics getStatistics();
+}
@@ -0,0 +1,14 @@
+package com.sapiens.bdms.decisionexecutor.service.face;
+
+import com.sapiens.bdms.decisionexecutor.service.model.FactValueConverter;
+
+public interface FactValueConverterService {
+	/***
+	 * Chooses the converter of the input values of a fact type according to its data type, once per fact type
+	 * @param factName The fact type name normalized as upper camel case
+	 * @param valueType The fact Java data type, null if the artifact has no getter for the fact
+	 * @param listMemberType The list members Java data type, null if not a list or the artifact has no "add" method for the fact
+	 * @return The converter, which fails on every value if the fact data type is not supported
+	 */
+	FactValueConverter getConverter(String factName, Class<?> valueType, Class<?> listMemberType);
+}
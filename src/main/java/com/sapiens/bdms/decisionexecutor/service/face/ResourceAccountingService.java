@@ -0,0 +1,28 @@
+package com.sapiens.bdms.decisionexecutor.service.face;
+
+import com.sapiens.bdms.decisionexecutor.service.model.ArtifactKey;
+import com.sapiens.bdms.decisionexecutor.service.model.ResourceAccountingStatistics;
+
+public interface ResourceAccountingService {
+	/***
+	 * Takes the CPU time and allocated heap of the current thread, if the accounting is enabled, to be followed by
+	 * "endExecution" on the same thread
+	 */
+	void startExecution();
+	/***
+	 * Accumulates the CPU time and heap the current thread consumed since "startExecution" to the given artifact,
+	 * if the accounting was enabled when started
+	 */
+	void endExecution(ArtifactKey artifact);
+	/***
+	 * Enables or disables the accounting at runtime
+	 * @param reset Whether to drop the accounted executions so far
+	 */
+	void setEnabled(boolean enabled, boolean reset);
+	/***
+	 * @param byAllocation Whether to rank by allocated heap rather than by CPU time
+	 * @param top The number of artifacts to return
+	 * @return The artifacts consuming the most
+	 */
+	ResourceAccountingStatistics getStatistics(boolean byAllocation, int top);
+}
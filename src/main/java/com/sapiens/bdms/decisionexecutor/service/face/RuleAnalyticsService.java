@@ -0,0 +1,19 @@
+package com.sapiens.bdms.decisionexecutor.service.face;
+
+import com.sapiens.bdms.decisionexecutor.service.model.DecisionRuleStatistics;
+import com.sapiens.bdms.decisionexecutor.service.model.ExecutionPlan;
+import com.sapiens.bdms.java.exe.helper.base.Decision;
+
+import java.util.List;
+
+public interface RuleAnalyticsService {
+	/***
+	 * Subscribes the rule analytics of the given plan's decision to the given instance's events, unless disabled
+	 * @param decision An instance of the given plan, about to execute
+	 */
+	void subscribe(ExecutionPlan plan, Decision decision);
+	/***
+	 * @return The row hits, conflicts and execution time of each decision version executed since its jar was loaded
+	 */
+	List<DecisionRuleStatistics> getStatistics();
+}
@@ -1,54 +1,124 @@
 package com.sapiens.bdms.decisionexecutor.service.impl;
 
-import com.sapiens.bdms.decisionexecutor.exception.MissingFileException;
 import com.sapiens.bdms.decisionexecutor.service.face.ArtifactExecutorService;
 import com.sapiens.bdms.decisionexecutor.service.face.ArtifactInputsInitializerService;
 import com.sapiens.bdms.decisionexecutor.service.face.ArtifactsJarLoaderService;
+import com.sapiens.bdms.decisionexecutor.service.face.ExecutionMetricsService;
+import com.sapiens.bdms.decisionexecutor.service.face.ExecutionPlanService;
+import com.sapiens.bdms.decisionexecutor.service.face.ExecutionResultCacheService;
+import com.sapiens.bdms.decisionexecutor.service.face.ResourceAccountingService;
+import com.sapiens.bdms.decisionexecutor.service.face.RuleAnalyticsService;
+import com.sapiens.bdms.decisionexecutor.service.model.ArtifactKey;
+import com.sapiens.bdms.decisionexecutor.service.model.ArtifactMetadata;
+import com.sapiens.bdms.decisionexecutor.service.model.ArtifactsGeneration;
+import com.sapiens.bdms.decisionexecutor.service.model.BatchItemResult;
+import com.sapiens.bdms.decisionexecutor.service.model.BatchItemResultWindow;
+import com.sapiens.bdms.decisionexecutor.service.model.BatchItemResultWriter;
+import com.sapiens.bdms.decisionexecutor.service.model.DecisionResult;
+import com.sapiens.bdms.decisionexecutor.service.model.ExecutionPhase;
+import com.sapiens.bdms.decisionexecutor.service.model.ExecutionPlan;
+import com.sapiens.bdms.decisionexecutor.service.model.ExecutionProfile;
+import com.sapiens.bdms.decisionexecutor.service.model.ExecutionResultKey;
+import com.sapiens.bdms.decisionexecutor.service.model.ExecutionTrace;
+import com.sapiens.bdms.decisionexecutor.service.model.ExecutionTraceStep;
 import com.sapiens.bdms.java.exe.helper.base.Decision;
+import com.sapiens.bdms.java.exe.helper.base.Executable;
+import com.sapiens.bdms.java.exe.helper.base.ExecutableType;
+import com.sapiens.bdms.java.exe.helper.base.FactType;
 import com.sapiens.bdms.java.exe.helper.base.Flow;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
 import javax.annotation.Resource;
+import java.io.IOException;
 import java.nio.file.Paths;
-import java.util.HashMap;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
-
-import static com.sapiens.bdms.decisionexecutor.GeneralConstants.README_URL;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
 @Service
 public class PojoArtifactExecutorService implements ArtifactExecutorService {
 
 	private final Logger logger = LoggerFactory.getLogger(this.getClass());
 
-	@Value("${format.view.placeholder}")
-	private String formatViewPlaceholder;
-
-	@Value("${format.version.placeholder}")
-	private String formatVersionPlaceholder;
+	@Value("${artifacts.jar.location}")
+	private String defaultArtifactsJarLocation;
 
-	@Value("${format.prefix.placeholder}")
-	private String formatPrefixPlaceholder;
+	@Resource
+	private ArtifactsJarLoaderService pojoArtifactsJarLoaderService;
 
-	@Value("${version.dot.replacement}")
-	private String versionDotReplacement;
+	@Resource
+	private ExecutionPlanService pojoExecutionPlanService;
 
-	@Value("${decision.classpath.format}")
-	private String decisionClasspathFormat;
+	@Resource
+	private ArtifactInputsInitializerService pojoArtifactInputsInitializerService;
 
-	@Value("${flow.classpath.format}")
-	private String flowClasspathFormat;
+	@Resource
+	private ExecutionResultCacheService pojoExecutionResultCacheService;
 
-	@Value("${artifacts.jar.location}")
-	private String defaultArtifactsJarLocation;
+	@Resource
+	private ExecutionMetricsService pojoExecutionMetricsService;
 
 	@Resource
-	private ArtifactsJarLoaderService pojoArtifactsJarLoaderService;
+	private RuleAnalyticsService pojoRuleAnalyticsService;
 
 	@Resource
-	private ArtifactInputsInitializerService pojoArtifactInputsInitializerService;
+	private ResourceAccountingService pojoResourceAccountingService;
+
+	@Value("${execution.batch.parallelism}")
+	private int batchParallelism;
+
+	@Value("${execution.stream.window.size}")
+	private int streamWindowSize;
+
+	// executes the items of the batch requests
+	private ForkJoinPool batchExecutionPool;
+
+	// runs a thread per stream request writing its results, so the batch pool threads never wait for the client
+	private ExecutorService streamWritingPool;
+
+	@PostConstruct
+	public void init() {
+		int parallelism = batchParallelism > 0 ? batchParallelism : Runtime.getRuntime().availableProcessors();
+		ClassLoader applicationClassLoader = getClass().getClassLoader();
+		batchExecutionPool = new ForkJoinPool(parallelism, pool -> {
+			ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+			thread.setName("batch-execution-" + thread.getPoolIndex());
+			thread.setContextClassLoader(applicationClassLoader);
+			return thread;
+		}, null, false);
+		AtomicInteger streamWriters = new AtomicInteger();
+		streamWritingPool = Executors.newCachedThreadPool(runnable -> {
+			Thread thread = new Thread(runnable, "stream-writer-" + streamWriters.incrementAndGet());
+			thread.setDaemon(true);
+			thread.setContextClassLoader(applicationClassLoader);
+			return thread;
+		});
+	}
+
+	@PreDestroy
+	public void stop() {
+		batchExecutionPool.shutdownNow();
+		streamWritingPool.shutdownNow();
+	}
 
 	/***
 	 * Execute a Decision View according to given parameters and return result with messages
@@ -58,6 +128,8 @@ public class PojoArtifactExecutorService implements ArtifactExecutorService {
 	 * @param view The Decision's View
 	 * @param version The Decision's version
 	 * @param factValueByNameInputs The Map of the execution input values by their Fact Type name
+	 * @param profile The diagnostics to collect and return besides the conclusion
+	 * @param trace The trace to record the executed decisions into, null if not traced
 	 * @return Execution result as map of values by Fact Type Name and messages
 	 */
 	@Override
@@ -65,29 +137,15 @@ public class PojoArtifactExecutorService implements ArtifactExecutorService {
 								  String conclusionName,
 								  String view,
 								  String version,
-								  Map<String, Object> factValueByNameInputs) throws ClassNotFoundException, IllegalAccessException, InstantiationException {
-		refreshClassLoaders();
-		String decisionClasspath = resolveDecisionClasspath(packagePrefix, conclusionName, view, version);
-		Class clazz;
-		try {
-			clazz = pojoArtifactsJarLoaderService.getArtifactClass(decisionClasspath);
-		} catch (ClassNotFoundException e) {
-			throw new ClassNotFoundException(String.format("Class for decision of conclusion \"%s\", view \"%s\" and version \"%s\" on package \"%s\" not found.\n" +
-																   "Make sure the above is accurate and the artifact jar/s located in the configured artifacts jar location (%s by default), \n" +
-																   "as described in %s",
-														   conclusionName, view, version, packagePrefix, getDefaultArtifactsJarLocation(), README_URL));
+								  Map<String, Object> factValueByNameInputs,
+								  ExecutionProfile profile,
+								  ExecutionTrace trace) throws ClassNotFoundException, IllegalAccessException, InstantiationException {
+		// pinned so its class loaders are not closed by a reload during the execution
+		try (ArtifactsGeneration generation = pojoArtifactsJarLoaderService.acquireGeneration()) {
+			assertArtifactsLoaded(generation);
+			ExecutionPlan plan = pojoExecutionPlanService.getDecisionPlan(generation, packagePrefix, conclusionName, view, version);
+			return runDecision(generation, plan, parseInputs(factValueByNameInputs, plan), profile, trace);
 		}
-		Decision decision = (Decision) clazz.newInstance();
-		pojoArtifactInputsInitializerService.setFactInputs(factValueByNameInputs, clazz, decision, decision.getName());
-
-		final Object conclusion = decision.execute();
-
-		// add messages to the final result
-		Map<String, Object> conclusionWithMessages = new HashMap<>();
-		conclusionWithMessages.put("conclusion", conclusion);
-		conclusionWithMessages.put("messages", decision.getConclusionMessagesCollection());
-
-		return conclusionWithMessages;
 	}
 
 	/***
@@ -96,74 +154,569 @@ public class PojoArtifactExecutorService implements ArtifactExecutorService {
 	 *                      DM Java Adapter with which this Decision class was exported
 	 * @param version The Flow's version
 	 * @param factValueByNameInputs The Map of the execution input values by their Fact Type name
+	 * @param profile The diagnostics to collect and return besides the conclusion
+	 * @param trace The trace to record the executed decisions into, null if not traced
 	 * @return Execution result as map of execution result with row hits and messages by Fact Type Name
 	 */
 	@Override
 	public Map<String, Object> executeFlow(String packagePrefix, String flowName, String version,
-										   Map<String, Object> factValueByNameInputs) throws ClassNotFoundException, IllegalAccessException, InstantiationException {
-		refreshClassLoaders();
-		String flowClasspath = resolveFlowClasspath(packagePrefix, flowName, version);
-		Class clazz;
+										   Map<String, Object> factValueByNameInputs,
+										   ExecutionProfile profile,
+										   ExecutionTrace trace) throws ClassNotFoundException, IllegalAccessException, InstantiationException {
+		try (ArtifactsGeneration generation = pojoArtifactsJarLoaderService.acquireGeneration()) {
+			assertArtifactsLoaded(generation);
+			ExecutionPlan plan = pojoExecutionPlanService.getFlowPlan(generation, packagePrefix, flowName, version);
+			return runFlow(generation, plan, parseInputs(factValueByNameInputs, plan), profile, trace);
+		}
+	}
+
+	/***
+	 * Execute a Decision View for each of the given inputs, in parallel on the batch execution pool.
+	 * The Decision is resolved once for the whole batch, and an item that fails does not fail the other items.
+	 * @param packagePrefix The Java package prefix as was set to the "Generated Package Prefix" property in the
+	 *                      DM Java Adapter with which this Decision class was exported
+	 * @param conclusionName The decision conclusion
+	 * @param view The Decision's View
+	 * @param version The Decision's version
+	 * @param batchInputs The Map of the execution input values by their Fact Type name, per item
+	 * @param profile The diagnostics to collect and return besides the conclusion
+	 * @return The execution result or error of each item, in the order of the given inputs
+	 */
+	@Override
+	public List<BatchItemResult> executeDecisionBatch(String packagePrefix,
+													  String conclusionName,
+													  String view,
+													  String version,
+													  List<Map<String, Object>> batchInputs,
+													  ExecutionProfile profile) throws ClassNotFoundException {
+		try (ArtifactsGeneration generation = pojoArtifactsJarLoaderService.acquireGeneration()) {
+			assertArtifactsLoaded(generation);
+			ExecutionPlan plan = pojoExecutionPlanService.getDecisionPlan(generation, packagePrefix, conclusionName, view, version);
+			return executeBatch(generation, plan, batchInputs, inputs -> runDecision(generation, plan, parseInputs(inputs, plan), profile, null));
+		}
+	}
+
+	/***
+	 * Execute a Flow for each of the given inputs, in parallel on the batch execution pool.
+	 * The Flow is resolved once for the whole batch, and an item that fails does not fail the other items.
+	 * @param packagePrefix The Java package prefix as was set to the "Generated Package Prefix" property in the
+	 *                      DM Java Adapter with which this Flow class was exported
+	 * @param flowName The Flow's name
+	 * @param version The Flow's version
+	 * @param batchInputs The Map of the execution input values by their Fact Type name, per item
+	 * @param profile The diagnostics to collect and return besides the conclusion
+	 * @return The execution result or error of each item, in the order of the given inputs
+	 */
+	@Override
+	public List<BatchItemResult> executeFlowBatch(String packagePrefix,
+												  String flowName,
+												  String version,
+												  List<Map<String, Object>> batchInputs,
+												  ExecutionProfile profile) throws ClassNotFoundException {
+		try (ArtifactsGeneration generation = pojoArtifactsJarLoaderService.acquireGeneration()) {
+			assertArtifactsLoaded(generation);
+			ExecutionPlan plan = pojoExecutionPlanService.getFlowPlan(generation, packagePrefix, flowName, version);
+			return executeBatch(generation, plan, batchInputs, inputs -> runFlow(generation, plan, parseInputs(inputs, plan), profile, null));
+		}
+	}
+
+	/***
+	 * Execute a Decision View according to given parameters with the input values given by their position in the
+	 * Decision's fact types order, as returned by its metadata, rather than by their fact type names
+	 * @param packagePrefix The Java package prefix as was set to the "Generated Package Prefix" property in the
+	 *                      DM Java Adapter with which this Decision class was exported
+	 * @param conclusionName The decision conclusion
+	 * @param view The Decision's View
+	 * @param version The Decision's version
+	 * @param positionalInputs The execution input values in the fact types order, null for an input not given
+	 * @param profile The diagnostics to collect and return besides the conclusion
+	 * @return Execution result as map of values by Fact Type Name and messages
+	 */
+	@Override
+	public Object executeDecisionPositional(String packagePrefix,
+											String conclusionName,
+											String view,
+											String version,
+											List<Object> positionalInputs,
+											ExecutionProfile profile) throws ClassNotFoundException, InstantiationException {
+		try (ArtifactsGeneration generation = pojoArtifactsJarLoaderService.acquireGeneration()) {
+			assertArtifactsLoaded(generation);
+			ExecutionPlan plan = pojoExecutionPlanService.getDecisionPlan(generation, packagePrefix, conclusionName, view, version);
+			return runDecision(generation, plan, parsePositionalInputs(positionalInputs, plan), profile, null);
+		}
+	}
+
+	/***
+	 * Execute a Flow according to given parameters with the input values given by their position in the Flow's
+	 * fact types order, as returned by its metadata, rather than by their fact type names
+	 * @param packagePrefix The Java package prefix as was set to the "Generated Package Prefix" property in the
+	 *                      DM Java Adapter with which this Flow class was exported
+	 * @param flowName The Flow's name
+	 * @param version The Flow's version
+	 * @param positionalInputs The execution input values in the fact types order, null for an input not given
+	 * @param profile The diagnostics to collect and return besides the conclusion
+	 * @return Execution result as map of execution result with row hits and messages by Fact Type Name
+	 */
+	@Override
+	public Map<String, Object> executeFlowPositional(String packagePrefix,
+													 String flowName,
+													 String version,
+													 List<Object> positionalInputs,
+													 ExecutionProfile profile) throws ClassNotFoundException, InstantiationException {
+		try (ArtifactsGeneration generation = pojoArtifactsJarLoaderService.acquireGeneration()) {
+			assertArtifactsLoaded(generation);
+			ExecutionPlan plan = pojoExecutionPlanService.getFlowPlan(generation, packagePrefix, flowName, version);
+			return runFlow(generation, plan, parsePositionalInputs(positionalInputs, plan), profile, null);
+		}
+	}
+
+	/***
+	 * Same as "executeDecisionBatch", with the input values of each item given by their position in the Decision's
+	 * fact types order
+	 * @param batchInputs The execution input values in the fact types order, per item
+	 */
+	@Override
+	public List<BatchItemResult> executeDecisionPositionalBatch(String packagePrefix,
+																String conclusionName,
+																String view,
+																String version,
+																List<List<Object>> batchInputs,
+																ExecutionProfile profile) throws ClassNotFoundException {
+		try (ArtifactsGeneration generation = pojoArtifactsJarLoaderService.acquireGeneration()) {
+			assertArtifactsLoaded(generation);
+			ExecutionPlan plan = pojoExecutionPlanService.getDecisionPlan(generation, packagePrefix, conclusionName, view, version);
+			return executeBatch(generation, plan, batchInputs, inputs -> runDecision(generation, plan, parsePositionalInputs(inputs, plan), profile, null));
+		}
+	}
+
+	/***
+	 * Same as "executeFlowBatch", with the input values of each item given by their position in the Flow's fact
+	 * types order
+	 * @param batchInputs The execution input values in the fact types order, per item
+	 */
+	@Override
+	public List<BatchItemResult> executeFlowPositionalBatch(String packagePrefix,
+															String flowName,
+															String version,
+															List<List<Object>> batchInputs,
+															ExecutionProfile profile) throws ClassNotFoundException {
+		try (ArtifactsGeneration generation = pojoArtifactsJarLoaderService.acquireGeneration()) {
+			assertArtifactsLoaded(generation);
+			ExecutionPlan plan = pojoExecutionPlanService.getFlowPlan(generation, packagePrefix, flowName, version);
+			return executeBatch(generation, plan, batchInputs, inputs -> runFlow(generation, plan, parsePositionalInputs(inputs, plan), profile, null));
+		}
+	}
+
+	/***
+	 * Execute a Decision View for each of the inputs read from the given iterator, in parallel on the batch execution
+	 * pool, as soon as it is read. At most "execution.stream.window.size" items are executing or waiting to be written
+	 * at any time, so the memory used does not depend on the number of inputs.
+	 * @param packagePrefix The Java package prefix as was set to the "Generated Package Prefix" property in the
+	 *                      DM Java Adapter with which this Decision class was exported
+	 * @param conclusionName The decision conclusion
+	 * @param view The Decision's View
+	 * @param version The Decision's version
+	 * @param inputs The Maps of the execution input values by their Fact Type name, read incrementally
+	 * @param profile The diagnostics to collect and return besides the conclusion
+	 * @param writer Writes the execution result or error of each item, in the order of the inputs
+	 */
+	@Override
+	public void executeDecisionStream(String packagePrefix,
+									  String conclusionName,
+									  String view,
+									  String version,
+									  Iterator<Map<String, Object>> inputs,
+									  ExecutionProfile profile,
+									  BatchItemResultWriter writer) throws ClassNotFoundException, IOException {
+		try (ArtifactsGeneration generation = pojoArtifactsJarLoaderService.acquireGeneration()) {
+			assertArtifactsLoaded(generation);
+			ExecutionPlan plan = pojoExecutionPlanService.getDecisionPlan(generation, packagePrefix, conclusionName, view, version);
+			executeStream(generation, plan, inputs, writer, itemInputs -> runDecision(generation, plan, parseInputs(itemInputs, plan), profile, null));
+		}
+	}
+
+	/***
+	 * Execute a Flow for each of the inputs read from the given iterator, in parallel on the batch execution
+	 * pool, as soon as it is read. At most "execution.stream.window.size" items are executing or waiting to be written
+	 * at any time, so the memory used does not depend on the number of inputs.
+	 * @param packagePrefix The Java package prefix as was set to the "Generated Package Prefix" property in the
+	 *                      DM Java Adapter with which this Flow class was exported
+	 * @param flowName The Flow's name
+	 * @param version The Flow's version
+	 * @param inputs The Maps of the execution input values by their Fact Type name, read incrementally
+	 * @param profile The diagnostics to collect and return besides the conclusion
+	 * @param writer Writes the execution result or error of each item, in the order of the inputs
+	 */
+	@Override
+	public void executeFlowStream(String packagePrefix,
+								  String flowName,
+								  String version,
+								  Iterator<Map<String, Object>> inputs,
+								  ExecutionProfile profile,
+								  BatchItemResultWriter writer) throws ClassNotFoundException, IOException {
+		try (ArtifactsGeneration generation = pojoArtifactsJarLoaderService.acquireGeneration()) {
+			assertArtifactsLoaded(generation);
+			ExecutionPlan plan = pojoExecutionPlanService.getFlowPlan(generation, packagePrefix, flowName, version);
+			executeStream(generation, plan, inputs, writer, itemInputs -> runFlow(generation, plan, parseInputs(itemInputs, plan), profile, null));
+		}
+	}
+
+	/***
+	 * Execute a Decision View or a Flow the same as an execution call, except that the result is neither cached nor
+	 * counted by the rule analytics
+	 */
+	@Override
+	public void warmUp(ArtifactKey artifact, Map<String, Object> factValueByNameInputs, ExecutionProfile profile) throws ClassNotFoundException, InstantiationException {
+		try (ArtifactsGeneration generation = pojoArtifactsJarLoaderService.acquireGeneration()) {
+			assertArtifactsLoaded(generation);
+			if (artifact.getType() == ExecutableType.DECISION) {
+				ExecutionPlan plan = pojoExecutionPlanService.getDecisionPlan(generation, artifact.getPackagePrefix(), artifact.getName(),
+																			  artifact.getView(), artifact.getVersion());
+				runDecision(generation, plan, parseInputs(factValueByNameInputs, plan), profile, null, true);
+			} else {
+				ExecutionPlan plan = pojoExecutionPlanService.getFlowPlan(generation, artifact.getPackagePrefix(), artifact.getName(),
+																		  artifact.getVersion());
+				runFlow(generation, plan, parseInputs(factValueByNameInputs, plan), profile, null, true);
+			}
+		}
+	}
+
+	/***
+	 * Returns the input fact types of a Decision View according to given parameters, as resolved once per Decision
+	 */
+	@Override
+	public ArtifactMetadata getDecisionMetadata(String packagePrefix,
+												String conclusionName,
+												String view,
+												String version) throws ClassNotFoundException {
+		try (ArtifactsGeneration generation = pojoArtifactsJarLoaderService.acquireGeneration()) {
+			assertArtifactsLoaded(generation);
+			return new ArtifactMetadata(pojoExecutionPlanService.getDecisionPlan(generation, packagePrefix, conclusionName, view, version));
+		}
+	}
+
+	/***
+	 * Returns the input fact types of a Flow according to given parameters, as resolved once per Flow
+	 */
+	@Override
+	public ArtifactMetadata getFlowMetadata(String packagePrefix, String flowName, String version) throws ClassNotFoundException {
+		try (ArtifactsGeneration generation = pojoArtifactsJarLoaderService.acquireGeneration()) {
+			assertArtifactsLoaded(generation);
+			return new ArtifactMetadata(pojoExecutionPlanService.getFlowPlan(generation, packagePrefix, flowName, version));
+		}
+	}
+
+	/***
+	 * Executes the given Decision plan with given inputs, or returns the cached result of the same parsed inputs
+	 * unless traced
+	 * @param parsedInputs The inputs parsed to the fact data types by their normalized fact name
+	 * @return Execution result as map of values by Fact Type Name and messages, without messages if lean
+	 */
+	private Object runDecision(ArtifactsGeneration generation, ExecutionPlan plan, Map<String, Object> parsedInputs,
+							   ExecutionProfile profile, ExecutionTrace trace) throws InstantiationException {
+		return runDecision(generation, plan, parsedInputs, profile, trace, false);
+	}
+
+	/***
+	 * @param warmUp true if executed to warm the Decision up, hence neither cached nor counted by the rule analytics
+	 */
+	private Object runDecision(ArtifactsGeneration generation, ExecutionPlan plan, Map<String, Object> parsedInputs,
+							   ExecutionProfile profile, ExecutionTrace trace, boolean warmUp) throws InstantiationException {
+		// keyed before bound, since the execution may modify the bound inputs
+		ExecutionResultKey resultKey = trace == null && !warmUp ? pojoExecutionResultCacheService.getKey(plan, profile, parsedInputs) : null;
+		if (resultKey != null) {
+			Object cachedResult = pojoExecutionResultCacheService.get(resultKey);
+			if (cachedResult != null) {
+				return cachedResult;
+			}
+		}
+
+		long start = pojoExecutionMetricsService.startPhase();
+		Decision decision = (Decision) plan.acquireInstance();
+		// a traced execution keeps the facts of the decision to trace its messages
+		plan.applyProfile(decision, trace == null ? profile : ExecutionProfile.FULL);
+		if (warmUp) {
+			// a pooled instance may have been subscribed by a previous execution
+			decision.setEventListeners(null);
+		} else {
+			pojoRuleAnalyticsService.subscribe(plan, decision);
+		}
+		start = pojoExecutionMetricsService.endPhase(plan.getKey(), ExecutionPhase.INSTANTIATION, start);
+		plan.getFactSchema().bind(decision, parsedInputs);
+		start = pojoExecutionMetricsService.endPhase(plan.getKey(), ExecutionPhase.FACT_INPUTS_BINDING, start);
+
+		// charged even if failed or interrupted, e.g: by its deadline, as these are often the costliest executions
+		pojoResourceAccountingService.startExecution();
+		final Object conclusion;
 		try {
-			clazz = pojoArtifactsJarLoaderService.getArtifactClass(flowClasspath);
-		} catch (ClassNotFoundException e) {
-			throw new ClassNotFoundException(String.format("Class for flow \"%s\" and version \"%s\" on package \"%s\" not found.\n" +
-																   "Make sure the above is accurate and the artifact jar/s located in the configured artifacts jar location (%s by default), \n" +
-																   "as described in %s",
-														   flowName, version, packagePrefix, getDefaultArtifactsJarLocation(), README_URL));
+			conclusion = decision.execute();
+		} finally {
+			pojoResourceAccountingService.endExecution(plan.getKey());
+		}
+		pojoExecutionMetricsService.endPhase(plan.getKey(), ExecutionPhase.EXECUTION, start);
+		if (trace != null) {
+			trace.addStep(toTraceStep(decision.getName(), decision));
+		}
+
+		// add messages to the final result
+		DecisionResult conclusionWithMessages = new DecisionResult(plan.isPooled() || resultKey != null ? detachValue(conclusion) : conclusion,
+																   profile == ExecutionProfile.LEAN ? null : decision.getConclusionMessagesCollection());
+
+		plan.releaseInstance(decision);
+		if (resultKey != null) {
+			pojoExecutionResultCacheService.put(generation, resultKey, conclusionWithMessages);
+		}
+		return conclusionWithMessages;
+	}
+
+	/***
+	 * Executes the given Flow plan with given inputs, or returns the cached result of the same parsed inputs
+	 * unless traced
+	 * @return Execution result as map of execution result with row hits and messages by Fact Type Name, whose row hits
+	 * are not returned if lean
+	 * @param parsedInputs The inputs parsed to the fact data types by their normalized fact name
+	 */
+	private Map<String, Object> runFlow(ArtifactsGeneration generation, ExecutionPlan plan, Map<String, Object> parsedInputs,
+										ExecutionProfile profile, ExecutionTrace trace) throws InstantiationException {
+		return runFlow(generation, plan, parsedInputs, profile, trace, false);
+	}
+
+	/***
+	 * @param warmUp true if executed to warm the Flow up, hence not cached
+	 */
+	private Map<String, Object> runFlow(ArtifactsGeneration generation, ExecutionPlan plan, Map<String, Object> parsedInputs,
+										ExecutionProfile profile, ExecutionTrace trace, boolean warmUp) throws InstantiationException {
+		ExecutionResultKey resultKey = trace == null && !warmUp ? pojoExecutionResultCacheService.getKey(plan, profile, parsedInputs) : null;
+		if (resultKey != null) {
+			Map<String, Object> cachedResult = (Map<String, Object>) pojoExecutionResultCacheService.get(resultKey);
+			if (cachedResult != null) {
+				return cachedResult;
+			}
+		}
+
+		long start = pojoExecutionMetricsService.startPhase();
+		Flow flow = (Flow) plan.acquireInstance();
+		plan.applyProfile(flow, trace == null ? profile : ExecutionProfile.FULL);
+		if (trace != null) {
+			flow.setEnableDecisionTrace(true);
 		}
-		Flow flow = (Flow) clazz.newInstance();
-		pojoArtifactInputsInitializerService.setFactInputs(factValueByNameInputs, clazz, flow, flow.getName());
+		start = pojoExecutionMetricsService.endPhase(plan.getKey(), ExecutionPhase.INSTANTIATION, start);
+		plan.getFactSchema().bind(flow, parsedInputs);
+		start = pojoExecutionMetricsService.endPhase(plan.getKey(), ExecutionPhase.FACT_INPUTS_BINDING, start);
 
 		// execute and return execution results
-		return flow.execute();
+		pojoResourceAccountingService.startExecution();
+		Map<String, Object> result;
+		try {
+			result = flow.execute();
+		} finally {
+			pojoResourceAccountingService.endExecution(plan.getKey());
+		}
+		pojoExecutionMetricsService.endPhase(plan.getKey(), ExecutionPhase.EXECUTION, start);
+		if (trace != null) {
+			// read before the flow instance is reset
+			flow.getExecutablesTrace().forEach((name, executable) -> trace.addStep(toTraceStep(name, executable)));
+		}
+		if (!plan.isPooled() && resultKey == null) {
+			return result;
+		}
+		// a cached result must not keep the flow instance reachable through its fact types
+		Map<String, Object> detachedResult = detachFlowResult(result, profile);
+		if (plan.isPooled()) {
+			plan.releaseInstance(flow);
+		}
+		if (resultKey != null) {
+			pojoExecutionResultCacheService.put(generation, resultKey, detachedResult);
+		}
+		return detachedResult;
+	}
+
+	private Map<String, Object> parseInputs(Map<String, Object> factValueByNameInputs, ExecutionPlan plan) {
+		long start = pojoExecutionMetricsService.startPhase();
+		Map<String, Object> parsedInputs = pojoArtifactInputsInitializerService.parseFactInputs(factValueByNameInputs, plan);
+		pojoExecutionMetricsService.endPhase(plan.getKey(), ExecutionPhase.FACT_INPUTS_PARSING, start);
+		return parsedInputs;
+	}
+
+	private Map<String, Object> parsePositionalInputs(List<Object> positionalInputs, ExecutionPlan plan) {
+		long start = pojoExecutionMetricsService.startPhase();
+		Map<String, Object> parsedInputs = pojoArtifactInputsInitializerService.parsePositionalFactInputs(positionalInputs, plan);
+		pojoExecutionMetricsService.endPhase(plan.getKey(), ExecutionPhase.FACT_INPUTS_PARSING, start);
+		return parsedInputs;
 	}
 
 	/***
-	 * Builds the expected Decision full classpath by replacing given parameters into the classpath format
-	 * @param packagePrefix
-	 * @param conclusionName
-	 * @param view
-	 * @param version
-	 * @return Expected Decision classpath within the Jar
+	 * Executes each of the given batch items on the batch execution pool, keeping the generation the plan was resolved
+	 * from pinned until the pool is done with them. If the calling thread is interrupted, e.g: once the deadline of
+	 * the batch expires, the items not started yet are abandoned, while the items already executing still run
+	 * against their pinned generation.
+	 * @return The result or error of each item, in the order of the given inputs
 	 */
-	private String resolveDecisionClasspath(String packagePrefix, String conclusionName, String view, String version) {
-		String versionNormalized = version.replace(".", versionDotReplacement);
-		return decisionClasspathFormat.replace(formatViewPlaceholder, view)
-									  .replace(formatPrefixPlaceholder, packagePrefix)
-									  .replace(formatVersionPlaceholder, versionNormalized) + "." + conclusionName;
+	private <I> List<BatchItemResult> executeBatch(ArtifactsGeneration generation, ExecutionPlan plan, List<I> batchInputs, BatchItemExecution<I> execution) {
+		BatchItemResult[] results = new BatchItemResult[batchInputs.size()];
+		AtomicBoolean abandoned = new AtomicBoolean();
+		try {
+			// a parallel stream run by a task of the batch pool is split among the batch pool threads
+			// the parallel stream completes once all its splits are done, hence the pin is released by its task
+			submitPinned(generation, () -> IntStream.range(0, results.length).parallel().forEach(
+					i -> results[i] = abandoned.get() ? null : executeBatchItem(batchInputs.get(i), execution)
+			)).get();
+		} catch (InterruptedException e) {
+			abandoned.set(true);
+			Thread.currentThread().interrupt();
+			throw new RuntimeException("Interrupted while executing a batch of " + plan.getKey(), e);
+		} catch (ExecutionException e) {
+			throw new RuntimeException("Failed to execute a batch of " + plan.getKey() + ": " + e.getCause().getMessage(), e.getCause());
+		}
+
+		List<BatchItemResult> resultList = Arrays.asList(results);
+		List<BatchItemResult> failed = resultList.stream().filter(BatchItemResult::isFailed).collect(Collectors.toList());
+		if (!failed.isEmpty()) {
+			Exception error = failed.get(0).getError();
+			logger.error(failed.size() + " of " + results.length + " items of a batch of " + plan.getKey() + " failed, e.g: " + error.getMessage(), error);
+		}
+		return resultList;
 	}
 
 	/***
-	 * Builds the expected Flow full classpath by replacing given parameters into the classpath format
-	 * @param packagePrefix
-	 * @param flowName
-	 * @param version
-	 * @return Expected Flow classpath within the Jar
+	 * Executes each of the read inputs on the batch execution pool, reading the next input only while the window of
+	 * items executing or waiting to be written is not full. The results are written in the order of the inputs as
+	 * soon as they complete, by a stream writing thread. Each item keeps the generation the plan was resolved from
+	 * pinned until the pool is done with it, even once the stream is closed, e.g: once the client went away.
 	 */
-	private String resolveFlowClasspath(String packagePrefix, String flowName, String version) {
-		String versionNormalized = version.replace(".", versionDotReplacement);
-		return flowClasspathFormat.replace(formatPrefixPlaceholder, packagePrefix)
-								  .replace(formatVersionPlaceholder, versionNormalized) + "." + flowName;
+	private void executeStream(ArtifactsGeneration generation,
+							   ExecutionPlan plan,
+							   Iterator<Map<String, Object>> inputs,
+							   BatchItemResultWriter writer,
+							   BatchItemExecution<Map<String, Object>> execution) throws IOException {
+		BatchItemResultWindow window = new BatchItemResultWindow(streamWindowSize, writer, streamWritingPool);
+		try {
+			RuntimeException readError = null;
+			while (true) {
+				Map<String, Object> itemInputs;
+				try {
+					if (!inputs.hasNext()) {
+						break;
+					}
+					itemInputs = inputs.next();
+				} catch (RuntimeException e) {
+					// the items read so far are still written
+					readError = e;
+					break;
+				}
+				window.submit(() -> executeBatchItem(itemInputs, execution), task -> submitPinned(generation, task));
+			}
+			window.finish();
+			if (readError != null) {
+				throw readError;
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new RuntimeException("Interrupted while executing a stream of " + plan.getKey(), e);
+		} finally {
+			// the caller writes the error failing the stream once returned, so nothing else may be written then
+			window.close();
+			Exception error = window.getFirstError();
+			if (error != null) {
+				logger.error(window.getFailedItems() + " of " + window.getItems() + " items of a stream of " + plan.getKey() + " failed, e.g: " + error.getMessage(), error);
+			}
+		}
 	}
 
 	/***
-	 * reload any artifacts Jar that might have benn added to the Jars location
+	 * Submits the given task to the batch execution pool, pinning the given generation, pinned by the calling request,
+	 * until the task is done, so the loaders of its jars are not closed under a task the request gave up on while a
+	 * reload retires the generation
 	 */
-	private void refreshClassLoaders(){
+	private ForkJoinTask<?> submitPinned(ArtifactsGeneration generation, Runnable task) {
+		if (!generation.tryPin()) {
+			throw new IllegalStateException("Artifacts generation " + generation.getNumber() + " was drained while pinned by the request");
+		}
 		try {
-			pojoArtifactsJarLoaderService.loadArtifactJarsFromDefaultLocation(false);
-		} catch (MissingFileException e) {
-			if(pojoArtifactsJarLoaderService.isClassLoadersEmpty()){
-				throw new RuntimeException("Unable to execute any artifact - default artifacts jar location " +
-												   "\""+ getDefaultArtifactsJarLocation() +"\" is missing " +
-												   "or empty and application was not manually loaded with any other jar location. " +
-												   "Add the artifacts jar/s to the above location or call \"reload/artifacts/jars/from/{path}\" for a different path.");
+			return batchExecutionPool.submit(() -> {
+				try {
+					task.run();
+				} finally {
+					generation.close();
+				}
+			});
+		} catch (RuntimeException e) {
+			generation.close();
+			throw e;
+		}
+	}
+
+	private <I> BatchItemResult executeBatchItem(I inputs, BatchItemExecution<I> execution) {
+		if (inputs == null) {
+			return BatchItemResult.failure(new IllegalArgumentException("Missing the batch item input values"));
+		}
+		try {
+			return BatchItemResult.success(execution.execute(inputs));
+		} catch (Exception e) {
+			pojoExecutionMetricsService.recordError(e);
+			return BatchItemResult.failure(e);
+		}
+	}
+
+	/***
+	 * Copies the fact types of the given flow execution result, so the result is kept intact once the flow
+	 * instance is reset to be reused. The row hits are not copied if lean, since not returned.
+	 */
+	private Map<String, Object> detachFlowResult(Map<String, Object> result, ExecutionProfile profile) {
+		Map<String, Object> detached = new LinkedHashMap<>();
+		result.forEach((factName, fact) -> {
+			if (fact instanceof FactType) {
+				FactType factType = (FactType) fact;
+				FactType copy = new FactType(detachValue(factType.getValue()));
+				if (profile != ExecutionProfile.LEAN) {
+					copy.getRowHits().putAll(factType.getRowHits());
+				}
+				detached.put(factName, copy);
+			} else {
+				detached.put(factName, detachValue(fact));
 			}
+		});
+		return detached;
+	}
+
+	/***
+	 * @return The given executable run by a traced execution, with its conclusion and messages if a decision
+	 */
+	private ExecutionTraceStep toTraceStep(String name, Executable executable) {
+		if (executable instanceof Decision) {
+			Decision decision = (Decision) executable;
+			Map<String, Collection<String>> messages = decision.getConclusionMessagesCollection();
+			return new ExecutionTraceStep(name, String.valueOf(decision.getType()), detachValue(decision.getConclusion()),
+										  messages == null ? null : new LinkedHashMap<>(messages));
+		}
+		return new ExecutionTraceStep(name, String.valueOf(executable.getType()), null, null);
+	}
+
+	private Object detachValue(Object value) {
+		return value instanceof Collection ? new ArrayList<>((Collection) value) : value;
+	}
+
+	/***
+	 * Verifies any artifacts Jar was loaded, without touching the file system -
+	 * jars added to the Jars location are picked up in the background by the artifacts jar watcher
+	 */
+	private void assertArtifactsLoaded(ArtifactsGeneration generation){
+		if(generation.isEmpty()){
+			throw new RuntimeException("Unable to execute any artifact - default artifacts jar location " +
+											   "\""+ getDefaultArtifactsJarLocation() +"\" is missing " +
+											   "or empty and application was not manually loaded with any other jar location. " +
+											   "Add the artifacts jar/s to the above location or call \"reload/artifacts/jars/from/{path}\" for a different path.");
 		}
 	}
 
 	private String getDefaultArtifactsJarLocation() {
 		return Paths.get(defaultArtifactsJarLocation).toAbsolutePath().toString();
 	}
+
+	/***
+	 * Executes a single batch item of the given inputs
+	 */
+	private interface BatchItemExecution<I> {
+		Object execute(I inputs) throws Exception;
+	}
 }
@@ -1,52 +1,98 @@
 package com.sapiens.bdms.decisionexecutor.service.impl;
 
+import com.google.common.collect.Lists;
 import com.google.common.collect.Maps;
+import com.google.common.collect.Sets;
 import com.sapiens.bdms.decisionexecutor.exception.MissingFileException;
 import com.sapiens.bdms.decisionexecutor.service.face.ArtifactsJarLoaderService;
+import com.sapiens.bdms.decisionexecutor.service.face.ArtifactsReloadListener;
+import com.sapiens.bdms.decisionexecutor.service.model.ArtifactJar;
+import com.sapiens.bdms.decisionexecutor.service.model.ArtifactsGeneration;
+import com.sapiens.bdms.decisionexecutor.service.model.ArtifactsGenerationStatistics;
+import com.sapiens.bdms.decisionexecutor.service.model.ArtifactsReloadStatistics;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
+import javax.annotation.PostConstruct;
 import java.io.File;
 import java.io.IOException;
-import java.net.MalformedURLException;
 import java.net.URL;
 import java.net.URLClassLoader;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.jar.JarEntry;
+import java.util.jar.JarFile;
+import java.util.stream.Collectors;
 
 @Service
 public class PojoArtifactsJarLoaderService implements ArtifactsJarLoaderService {
 
-	private final Map<String, URLClassLoader> classLoadersByJarPath = Maps.newHashMap();
+	// the loaded jars snapshot the requests execute against, replaced as a whole on every reload
+	private final AtomicReference<ArtifactsGeneration> currentGeneration = new AtomicReference<>();
+
+	// replaced generations still pinned by executing requests
+	private final Set<ArtifactsGeneration> drainingGenerations = Sets.newConcurrentHashSet();
+
+	// serializes the reloads, never taken by the executing requests
+	private final Object reloadLock = new Object();
+
+	private final ArtifactsReloadStatistics reloadStatistics = new ArtifactsReloadStatistics();
 
 	private final Logger logger = LoggerFactory.getLogger(this.getClass());
 
 	@Value("${artifacts.jar.location}")
 	private String defaultArtifactsJarLocation;
 
+	@Value("${artifacts.class.not.found.cache.size}")
+	private long notFoundClassesCacheSize;
+
+	@Value("${artifacts.warmup.enabled}")
+	private boolean warmupEnabled;
+
+	// notified after every generation replacement, to drop whatever they resolved from the replaced jars
+	@Autowired(required = false)
+	private List<ArtifactsReloadListener> reloadListeners = Lists.newArrayList();
+
+	@PostConstruct
+	public void init() {
+		currentGeneration.set(new ArtifactsGeneration(0, Maps.newLinkedHashMap(), notFoundClassesCacheSize));
+	}
+
 	/***
-	 * Tries to load the class according to given classpath by iterating all existing Jars class loaders
+	 * Loads the class according to given classpath from the current generation of loaded jars.
+	 * In case the class exists in more than one jar, it is loaded from the last loaded jar.
 	 * @param fullClassName full classpath to the required class
 	 * @return The class found
 	 * @throws ClassNotFoundException if no class was found in any of the class loaders
 	 */
 	@Override
 	public Class getArtifactClass(String fullClassName) throws ClassNotFoundException {
-		Class found = null;
-		for (URLClassLoader classLoader : classLoadersByJarPath.values()) {
-			try {
-				found = Class.forName(fullClassName, true, classLoader);
-			} catch (ClassNotFoundException e) {
-				// try next classLoader
+		return currentGeneration.get().getArtifactClass(fullClassName);
+	}
+
+	/***
+	 * Pins the current generation of loaded jars, so its class loaders stay open even if reloaded meanwhile.
+	 * Never blocks, even while a reload is in progress.
+	 * @return The current generation, to be closed once done using it
+	 */
+	@Override
+	public ArtifactsGeneration acquireGeneration() {
+		while (true) {
+			ArtifactsGeneration generation = currentGeneration.get();
+			if (generation.tryPin()) {
+				return generation;
 			}
-		}
-		if (found == null) {
-			throw new ClassNotFoundException("Could not find class \"" + fullClassName + "\" in any class loader.");
-		} else {
-			return found;
+			// was replaced and drained right before pinned, retry with the newer generation
 		}
 	}
 
@@ -70,31 +116,184 @@ public class PojoArtifactsJarLoaderService implements ArtifactsJarLoaderService
 	 */
 	@Override
 	public int loadArtifactJarsFrom(String path, boolean reloadIfAlreadyLoaded) throws MissingFileException {
+		long start = System.nanoTime();
 		int loaded = loadAndSetToMap(path, reloadIfAlreadyLoaded);
+		reloadStatistics.record(System.nanoTime() - start, loaded, 0);
 		if(loaded > 0 || reloadIfAlreadyLoaded){
 			logger.info("Loaded " + loaded + " artifact files from \"" + path + "\"");
 		}
 		return loaded;
 	}
 
+	/***
+	 * Loads (or reloads) the given changed Jars and unloads the given removed Jars as a single reload
+	 * @param changedJars Jars that were added or modified since last loaded
+	 * @param removedJars Jars that no longer exist
+	 * @return Number of Jars loaded
+	 */
+	@Override
+	public int reloadArtifactJars(Collection<Path> changedJars, Collection<Path> removedJars) {
+		long start = System.nanoTime();
+		int loaded = 0;
+		int unloaded = 0;
+		synchronized (reloadLock) {
+			LinkedHashMap<String, ArtifactJar> jarsByPath = Maps.newLinkedHashMap(currentGeneration.get().getJarsByPath());
+			List<String> loadedJarPaths = Lists.newArrayList();
+			for (Path removedJar : removedJars) {
+				if (unloadSingleJar(removedJar, jarsByPath)) {
+					unloaded++;
+				}
+			}
+			for (Path changedJar : changedJars) {
+				if (loadAndSetToMapSingleJar(changedJar, true, jarsByPath)) {
+					loadedJarPaths.add(changedJar.toAbsolutePath().toString());
+					loaded++;
+				}
+			}
+			if (loaded > 0 || unloaded > 0) {
+				publishGeneration(jarsByPath, loadedJarPaths);
+			}
+		}
+		reloadStatistics.record(System.nanoTime() - start, loaded, unloaded);
+		if (loaded > 0 || unloaded > 0) {
+			logger.info("Reloaded " + loaded + " and unloaded " + unloaded + " artifact files");
+		}
+		return loaded;
+	}
+
 	@Override
 	public boolean isClassLoadersEmpty() {
-		return classLoadersByJarPath.isEmpty();
+		return currentGeneration.get().isEmpty();
+	}
+
+	@Override
+	public ArtifactsReloadStatistics getReloadStatistics() {
+		return reloadStatistics;
+	}
+
+	/***
+	 * @return The jars of every artifact class found in more than one jar by class name,
+	 * where the first jar is the one the class is loaded from
+	 */
+	@Override
+	public Map<String, List<String>> getDuplicateArtifactClasses() {
+		Map<String, List<String>> duplicates = Maps.newTreeMap();
+		currentGeneration.get().getDuplicateJarPathsByClassName().forEach(
+				(className, jarPaths) -> duplicates.put(className, Lists.reverse(jarPaths))
+		);
+		return duplicates;
+	}
+
+	/***
+	 * @return The current generation of loaded jars and the replaced generations still being drained
+	 */
+	@Override
+	public ArtifactsGenerationStatistics getGenerationStatistics() {
+		drainingGenerations.removeIf(ArtifactsGeneration::isDrained);
+		return new ArtifactsGenerationStatistics(currentGeneration.get(), drainingGenerations);
 	}
 
 	/***
-	 * Loads all Jars found in given path into a map by jar name
+	 * Loads all Jars found in given path into a new generation
 	 */
 	private int loadAndSetToMap(String pathString,
 								boolean reloadIfAlreadyLoaded) throws MissingFileException {
-		synchronized (classLoadersByJarPath) {
+		synchronized (reloadLock) {
 			Path path = Paths.get(pathString);
 			File file = path.toFile();
 
 			if (isFileDoesNotExistOrIsAnEmptyDir(file)) {
 				throw new MissingFileException("File or directory \"" + toFullPath(pathString) + "\" does not exist");
 			}
-			return recursivelyLoadAndSetToMap(path, reloadIfAlreadyLoaded);
+			LinkedHashMap<String, ArtifactJar> jarsByPath = Maps.newLinkedHashMap(currentGeneration.get().getJarsByPath());
+			List<String> loadedJarPaths = Lists.newArrayList();
+			int loaded = recursivelyLoadAndSetToMap(path, reloadIfAlreadyLoaded, jarsByPath, loadedJarPaths);
+			if (loaded > 0) {
+				publishGeneration(jarsByPath, loadedJarPaths);
+			}
+			return loaded;
+		}
+	}
+
+	/***
+	 * Replaces the current generation with a new one of the given jars, retiring the replaced generation
+	 * to close its class loaders once drained of the requests pinning it.
+	 * If warming up, the classes of the loaded jars are initialized before the requests may execute them.
+	 */
+	private void publishGeneration(LinkedHashMap<String, ArtifactJar> jarsByPath, List<String> loadedJarPaths) {
+		ArtifactsGeneration previous = currentGeneration.get();
+		ArtifactsGeneration generation = new ArtifactsGeneration(previous.getNumber() + 1, jarsByPath, notFoundClassesCacheSize);
+		if (warmupEnabled) {
+			initializeClasses(generation, loadedJarPaths);
+		}
+		currentGeneration.set(generation);
+		drainingGenerations.add(previous);
+		previous.retire();
+		drainingGenerations.removeIf(ArtifactsGeneration::isDrained);
+
+		logDuplicateClasses(generation, loadedJarPaths);
+		notifyReloadListeners(previous, generation, loadedJarPaths);
+	}
+
+	/***
+	 * Notifies the reload listeners of the jars which were reloaded, unloaded or newly loaded by the given generation
+	 */
+	private void notifyReloadListeners(ArtifactsGeneration previous, ArtifactsGeneration generation, List<String> loadedJarPaths) {
+		Set<String> changedJarPaths = Sets.newHashSet(loadedJarPaths);
+		previous.getJarsByPath().forEach((jarPath, jar) -> {
+			if (generation.getJarsByPath().get(jarPath) != jar) {
+				changedJarPaths.add(jarPath);
+			}
+		});
+		for (ArtifactsReloadListener listener : reloadListeners) {
+			try {
+				listener.onArtifactJarsReloaded(changedJarPaths);
+			} catch (RuntimeException e) {
+				logger.error("Artifacts reload listener " + listener.getClass().getSimpleName() + " failed", e);
+			}
+		}
+	}
+
+	/***
+	 * Loads and statically initializes every class of the given loaded jars which the given generation loads from them,
+	 * so the first requests of their artifacts do not
+	 */
+	private void initializeClasses(ArtifactsGeneration generation, List<String> loadedJarPaths) {
+		long start = System.nanoTime();
+		int initialized = 0;
+		for (String jarPath : loadedJarPaths) {
+			ArtifactJar jar = generation.getJarsByPath().get(jarPath);
+			for (String className : jar.getClassNames()) {
+				if (generation.getArtifactJar(className) != jar) {
+					// loaded from a later loaded jar
+					continue;
+				}
+				try {
+					generation.getArtifactClass(className);
+					initialized++;
+				} catch (ClassNotFoundException | LinkageError e) {
+					// fails the same once requested
+					logger.warn("Failed to initialize class \"" + className + "\" of artifacts jar \"" + jarPath + "\": " + e);
+				}
+			}
+		}
+		logger.info("Initialized " + initialized + " artifact classes in " + (System.nanoTime() - start) / 1_000_000 + " ms");
+	}
+
+	/***
+	 * Reports classes of the loaded jars that were already loaded from other jars
+	 */
+	private void logDuplicateClasses(ArtifactsGeneration generation, List<String> loadedJarPaths) {
+		for (String jarName : loadedJarPaths) {
+			ArtifactJar jar = generation.getJarsByPath().get(jarName);
+			List<String> duplicates = jar.getClassNames().stream()
+										 .filter(generation.getDuplicateJarPathsByClassName()::containsKey)
+										 .collect(Collectors.toList());
+			if (!duplicates.isEmpty()) {
+				logger.warn(duplicates.size() + " classes of artifacts jar \"" + jarName + "\" were already loaded from " +
+									"other jars and will now be loaded from this jar, e.g: " + duplicates.subList(0, Math.min(duplicates.size(), 5)) +
+									". See \"statistics/artifacts/classes/duplicates\" for the full list.");
+			}
 		}
 	}
 
@@ -107,25 +306,36 @@ public class PojoArtifactsJarLoaderService implements ArtifactsJarLoaderService
 	 * Saves a reference to all Jars found in given path and all sub-paths within it in a map by jar name
 	 * @return Number of Jars loaded
 	 */
-	private int recursivelyLoadAndSetToMap(Path path, boolean reloadIfAlreadyLoaded) {
+	private int recursivelyLoadAndSetToMap(Path path,
+										   boolean reloadIfAlreadyLoaded,
+										   LinkedHashMap<String, ArtifactJar> jarsByPath,
+										   List<String> loadedJarPaths) {
 		if (path.toFile().isFile()) {
-			return loadAndSetToMapSingleJar(path, reloadIfAlreadyLoaded) ? 1 : 0;
+			if (loadAndSetToMapSingleJar(path, reloadIfAlreadyLoaded, jarsByPath)) {
+				loadedJarPaths.add(path.toAbsolutePath().toString());
+				return 1;
+			}
+			return 0;
 		}
 		int count = 0;
 		//is a dir
-		for (File file : path.toFile().listFiles()) {
-			count += recursivelyLoadAndSetToMap(Paths.get(file.toURI()), reloadIfAlreadyLoaded);
+		File[] files = path.toFile().listFiles();
+		// sorted, so the jar a duplicate class is loaded from does not depend on the file system order
+		Arrays.sort(files);
+		for (File file : files) {
+			count += recursivelyLoadAndSetToMap(Paths.get(file.toURI()), reloadIfAlreadyLoaded, jarsByPath, loadedJarPaths);
 		}
 		return count;
 	}
 
 	/***
-	 * Loads a single jar reference into a URLClassLoader and saves it into a map by the jar full path
+	 * Loads a single jar reference into a URLClassLoader and saves it into a map by the jar full path.
+	 * A reloaded jar replaces the older one in the map, which will be closed once not used by any generation.
 	 * @return true if loaded, false otherwise
 	 */
-	private boolean loadAndSetToMapSingleJar(Path jarPath, boolean reloadIfAlreadyLoaded) {
+	private boolean loadAndSetToMapSingleJar(Path jarPath, boolean reloadIfAlreadyLoaded, LinkedHashMap<String, ArtifactJar> jarsByPath) {
 		String jarName = jarPath.toAbsolutePath().toString();
-		boolean isAlreadyLoaded = classLoadersByJarPath.containsKey(jarName);
+		boolean isAlreadyLoaded = jarsByPath.containsKey(jarName);
 
 		if (!reloadIfAlreadyLoaded && isAlreadyLoaded) {
 			return false;
@@ -137,29 +347,68 @@ public class PojoArtifactsJarLoaderService implements ArtifactsJarLoaderService
 			return false;
 		}
 
+		List<String> classNames;
 		URLClassLoader classLoader;
 		try {
+			classNames = readClassNames(jarPath);
 			classLoader = new URLClassLoader(new URL[]{jarPath.toUri().toURL()}, this.getClass().getClassLoader());
-		} catch (MalformedURLException e) {
+		} catch (IOException e) {
 			logger.error("Failed to load artifacts jar \"" + jarName + "\": " + e.getMessage());
 			return false;
 		}
 
 		if (isAlreadyLoaded) {
-			try {
-				classLoadersByJarPath.get(jarName).close();
-				classLoadersByJarPath.remove(jarName);
-				logger.info("Unloaded older artifact file: \""+ jarName + "\"");
-			} catch (IOException e) {
-				logger.error("Failed to reload existing artifacts jar \"" + jarName + "\", might currently be in use - it will not be reloaded.", e);
-				return false;
-			}
+			// removed first, so the reloaded jar is the last loaded
+			closeIfNotPublished(jarsByPath.remove(jarName));
+			logger.info("Unloaded older artifact file: \""+ jarName + "\"");
 		}
-		classLoadersByJarPath.put(jarName, classLoader);
+		jarsByPath.put(jarName, new ArtifactJar(jarName, classLoader, classNames));
 		logger.info("Loaded artifact/s file: \""+ jarName + "\"");
 		return true;
 	}
 
+	/***
+	 * A jar loaded and replaced within the same reload was never part of any generation, hence closed right away
+	 */
+	private void closeIfNotPublished(ArtifactJar jar) {
+		if (currentGeneration.get().getJarsByPath().get(jar.getJarPath()) == jar) {
+			return;
+		}
+		try {
+			jar.getClassLoader().close();
+		} catch (IOException e) {
+			logger.error("Failed to close the class loader of artifacts jar \"" + jar.getJarPath() + "\"", e);
+		}
+	}
+
+	/***
+	 * @return The names of all the top level classes within the given jar
+	 */
+	private List<String> readClassNames(Path jarPath) throws IOException {
+		try (JarFile jarFile = new JarFile(jarPath.toFile())) {
+			return jarFile.stream()
+						  .map(JarEntry::getName)
+						  .filter(entryName -> entryName.endsWith(".class") && !entryName.contains("$") && !entryName.endsWith("-info.class"))
+						  .map(entryName -> entryName.substring(0, entryName.length() - ".class".length()).replace('/', '.'))
+						  .collect(Collectors.toList());
+		}
+	}
+
+	/***
+	 * Removes the given jar from the map, its class loader will be closed once not used by any generation
+	 * @return true if unloaded, false otherwise
+	 */
+	private boolean unloadSingleJar(Path jarPath, LinkedHashMap<String, ArtifactJar> jarsByPath) {
+		String jarName = jarPath.toAbsolutePath().toString();
+		ArtifactJar removed = jarsByPath.remove(jarName);
+		if (removed == null) {
+			return false;
+		}
+		closeIfNotPublished(removed);
+		logger.info("Unloaded removed artifact file: \""+ jarName + "\"");
+		return true;
+	}
+
 	private boolean isAJarFile(Path jarPath) {
 		String jarFileName = jarPath.toAbsolutePath().toString();
 		return jarFileName.endsWith(".jar") || jarFileName.endsWith(".JAR");
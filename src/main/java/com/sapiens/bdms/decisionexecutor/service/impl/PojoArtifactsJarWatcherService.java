@@ -0,0 +1,354 @@
+package com.sapiens.bdms.decisionexecutor.service.impl;
+
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+import com.sapiens.bdms.decisionexecutor.service.face.ArtifactsJarLoaderService;
+import com.sapiens.bdms.decisionexecutor.service.face.ArtifactsJarWatcherService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import javax.annotation.Resource;
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.jar.JarFile;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static java.nio.file.StandardWatchEventKinds.ENTRY_CREATE;
+import static java.nio.file.StandardWatchEventKinds.ENTRY_DELETE;
+import static java.nio.file.StandardWatchEventKinds.ENTRY_MODIFY;
+import static java.nio.file.StandardWatchEventKinds.OVERFLOW;
+
+/***
+ * Watches the default artifacts jar location in the background and feeds the jar loader with the jars
+ * that were added, modified or removed, so the execution requests never have to scan the file system.
+ * File system events are debounced and a periodic reconciliation scan covers any event that was missed.
+ */
+@Service
+public class PojoArtifactsJarWatcherService implements ArtifactsJarWatcherService {
+
+	private final Logger logger = LoggerFactory.getLogger(this.getClass());
+
+	@Value("${artifacts.jar.location}")
+	private String defaultArtifactsJarLocation;
+
+	@Value("${artifacts.watcher.enabled}")
+	private boolean watcherEnabled;
+
+	@Value("${artifacts.watcher.debounce.millis}")
+	private long debounceMillis;
+
+	@Value("${artifacts.watcher.reconciliation.interval.millis}")
+	private long reconciliationIntervalMillis;
+
+	@Resource
+	private ArtifactsJarLoaderService pojoArtifactsJarLoaderService;
+
+	// the jars stamps as were found on the last scan
+	private Map<Path, JarStamp> observedStamps = Maps.newHashMap();
+
+	// the jars stamps as were when handed to the loader
+	private final Map<Path, JarStamp> loadedStamps = Maps.newHashMap();
+
+	private final Map<WatchKey, Path> watchedDirs = Maps.newHashMap();
+
+	private volatile boolean watching;
+
+	// true when the last scan found jars that are still being written
+	private volatile boolean pendingJars;
+
+	private WatchService watchService;
+
+	private Thread watcherThread;
+
+	@PostConstruct
+	public void start() {
+		if (!watcherEnabled) {
+			reconcileUntilWritten();
+			logger.info("Artifacts jar location watcher is disabled, jars will only be loaded by explicit reload calls");
+			return;
+		}
+		try {
+			watchService = FileSystems.getDefault().newWatchService();
+		} catch (IOException e) {
+			logger.error("Failed to create a file system watcher, artifacts jar location changes will be picked up by " +
+								 "the periodic reconciliation only", e);
+		}
+		reconcile();
+		watching = true;
+		watcherThread = new Thread(this::watchLoop, "artifacts-jar-watcher");
+		watcherThread.setDaemon(true);
+		watcherThread.start();
+	}
+
+	@PreDestroy
+	public void stop() {
+		watching = false;
+		if (watchService != null) {
+			try {
+				watchService.close();
+			} catch (IOException e) {
+				logger.warn("Failed to close the artifacts jar location watcher", e);
+			}
+		}
+		if (watcherThread != null) {
+			watcherThread.interrupt();
+		}
+	}
+
+	@Override
+	public boolean isWatching() {
+		return watching;
+	}
+
+	/***
+	 * Scans the watched artifacts jar location and reloads any jar that was added, modified or removed since
+	 * the last scan, skipping jars that are still being written
+	 * @return Number of Jars loaded
+	 */
+	@Override
+	public synchronized int reconcile() {
+		Path root = Paths.get(defaultArtifactsJarLocation).toAbsolutePath().normalize();
+		registerRecursively(root);
+
+		Map<Path, JarStamp> currentStamps = scanJars(root);
+		List<Path> changedJars = Lists.newArrayList();
+		List<Path> removedJars = Lists.newArrayList();
+		boolean pending = false;
+		long now = System.currentTimeMillis();
+
+		for (Map.Entry<Path, JarStamp> entry : currentStamps.entrySet()) {
+			Path jarPath = entry.getKey();
+			JarStamp stamp = entry.getValue();
+			if (stamp.equals(loadedStamps.get(jarPath))) {
+				continue;
+			}
+			JarStamp observedStamp = observedStamps.get(jarPath);
+			if (!isStable(stamp, observedStamp, now)) {
+				logger.debug("Artifacts jar \"" + jarPath + "\" is still being written, deferring its load");
+				pending = true;
+				continue;
+			}
+			if (!isReadableJar(jarPath)) {
+				if (stamp.equals(observedStamp)) {
+					logger.warn("Could not load artifacts jar \"" + jarPath + "\" since it is not a valid jar file");
+				} else {
+					pending = true;
+				}
+				continue;
+			}
+			changedJars.add(jarPath);
+		}
+		for (Path loadedJar : loadedStamps.keySet()) {
+			if (!currentStamps.containsKey(loadedJar)) {
+				removedJars.add(loadedJar);
+			}
+		}
+		observedStamps = currentStamps;
+		pendingJars = pending;
+
+		if (changedJars.isEmpty() && removedJars.isEmpty()) {
+			return 0;
+		}
+		Collections.sort(changedJars);
+		int loaded = pojoArtifactsJarLoaderService.reloadArtifactJars(changedJars, removedJars);
+		changedJars.forEach(jarPath -> loadedStamps.put(jarPath, currentStamps.get(jarPath)));
+		removedJars.forEach(loadedStamps::remove);
+		return loaded;
+	}
+
+	/***
+	 * Reconciles until no jar is still being written, since nothing reconciles again once the watcher is disabled,
+	 * so a jar copied right before startup is loaded once its copy completed
+	 */
+	private void reconcileUntilWritten() {
+		reconcile();
+		while (pendingJars) {
+			try {
+				Thread.sleep(debounceMillis);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				return;
+			}
+			reconcile();
+		}
+	}
+
+	/***
+	 * Waits for file system events on the watched directories, reconciling once no event arrived for the
+	 * debounce period or when the periodic reconciliation is due. Starts dirty if the startup scan deferred a jar
+	 * still being written, so it is loaded once the debounce period passed rather than by the next reconciliation.
+	 */
+	private void watchLoop() {
+		boolean dirty = pendingJars;
+		long lastEventTime = System.currentTimeMillis();
+		long nextReconciliation = System.currentTimeMillis() + reconciliationIntervalMillis;
+
+		while (watching) {
+			try {
+				long now = System.currentTimeMillis();
+				long timeout = dirty ? lastEventTime + debounceMillis - now : nextReconciliation - now;
+				WatchKey key = pollWatchKey(Math.max(timeout, 0));
+				now = System.currentTimeMillis();
+				if (key != null) {
+					handleEvents(key);
+					dirty = true;
+					lastEventTime = now;
+					continue;
+				}
+				if ((dirty && now - lastEventTime >= debounceMillis) || now >= nextReconciliation) {
+					reconcile();
+					dirty = pendingJars;
+					lastEventTime = now;
+					nextReconciliation = now + reconciliationIntervalMillis;
+				}
+			} catch (InterruptedException | ClosedWatchServiceException e) {
+				break;
+			} catch (Exception e) {
+				logger.error("Failed to reconcile the artifacts jar location, will retry on the next change", e);
+			}
+		}
+		watching = false;
+	}
+
+	private WatchKey pollWatchKey(long timeoutMillis) throws InterruptedException {
+		if (watchService == null) {
+			Thread.sleep(timeoutMillis);
+			return null;
+		}
+		return watchService.poll(timeoutMillis, TimeUnit.MILLISECONDS);
+	}
+
+	private void handleEvents(WatchKey key) {
+		Path dir;
+		synchronized (this) {
+			dir = watchedDirs.get(key);
+		}
+		for (WatchEvent<?> event : key.pollEvents()) {
+			if (event.kind() == OVERFLOW || dir == null) {
+				continue;
+			}
+			Path child = dir.resolve((Path) event.context());
+			if (event.kind() == ENTRY_CREATE && Files.isDirectory(child)) {
+				synchronized (this) {
+					registerRecursively(child);
+				}
+			}
+		}
+		if (!key.reset()) {
+			synchronized (this) {
+				watchedDirs.remove(key);
+			}
+		}
+	}
+
+	/***
+	 * Registers the given directory and all its sub directories that are not yet watched
+	 */
+	private void registerRecursively(Path dir) {
+		if (watchService == null || !Files.isDirectory(dir)) {
+			return;
+		}
+		try (Stream<Path> dirs = Files.walk(dir)) {
+			for (Path subDir : dirs.filter(Files::isDirectory).collect(Collectors.toList())) {
+				if (!watchedDirs.containsValue(subDir)) {
+					watchedDirs.put(subDir.register(watchService, ENTRY_CREATE, ENTRY_MODIFY, ENTRY_DELETE), subDir);
+				}
+			}
+		} catch (IOException | ClosedWatchServiceException e) {
+			logger.warn("Failed to watch artifacts jar directory \"" + dir + "\": " + e.getMessage());
+		}
+	}
+
+	/***
+	 * @return The stamps of all the jar files found in the given path and all sub-paths within it, by jar path
+	 */
+	private Map<Path, JarStamp> scanJars(Path root) {
+		Map<Path, JarStamp> stamps = Maps.newHashMap();
+		if (!Files.exists(root)) {
+			return stamps;
+		}
+		try (Stream<Path> files = Files.walk(root)) {
+			files.filter(Files::isRegularFile)
+				 .filter(this::isAJarFile)
+				 .forEach(jarPath -> {
+					 File jarFile = jarPath.toFile();
+					 stamps.put(jarPath, new JarStamp(jarFile.length(), jarFile.lastModified()));
+				 });
+		} catch (IOException | UncheckedIOException e) {
+			logger.warn("Failed to scan artifacts jar location \"" + root + "\": " + e.getMessage());
+			// keep what is already loaded until the next successful scan
+			return Maps.newHashMap(loadedStamps);
+		}
+		return stamps;
+	}
+
+	/***
+	 * A jar is considered completely written if it did not change since the last scan
+	 * or was not modified for at least the debounce period
+	 */
+	private boolean isStable(JarStamp stamp, JarStamp observedStamp, long now) {
+		return stamp.equals(observedStamp) || now - stamp.lastModified >= debounceMillis;
+	}
+
+	/***
+	 * A half copied jar has no central directory yet, hence fails to open
+	 */
+	private boolean isReadableJar(Path jarPath) {
+		try (JarFile ignored = new JarFile(jarPath.toFile())) {
+			return true;
+		} catch (IOException e) {
+			return false;
+		}
+	}
+
+	private boolean isAJarFile(Path jarPath) {
+		String jarFileName = jarPath.toString();
+		return jarFileName.endsWith(".jar") || jarFileName.endsWith(".JAR");
+	}
+
+	private static class JarStamp {
+		private final long size;
+		private final long lastModified;
+
+		private JarStamp(long size, long lastModified) {
+			this.size = size;
+			this.lastModified = lastModified;
+		}
+
+		@Override
+		public boolean equals(Object o) {
+			if (this == o) {
+				return true;
+			}
+			if (o == null || getClass() != o.getClass()) {
+				return false;
+			}
+			JarStamp jarStamp = (JarStamp) o;
+			return size == jarStamp.size && lastModified == jarStamp.lastModified;
+		}
+
+		@Override
+		public int hashCode() {
+			return Objects.hash(size, lastModified);
+		}
+	}
+}
@@ -0,0 +1,273 @@
+package com.sapiens.bdms.decisionexecutor.service.impl;
+
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+import com.sapiens.bdms.decisionexecutor.service.face.ArtifactExecutorService;
+import com.sapiens.bdms.decisionexecutor.service.face.ArtifactsJarLoaderService;
+import com.sapiens.bdms.decisionexecutor.service.face.ArtifactsReloadListener;
+import com.sapiens.bdms.decisionexecutor.service.face.ArtifactsWarmupService;
+import com.sapiens.bdms.decisionexecutor.service.face.ExecutionPlanService;
+import com.sapiens.bdms.decisionexecutor.service.face.ExecutionProfileService;
+import com.sapiens.bdms.decisionexecutor.service.model.ArtifactJar;
+import com.sapiens.bdms.decisionexecutor.service.model.ArtifactKey;
+import com.sapiens.bdms.decisionexecutor.service.model.ArtifactMetadata;
+import com.sapiens.bdms.decisionexecutor.service.model.ArtifactsGeneration;
+import com.sapiens.bdms.decisionexecutor.service.model.ArtifactsWarmupStatistics;
+import com.sapiens.bdms.decisionexecutor.service.model.ExecutionProfile;
+import com.sapiens.bdms.decisionexecutor.service.model.FactMetadata;
+import com.sapiens.bdms.java.exe.helper.base.ExecutableType;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.web.context.WebApplicationContext;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import javax.annotation.Resource;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/***
+ * Warms the loaded artifacts up in the background, by executing each of them a number of times with synthetic inputs
+ * of its fact types, so the first calls of an artifact do not run its code interpreted. The artifacts loaded on
+ * startup are warmed up once the application is ready, and the readiness is reported only once done, while the
+ * artifacts of reloaded jars are warmed up as soon as reloaded.
+ */
+@Service
+public class PojoArtifactsWarmupService implements ArtifactsWarmupService, ArtifactsReloadListener {
+
+	// the synthetic number and date inputs vary by this factor of the execution number, so different rows are hit
+	private static final int INPUT_SPREAD = 37;
+
+	private static final int MAX_DAYS_BACK = 36500;
+
+	private final Logger logger = LoggerFactory.getLogger(this.getClass());
+
+	@Value("${artifacts.warmup.enabled}")
+	private boolean enabled;
+
+	@Value("${artifacts.warmup.executions}")
+	private int executionsPerArtifact;
+
+	@Value("${date.fact.input.value.datetime.format}")
+	private String datetimeFormat;
+
+	@Resource
+	private ArtifactsJarLoaderService pojoArtifactsJarLoaderService;
+
+	@Resource
+	private ExecutionPlanService pojoExecutionPlanService;
+
+	@Resource
+	private ArtifactExecutorService pojoArtifactExecutorService;
+
+	@Resource
+	private ExecutionProfileService pojoExecutionProfileService;
+
+	private ArtifactsWarmupStatistics statistics;
+
+	private DateTimeFormatter datetimeFormatter;
+
+	// warms up a single set of jars at a time, in the order loaded
+	private ExecutorService warmupExecutor;
+
+	// the reloads before the startup warm-up are warmed up by it
+	private volatile boolean started;
+
+	@PostConstruct
+	public void init() {
+		statistics = new ArtifactsWarmupStatistics(enabled);
+		if (!enabled) {
+			return;
+		}
+		datetimeFormatter = DateTimeFormatter.ofPattern(datetimeFormat);
+		ClassLoader applicationClassLoader = getClass().getClassLoader();
+		warmupExecutor = Executors.newSingleThreadExecutor(runnable -> {
+			Thread thread = new Thread(runnable, "artifacts-warmup");
+			thread.setDaemon(true);
+			thread.setContextClassLoader(applicationClassLoader);
+			return thread;
+		});
+	}
+
+	@PreDestroy
+	public void stop() {
+		if (warmupExecutor != null) {
+			warmupExecutor.shutdownNow();
+		}
+	}
+
+	/***
+	 * Warms up all the loaded artifacts, then reports ready. The bulk execution is not warmed up, since it executes
+	 * a single artifact whose first chunk warms it up anyway.
+	 */
+	@EventListener(ApplicationReadyEvent.class)
+	public void onApplicationReady(ApplicationReadyEvent event) {
+		if (!enabled || !(event.getApplicationContext() instanceof WebApplicationContext)) {
+			statistics.setReady();
+			return;
+		}
+		started = true;
+		warmupExecutor.execute(() -> {
+			try {
+				List<String> jarPaths;
+				try (ArtifactsGeneration generation = pojoArtifactsJarLoaderService.acquireGeneration()) {
+					jarPaths = Lists.newArrayList(generation.getJarsByPath().keySet());
+				}
+				warmUp(jarPaths);
+			} catch (Throwable e) {
+				logger.error("Artifacts warm-up failed", e);
+			} finally {
+				// a failed warm-up only leaves the artifacts cold, which must not keep the instance out of service
+				statistics.setReady();
+				logger.info("Artifacts warm-up is done, reporting ready");
+			}
+		});
+	}
+
+	/***
+	 * Warms up the artifacts of the reloaded jars, unless unloaded
+	 */
+	@Override
+	public void onArtifactJarsReloaded(Set<String> changedJarPaths) {
+		if (!enabled || !started) {
+			return;
+		}
+		warmupExecutor.execute(() -> warmUp(changedJarPaths));
+	}
+
+	@Override
+	public boolean isReady() {
+		return statistics.isReady();
+	}
+
+	@Override
+	public ArtifactsWarmupStatistics getStatistics() {
+		return statistics;
+	}
+
+	/***
+	 * Executes each artifact of the given jars the configured number of times, stopping an artifact at its first
+	 * failed execution
+	 */
+	private void warmUp(Collection<String> jarPaths) {
+		long start = System.nanoTime();
+		List<ArtifactKey> artifacts = resolveArtifacts(jarPaths);
+		Map<String, String> failures = Maps.newTreeMap();
+		long executions = 0;
+		for (ArtifactKey artifact : artifacts) {
+			if (Thread.currentThread().isInterrupted()) {
+				return;
+			}
+			int executed = 0;
+			try {
+				ExecutionProfile profile = pojoExecutionProfileService.resolve(artifact, null);
+				List<FactMetadata> facts = getMetadata(artifact).getFacts();
+				ZonedDateTime now = ZonedDateTime.now();
+				for (; executed < executionsPerArtifact && !Thread.currentThread().isInterrupted(); executed++) {
+					pojoArtifactExecutorService.warmUp(artifact, toSyntheticInputs(facts, executed, now), profile);
+				}
+			} catch (Throwable e) {
+				// the synthetic inputs may not suit the artifact, which then fails the same on every execution, and
+				// errors, e.g: a class failing to link, or a stack overflow, fail only the warm-up of the artifact
+				failures.put(artifact.toString(), e.toString());
+				logger.warn("Stopped warming up " + artifact + " after " + executed + " executions: " + e);
+			}
+			executions += executed;
+		}
+		statistics.record(artifacts.size(), executions, failures, System.nanoTime() - start);
+		logger.info("Warmed up " + artifacts.size() + " artifacts by " + executions + " executions in " +
+							(System.nanoTime() - start) / 1_000_000 + " ms");
+	}
+
+	/***
+	 * @return The Decisions and Flows of the given jars, as loaded by the current generation
+	 */
+	private List<ArtifactKey> resolveArtifacts(Collection<String> jarPaths) {
+		List<ArtifactKey> artifacts = Lists.newArrayList();
+		try (ArtifactsGeneration generation = pojoArtifactsJarLoaderService.acquireGeneration()) {
+			for (String jarPath : jarPaths) {
+				ArtifactJar jar = generation.getJarsByPath().get(jarPath);
+				if (jar == null) {
+					// unloaded
+					continue;
+				}
+				for (String className : jar.getClassNames()) {
+					if (generation.getArtifactJar(className) != jar) {
+						continue;
+					}
+					try {
+						ArtifactKey artifact = pojoExecutionPlanService.resolveArtifactKey(generation.getArtifactClass(className));
+						if (artifact != null) {
+							artifacts.add(artifact);
+						}
+					} catch (ClassNotFoundException | LinkageError e) {
+						logger.warn("Failed to load class \"" + className + "\" of artifacts jar \"" + jarPath + "\" to warm it up: " + e);
+					}
+				}
+			}
+		}
+		return artifacts;
+	}
+
+	private ArtifactMetadata getMetadata(ArtifactKey artifact) throws ClassNotFoundException {
+		return artifact.getType() == ExecutableType.DECISION ?
+				pojoArtifactExecutorService.getDecisionMetadata(artifact.getPackagePrefix(), artifact.getName(), artifact.getView(), artifact.getVersion()) :
+				pojoArtifactExecutorService.getFlowMetadata(artifact.getPackagePrefix(), artifact.getName(), artifact.getVersion());
+	}
+
+	/***
+	 * @return An input value of each of the given facts whose data type is supported, as sent by the execution calls,
+	 * varying by the given execution number
+	 */
+	private Map<String, Object> toSyntheticInputs(List<FactMetadata> facts, int execution, ZonedDateTime now) {
+		Map<String, Object> inputs = Maps.newLinkedHashMap();
+		for (FactMetadata fact : facts) {
+			Object value;
+			if (fact.getListMemberDataType() != null) {
+				List<Object> members = Lists.newArrayList();
+				for (int member = 0; member <= execution % 3; member++) {
+					members.add(toSyntheticValue(fact.getListMemberDataType(), execution + member, now));
+				}
+				value = members.contains(null) ? null : members;
+			} else {
+				value = fact.getDataType() == null ? null : toSyntheticValue(fact.getDataType(), execution, now);
+			}
+			if (value != null) {
+				inputs.put(fact.getName(), value);
+			}
+		}
+		return inputs;
+	}
+
+	/***
+	 * @return A value of the given data type, as converted by the fact value converters, or null if not supported
+	 */
+	private Object toSyntheticValue(String dataType, int execution, ZonedDateTime now) {
+		int number = execution * INPUT_SPREAD % 1000;
+		switch (dataType) {
+			case "String":
+				return "WarmUp" + execution % 10;
+			case "BigDecimal":
+			case "Integer":
+				return number;
+			case "Double":
+				return number / 10.0;
+			case "Boolean":
+				return execution % 2 == 0;
+			case "Date":
+				return datetimeFormatter.format(now.minusDays(execution * INPUT_SPREAD % MAX_DAYS_BACK));
+			default:
+				return null;
+		}
+	}
+}
@@ -0,0 +1,412 @@
+package com.sapiens.bdms.decisionexecutor.service.impl;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+import com.sapiens.bdms.decisionexecutor.service.face.BulkExecutionService;
+import com.sapiens.bdms.decisionexecutor.service.model.BatchItemResult;
+import com.sapiens.bdms.decisionexecutor.service.model.BulkExecutionCheckpoint;
+import com.sapiens.bdms.decisionexecutor.service.model.BulkExecutionReport;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.stereotype.Service;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.Resource;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.IntStream;
+
+import static java.nio.file.StandardOpenOption.CREATE;
+import static java.nio.file.StandardOpenOption.READ;
+import static java.nio.file.StandardOpenOption.WRITE;
+
+@Service
+public class PojoBulkExecutionService implements BulkExecutionService {
+
+	// the progress is logged at most once per this interval
+	private static final long PROGRESS_REPORT_INTERVAL_NANOS = TimeUnit.SECONDS.toNanos(5);
+
+	private static final int HEADER_READ_BYTES = 8192;
+
+	private final Logger logger = LoggerFactory.getLogger(this.getClass());
+
+	@Value("${execution.bulk.chunk.bytes}")
+	private int chunkBytes;
+
+	@Resource
+	private MappingJackson2HttpMessageConverter mappingJackson2HttpMessageConverter;
+
+	// same as of the web calls' request and response bodies
+	private ObjectReader inputReader;
+	private ObjectWriter outputWriter;
+
+	@PostConstruct
+	public void init() {
+		ObjectMapper objectMapper = mappingJackson2HttpMessageConverter.getObjectMapper();
+		inputReader = objectMapper.readerFor(Map.class);
+		outputWriter = objectMapper.writer();
+	}
+
+	/***
+	 * Reads the input file by chunks of about "execution.bulk.chunk.bytes" ending at a record's end, parses and
+	 * executes the records of each chunk in parallel, and writes each chunk's results while the next chunk is executed.
+	 * A record that can not be parsed or executed fails alone, with its error written as its output line.
+	 * @param execution Executes the records of a single chunk
+	 * @param input The input file, CSV if named "*.csv", newline-delimited JSON otherwise
+	 * @param output The output file
+	 * @param checkpoint The checkpoint file
+	 * @param resultView Transforms the result of each record into the object written as its output line
+	 * @return The number of records executed and failed
+	 */
+	@Override
+	public BulkExecutionReport executeFile(ChunkExecution execution,
+										   Path input,
+										   Path output,
+										   Path checkpoint,
+										   Function<BatchItemResult, Object> resultView) throws IOException {
+		long start = System.nanoTime();
+		boolean csv = input.getFileName().toString().toLowerCase().endsWith(".csv");
+		ExecutorService outputWriterThread = Executors.newSingleThreadExecutor(runnable -> new Thread(runnable, "bulk-output-writer"));
+		try (FileChannel in = FileChannel.open(input, READ);
+			 FileChannel out = FileChannel.open(output, CREATE, WRITE)) {
+			long inputSize = in.size();
+			List<String> csvHeader = null;
+			long recordsOffset = 0;
+			if (csv) {
+				ByteBuffer headerLine = readFirstLine(in, inputSize);
+				csvHeader = parseCsvHeader(headerLine);
+				recordsOffset = headerLine.remaining();
+			}
+			BulkExecutionCheckpoint state = startingCheckpoint(checkpoint, input, inputSize, recordsOffset, out);
+			long resumedItems = state.getItems();
+			long lastReport = System.nanoTime();
+
+			Future<?> pendingWrite = CompletableFuture.completedFuture(null);
+			while (state.getInputOffset() < inputSize) {
+				ByteBuffer chunk = readChunk(in, state.getInputOffset(), inputSize);
+				BatchItemResult[] results = executeChunk(execution, chunk, csvHeader);
+				ByteBuffer chunkOutput = toOutputLines(results, resultView);
+				long failed = IntStream.range(0, results.length).filter(i -> results[i].isFailed()).count();
+
+				// the previous chunk is written while this one is executed
+				awaitWrite(pendingWrite);
+				long outputOffset = state.getOutputOffset();
+				BulkExecutionCheckpoint next = state.advance(state.getInputOffset() + chunk.remaining(), chunkOutput.remaining(),
+															 results.length, failed);
+				pendingWrite = outputWriterThread.submit(() -> {
+					writeFully(out, chunkOutput, outputOffset);
+					out.force(false);
+					next.save(checkpoint);
+					return null;
+				});
+				state = next;
+
+				if (System.nanoTime() - lastReport >= PROGRESS_REPORT_INTERVAL_NANOS) {
+					lastReport = System.nanoTime();
+					reportProgress(input, state, inputSize, resumedItems, lastReport - start);
+				}
+			}
+			awaitWrite(pendingWrite);
+			Files.deleteIfExists(checkpoint);
+			return new BulkExecutionReport(state.getItems(), state.getFailedItems(), resumedItems,
+										   TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+		} finally {
+			outputWriterThread.shutdown();
+		}
+	}
+
+	/***
+	 * @return The checkpoint to resume from if the given checkpoint file exists, or of the input start otherwise
+	 */
+	private BulkExecutionCheckpoint startingCheckpoint(Path checkpoint,
+													   Path input,
+													   long inputSize,
+													   long recordsOffset,
+													   FileChannel out) throws IOException {
+		String inputPath = input.toAbsolutePath().normalize().toString();
+		if (!Files.exists(checkpoint)) {
+			out.truncate(0);
+			return new BulkExecutionCheckpoint(inputPath, inputSize, recordsOffset, 0, 0, 0);
+		}
+		BulkExecutionCheckpoint resumed = BulkExecutionCheckpoint.load(checkpoint);
+		if (!inputPath.equals(resumed.getInputPath()) || inputSize != resumed.getInputSize() || out.size() < resumed.getOutputOffset()) {
+			throw new IllegalStateException("The checkpoint file \"" + checkpoint + "\" does not match the input file \"" + inputPath +
+													"\" or the output file, delete it to start over");
+		}
+		// drops the output of a chunk written after the last checkpoint
+		out.truncate(resumed.getOutputOffset());
+		logger.info("Resuming the execution of \"" + inputPath + "\" after " + resumed.getItems() + " records, from checkpoint \"" + checkpoint + "\"");
+		return resumed;
+	}
+
+	/***
+	 * Parses and executes the records of the given chunk, each line of which is a record
+	 * @return The result of each record, in their order
+	 */
+	private BatchItemResult[] executeChunk(ChunkExecution execution, ByteBuffer chunk, List<String> csvHeader) {
+		byte[] bytes = chunk.array();
+		int[][] lines = splitLines(bytes, chunk.remaining());
+		int[] starts = lines[0];
+		int[] ends = lines[1];
+
+		Object[] records = new Object[starts.length];
+		IntStream.range(0, records.length).parallel().forEach(i -> records[i] = parseRecord(bytes, starts[i], ends[i], csvHeader));
+		List<Map<String, Object>> inputs = Lists.newArrayListWithCapacity(records.length);
+		for (Object record : records) {
+			if (record instanceof Map) {
+				inputs.add((Map<String, Object>) record);
+			}
+		}
+
+		List<BatchItemResult> executed;
+		try {
+			executed = execution.execute(inputs);
+		} catch (RuntimeException e) {
+			throw e;
+		} catch (Exception e) {
+			throw new RuntimeException(e.getMessage(), e);
+		}
+		BatchItemResult[] results = new BatchItemResult[records.length];
+		int executedIndex = 0;
+		for (int i = 0; i < records.length; i++) {
+			results[i] = records[i] instanceof Map ? executed.get(executedIndex++) : BatchItemResult.failure((Exception) records[i]);
+		}
+		return results;
+	}
+
+	/***
+	 * @return The start and end offsets of each non empty line of the given bytes, excluding the line breaks
+	 */
+	private int[][] splitLines(byte[] bytes, int length) {
+		int count = 0;
+		for (int i = 0; i < length; i++) {
+			if (bytes[i] == '\n') {
+				count++;
+			}
+		}
+		int[] starts = new int[count + 1];
+		int[] ends = new int[count + 1];
+		int lines = 0;
+		int lineStart = 0;
+		for (int i = 0; i <= length; i++) {
+			if (i == length || bytes[i] == '\n') {
+				int lineEnd = i > lineStart && bytes[i - 1] == '\r' ? i - 1 : i;
+				if (lineEnd > lineStart) {
+					starts[lines] = lineStart;
+					ends[lines] = lineEnd;
+					lines++;
+				}
+				lineStart = i + 1;
+			}
+		}
+		return new int[][]{Arrays.copyOf(starts, lines), Arrays.copyOf(ends, lines)};
+	}
+
+	/***
+	 * @return The map of the input values by fact name of the given record, or the exception it failed to be parsed with
+	 */
+	private Object parseRecord(byte[] bytes, int start, int end, List<String> csvHeader) {
+		try {
+			if (csvHeader == null) {
+				Object record = inputReader.readValue(bytes, start, end - start);
+				// a "null" line, the same as the batch item of null inputs
+				return record != null ? record : new IllegalArgumentException("Missing the record input values");
+			}
+			List<String> values = parseCsvLine(new String(bytes, start, end - start, StandardCharsets.UTF_8));
+			if (values.size() != csvHeader.size()) {
+				throw new IllegalArgumentException("Expected " + csvHeader.size() + " values by the CSV header but found " + values.size());
+			}
+			Map<String, Object> inputs = Maps.newLinkedHashMap();
+			for (int i = 0; i < values.size(); i++) {
+				// an empty value is an input not given
+				if (!values.get(i).isEmpty()) {
+					inputs.put(csvHeader.get(i), values.get(i));
+				}
+			}
+			return inputs;
+		} catch (IOException | RuntimeException e) {
+			return e;
+		}
+	}
+
+	private List<String> parseCsvHeader(ByteBuffer headerLine) {
+		String header = new String(headerLine.array(), 0, headerLine.remaining(), StandardCharsets.UTF_8).trim();
+		if (header.startsWith("\uFEFF")) {
+			header = header.substring(1);
+		}
+		List<String> names = Lists.newArrayList();
+		for (String name : parseCsvLine(header)) {
+			names.add(name.trim());
+		}
+		return names;
+	}
+
+	/***
+	 * Splits the given CSV line by commas, except within double quoted values, in which a double quote is escaped
+	 * by another double quote
+	 */
+	private List<String> parseCsvLine(String line) {
+		List<String> values = Lists.newArrayList();
+		StringBuilder value = new StringBuilder();
+		boolean quoted = false;
+		for (int i = 0; i < line.length(); i++) {
+			char c = line.charAt(i);
+			if (quoted) {
+				if (c != '"') {
+					value.append(c);
+				} else if (i + 1 < line.length() && line.charAt(i + 1) == '"') {
+					value.append('"');
+					i++;
+				} else {
+					quoted = false;
+				}
+			} else if (c == '"') {
+				quoted = true;
+			} else if (c == ',') {
+				values.add(value.toString());
+				value.setLength(0);
+			} else {
+				value.append(c);
+			}
+		}
+		if (quoted) {
+			throw new IllegalArgumentException("Unterminated quoted CSV value, a value must not span multiple lines");
+		}
+		values.add(value.toString());
+		return values;
+	}
+
+	/***
+	 * Serializes the given results in parallel, a JSON line per result. A result that fails to be serialized is
+	 * replaced by the serialization error.
+	 */
+	private ByteBuffer toOutputLines(BatchItemResult[] results, Function<BatchItemResult, Object> resultView) {
+		byte[][] lines = new byte[results.length][];
+		IntStream.range(0, results.length).parallel().forEach(i -> {
+			try {
+				lines[i] = outputWriter.writeValueAsBytes(resultView.apply(results[i]));
+			} catch (JsonProcessingException | RuntimeException e) {
+				results[i] = BatchItemResult.failure(e);
+				try {
+					lines[i] = outputWriter.writeValueAsBytes(resultView.apply(results[i]));
+				} catch (JsonProcessingException serializationError) {
+					throw new RuntimeException(serializationError);
+				}
+			}
+		});
+		int size = 0;
+		for (byte[] line : lines) {
+			size += line.length + 1;
+		}
+		byte[] output = new byte[size];
+		int offset = 0;
+		for (byte[] line : lines) {
+			System.arraycopy(line, 0, output, offset, line.length);
+			output[offset + line.length] = '\n';
+			offset += line.length + 1;
+		}
+		return ByteBuffer.wrap(output);
+	}
+
+	/***
+	 * Reads about "execution.bulk.chunk.bytes" from the given offset, up to the end of the last whole line read
+	 */
+	private ByteBuffer readChunk(FileChannel in, long offset, long inputSize) throws IOException {
+		int length = (int) Math.min(chunkBytes, inputSize - offset);
+		while (true) {
+			ByteBuffer buffer = ByteBuffer.allocate(length);
+			readFully(in, buffer, offset);
+			if (offset + length == inputSize) {
+				return ByteBuffer.wrap(buffer.array(), 0, length);
+			}
+			int lastLineEnd = lastIndexOf(buffer.array(), length, (byte) '\n');
+			if (lastLineEnd >= 0) {
+				return ByteBuffer.wrap(buffer.array(), 0, lastLineEnd + 1);
+			}
+			// a single record is longer than a chunk
+			length = (int) Math.min(length * 2L, inputSize - offset);
+		}
+	}
+
+	private ByteBuffer readFirstLine(FileChannel in, long inputSize) throws IOException {
+		int length = (int) Math.min(HEADER_READ_BYTES, inputSize);
+		while (true) {
+			ByteBuffer buffer = ByteBuffer.allocate(length);
+			readFully(in, buffer, 0);
+			for (int i = 0; i < length; i++) {
+				if (buffer.get(i) == '\n') {
+					return ByteBuffer.wrap(buffer.array(), 0, i + 1);
+				}
+			}
+			if (length == inputSize) {
+				return ByteBuffer.wrap(buffer.array(), 0, length);
+			}
+			length = (int) Math.min(length * 2L, inputSize);
+		}
+	}
+
+	private int lastIndexOf(byte[] bytes, int length, byte value) {
+		for (int i = length - 1; i >= 0; i--) {
+			if (bytes[i] == value) {
+				return i;
+			}
+		}
+		return -1;
+	}
+
+	private void readFully(FileChannel in, ByteBuffer buffer, long offset) throws IOException {
+		while (buffer.hasRemaining()) {
+			if (in.read(buffer, offset + buffer.position()) < 0) {
+				throw new EOFException("The input file was truncated while read");
+			}
+		}
+	}
+
+	private void writeFully(FileChannel out, ByteBuffer buffer, long offset) throws IOException {
+		while (buffer.hasRemaining()) {
+			out.write(buffer, offset + buffer.position());
+		}
+	}
+
+	private void awaitWrite(Future<?> pendingWrite) throws IOException {
+		try {
+			pendingWrite.get();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new RuntimeException("Interrupted while writing the bulk execution output", e);
+		} catch (ExecutionException e) {
+			if (e.getCause() instanceof IOException) {
+				throw (IOException) e.getCause();
+			}
+			throw new RuntimeException("Failed to write the bulk execution output: " + e.getCause().getMessage(), e.getCause());
+		}
+	}
+
+	private void reportProgress(Path input, BulkExecutionCheckpoint state, long inputSize, long resumedItems, long elapsedNanos) {
+		double seconds = elapsedNanos / 1e9;
+		logger.info(String.format("Executed %d records of \"%s\" (%.1f%% of the input), %d failed, %.0f records/s",
+								  state.getItems(), input, 100.0 * state.getInputOffset() / Math.max(inputSize, 1),
+								  state.getFailedItems(), (state.getItems() - resumedItems) / seconds));
+	}
+}
@@ -0,0 +1,112 @@
+package com.sapiens.bdms.decisionexecutor.service.impl;
+
+import com.sapiens.bdms.decisionexecutor.service.face.ExecutionCoalescingService;
+import com.sapiens.bdms.decisionexecutor.service.face.ExecutionDispatcherService;
+import com.sapiens.bdms.decisionexecutor.service.model.ArtifactKey;
+import com.sapiens.bdms.decisionexecutor.service.model.ExecutionCoalescingStatistics;
+import com.sapiens.bdms.decisionexecutor.service.model.ExecutionProfile;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import javax.annotation.Resource;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+@Service
+public class PojoExecutionCoalescingService implements ExecutionCoalescingService {
+
+	@Value("${execution.coalescing.enabled}")
+	private boolean enabled;
+
+	@Resource
+	private ExecutionDispatcherService pojoExecutionDispatcherService;
+
+	// the executions queued or executing, removed once completed so no result outlives its execution
+	private final Map<InFlightKey, CompletableFuture<?>> inFlight = new ConcurrentHashMap<>();
+
+	private final LongAdder submitted = new LongAdder();
+	private final LongAdder coalesced = new LongAdder();
+
+	/***
+	 * Shares the execution in flight of the same artifact, profile and inputs, if any, rather than submitting another one.
+	 * The calls sharing an execution get its result or the exception it failed with, including its rejection and
+	 * timeout, hence only calls of the same effective timeout share an execution: a call never waits longer than its
+	 * own timeout, nor times out by the timeout of another call.
+	 */
+	@Override
+	public <T> CompletableFuture<T> coalesce(ArtifactKey artifact, ExecutionProfile profile, Map<String, Object> inputs, long timeoutMillis, Supplier<CompletableFuture<T>> submission) {
+		if (!enabled) {
+			return submission.get();
+		}
+		InFlightKey key = new InFlightKey(artifact, profile, inputs, pojoExecutionDispatcherService.getTimeoutMillis(artifact, timeoutMillis));
+		CompletableFuture<T> execution = new CompletableFuture<>();
+		CompletableFuture<T> shared = (CompletableFuture<T>) inFlight.putIfAbsent(key, execution);
+		if (shared != null) {
+			coalesced.increment();
+			// a dependent future, so completing one call's future does not complete the others'
+			return shared.thenApply(Function.identity());
+		}
+		submitted.increment();
+		try {
+			submission.get().whenComplete((result, error) -> {
+				inFlight.remove(key, execution);
+				if (error != null) {
+					execution.completeExceptionally(error);
+				} else {
+					execution.complete(result);
+				}
+			});
+		} catch (RuntimeException e) {
+			inFlight.remove(key, execution);
+			execution.completeExceptionally(e);
+			throw e;
+		}
+		return execution;
+	}
+
+	@Override
+	public ExecutionCoalescingStatistics getStatistics() {
+		return new ExecutionCoalescingStatistics(enabled, inFlight.size(), submitted.sum(), coalesced.sum());
+	}
+
+	/***
+	 * An artifact with its execution profile, inputs as sent, regardless of their order, and effective timeout
+	 */
+	private static class InFlightKey {
+		private final ArtifactKey artifact;
+		private final ExecutionProfile profile;
+		private final Map<String, Object> inputs;
+		private final long timeoutMillis;
+		private final int hashCode;
+
+		private InFlightKey(ArtifactKey artifact, ExecutionProfile profile, Map<String, Object> inputs, long timeoutMillis) {
+			this.artifact = artifact;
+			this.profile = profile;
+			this.inputs = inputs;
+			this.timeoutMillis = timeoutMillis;
+			this.hashCode = 31 * (31 * (31 * artifact.hashCode() + profile.hashCode()) + inputs.hashCode()) + Long.hashCode(timeoutMillis);
+		}
+
+		@Override
+		public boolean equals(Object o) {
+			if (this == o) {
+				return true;
+			}
+			if (o == null || getClass() != o.getClass()) {
+				return false;
+			}
+			InFlightKey that = (InFlightKey) o;
+			return hashCode == that.hashCode && profile == that.profile && timeoutMillis == that.timeoutMillis &&
+					artifact.equals(that.artifact) && inputs.equals(that.inputs);
+		}
+
+		@Override
+		public int hashCode() {
+			return hashCode;
+		}
+	}
+}
@@ -0,0 +1,383 @@
+package com.sapiens.bdms.decisionexecutor.service.impl;
+
+import com.google.common.base.Joiner;
+import com.google.common.base.Splitter;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.collect.Maps;
+import com.sapiens.bdms.decisionexecutor.exception.ExecutionRejectedException;
+import com.sapiens.bdms.decisionexecutor.exception.ExecutionTimeoutException;
+import com.sapiens.bdms.decisionexecutor.service.face.ExecutionDispatcherService;
+import com.sapiens.bdms.decisionexecutor.service.model.ArtifactBulkhead;
+import com.sapiens.bdms.decisionexecutor.service.model.ArtifactBulkheadStatistics;
+import com.sapiens.bdms.decisionexecutor.service.model.ArtifactKey;
+import com.sapiens.bdms.decisionexecutor.service.model.ExecutionDispatcherStatistics;
+import com.sapiens.bdms.decisionexecutor.service.model.ExecutionPriority;
+import com.sapiens.bdms.decisionexecutor.service.model.RunningExecution;
+import com.sapiens.bdms.decisionexecutor.service.model.StuckExecutionStatistics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+
+@Service
+public class PojoExecutionDispatcherService implements ExecutionDispatcherService {
+
+	// the running executions are checked for being past their deadline once per this interval, and reported as stuck
+	// once past their deadline by this grace, rather than as soon as interrupted
+	private static final long STUCK_CHECK_INTERVAL_MILLIS = 1000;
+	private static final long STUCK_GRACE_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+	private final Logger logger = LoggerFactory.getLogger(this.getClass());
+
+	private static final int BULKHEADS_CACHE_SIZE = 10000;
+
+	@Value("${execution.pool.size}")
+	private int poolSize;
+
+	@Value("${execution.queue.capacity}")
+	private int queueCapacity;
+
+	@Value("${execution.rejected.retry.after.seconds}")
+	private int retryAfterSeconds;
+
+	@Value("${execution.bulkhead.enabled}")
+	private boolean bulkheadEnabled;
+
+	@Value("${execution.bulkhead.initial.limit}")
+	private int bulkheadInitialLimit;
+
+	@Value("${execution.bulkhead.max.limit}")
+	private int bulkheadMaxLimit;
+
+	@Value("${execution.priority.by.package.prefix}")
+	private String priorityByPackagePrefix;
+
+	@Value("${execution.timeout.millis}")
+	private long defaultTimeoutMillis;
+
+	@Value("${execution.timeout.millis.by.artifact}")
+	private String timeoutMillisByArtifact;
+
+	// by package prefix, longest first
+	private final Map<String, ExecutionPriority> priorities = Maps.newTreeMap(Comparator.comparing(String::length).reversed().thenComparing(Comparator.naturalOrder()));
+
+	// by artifact path prefix, longest first
+	private final Map<String, Long> timeouts = Maps.newTreeMap(Comparator.comparing(String::length).reversed().thenComparing(Comparator.naturalOrder()));
+
+	// the queue slots only critical executions may take, if any package prefix is critical
+	private int criticalQueueReserve;
+
+	// recently executed artifacts only, so unknown artifacts requested by clients do not accumulate
+	private final Cache<ArtifactKey, ArtifactBulkhead> bulkheads = CacheBuilder.newBuilder()
+																			  .maximumSize(BULKHEADS_CACHE_SIZE)
+																			  .expireAfterAccess(1, TimeUnit.HOURS)
+																			  .build();
+
+	private ThreadPoolExecutor executionPool;
+
+	// expires the deadlines and reports the executions running past them
+	private ScheduledThreadPoolExecutor deadlineScheduler;
+
+	// the executions with a deadline, from started until done
+	private final Set<RunningExecution> runningExecutions = ConcurrentHashMap.newKeySet();
+
+	private final LongAdder submitted = new LongAdder();
+	private final LongAdder started = new LongAdder();
+	private final LongAdder completed = new LongAdder();
+	private final LongAdder rejected = new LongAdder();
+	private final LongAdder throttled = new LongAdder();
+	private final LongAdder timedOut = new LongAdder();
+	private final LongAdder abandoned = new LongAdder();
+	private final LongAdder stuck = new LongAdder();
+	private final LongAdder totalQueueWaitNanos = new LongAdder();
+	private final LongAccumulator maxQueueWaitNanos = new LongAccumulator(Long::max, 0);
+
+	@PostConstruct
+	public void init() {
+		int threads = poolSize > 0 ? poolSize : Runtime.getRuntime().availableProcessors();
+		// no queue at all rather than an unbounded one
+		BlockingQueue<Runnable> queue = queueCapacity > 0 ? new ArrayBlockingQueue<>(queueCapacity) : new SynchronousQueue<>();
+		ClassLoader applicationClassLoader = getClass().getClassLoader();
+		AtomicInteger threadIndex = new AtomicInteger();
+		executionPool = new ThreadPoolExecutor(threads, threads, 0, TimeUnit.MILLISECONDS, queue, runnable -> {
+			Thread thread = new Thread(runnable, "execution-" + threadIndex.getAndIncrement());
+			thread.setContextClassLoader(applicationClassLoader);
+			return thread;
+		}, new ThreadPoolExecutor.AbortPolicy());
+
+		for (String entry : Splitter.on('|').trimResults().omitEmptyStrings().split(priorityByPackagePrefix)) {
+			List<String> prefixAndPriority = Splitter.on('=').trimResults().splitToList(entry);
+			try {
+				priorities.put(prefixAndPriority.get(0), ExecutionPriority.valueOf(prefixAndPriority.get(1).toUpperCase()));
+			} catch (RuntimeException e) {
+				throw new RuntimeException("Invalid execution priority \"" + entry + "\", expected <package prefix>=<" +
+												   Joiner.on('|').join(ExecutionPriority.values()).toLowerCase() + ">", e);
+			}
+		}
+		criticalQueueReserve = priorities.containsValue(ExecutionPriority.CRITICAL) ? queueCapacity / 10 : 0;
+
+		for (String entry : Splitter.on('|').trimResults().omitEmptyStrings().split(timeoutMillisByArtifact)) {
+			List<String> prefixAndTimeout = Splitter.on('=').trimResults().splitToList(entry);
+			try {
+				timeouts.put(prefixAndTimeout.get(0), Long.parseLong(prefixAndTimeout.get(1)));
+			} catch (RuntimeException e) {
+				throw new RuntimeException("Invalid execution timeout \"" + entry + "\", expected <artifact path prefix>=<millis>", e);
+			}
+		}
+
+		deadlineScheduler = new ScheduledThreadPoolExecutor(1, runnable -> {
+			Thread thread = new Thread(runnable, "execution-deadlines");
+			thread.setDaemon(true);
+			return thread;
+		});
+		// most deadlines are cancelled once their execution completes
+		deadlineScheduler.setRemoveOnCancelPolicy(true);
+		deadlineScheduler.scheduleWithFixedDelay(this::reportStuckExecutions, STUCK_CHECK_INTERVAL_MILLIS, STUCK_CHECK_INTERVAL_MILLIS, TimeUnit.MILLISECONDS);
+	}
+
+	@PreDestroy
+	public void stop() {
+		deadlineScheduler.shutdownNow();
+		executionPool.shutdownNow();
+	}
+
+	/***
+	 * Queues the given execution to the execution pool of "execution.pool.size" threads, rejecting it at once if
+	 * the queue is too full for the artifact's package prefix priority, or if "execution.bulkhead.enabled" and the
+	 * artifact's adaptive concurrency limit is reached
+	 * @param artifact The executed artifact
+	 * @param timeoutMillis The time the caller waits for the execution at most, 0 if only bound by the artifact's timeout
+	 * @param execution The execution
+	 * @return Completed with the execution result, or exceptionally with the exception the execution failed with, or
+	 * with "ExecutionTimeoutException" once the deadline expires
+	 * @throws ExecutionRejectedException If the execution queue is full or the artifact's concurrency limit is reached
+	 */
+	@Override
+	public <T> CompletableFuture<T> submit(ArtifactKey artifact, long timeoutMillis, Callable<T> execution) throws ExecutionRejectedException {
+		ExecutionPriority priority = getPriority(artifact);
+		assertQueueAdmits(priority);
+		if (!bulkheadEnabled) {
+			return execute(artifact, timeoutMillis, execution, null);
+		}
+		ArtifactBulkhead bulkhead;
+		try {
+			bulkhead = bulkheads.get(artifact, () -> new ArtifactBulkhead(artifact.toString(), priority, bulkheadInitialLimit, bulkheadMaxLimit));
+		} catch (ExecutionException e) {
+			throw new RuntimeException(e.getCause());
+		}
+		if (!bulkhead.tryAcquire()) {
+			throttled.increment();
+			throw new ExecutionRejectedException("Too many concurrent executions of " + artifact + " (limited to " +
+														 bulkhead.getStatistics().getLimit() + " by its latency), retry in " + retryAfterSeconds + " seconds", retryAfterSeconds);
+		}
+		return execute(artifact, timeoutMillis, execution, bulkhead);
+	}
+
+	@Override
+	public <T> CompletableFuture<T> submitBatch(ArtifactKey artifact, long timeoutMillis, Callable<T> execution) throws ExecutionRejectedException {
+		assertQueueAdmits(getPriority(artifact));
+		return execute(artifact, timeoutMillis, execution, null);
+	}
+
+	/***
+	 * Queues the given execution, and if it has a deadline, completes it with "ExecutionTimeoutException" once the
+	 * deadline expires: an execution still queued is then abandoned, and the thread of a running one is interrupted,
+	 * which abandons the remaining items of a batch, though the artifact itself runs to its end
+	 */
+	private <T> CompletableFuture<T> execute(ArtifactKey artifact, long requestTimeoutMillis, Callable<T> execution, ArtifactBulkhead bulkhead) {
+		CompletableFuture<T> result = new CompletableFuture<>();
+		long queuedAt = System.nanoTime();
+		long timeoutMillis = getTimeoutMillis(artifact, requestTimeoutMillis);
+		RunningExecution running = timeoutMillis > 0 ? new RunningExecution(artifact, timeoutMillis, queuedAt) : null;
+		try {
+			executionPool.execute(() -> {
+				long startedAt = System.nanoTime();
+				long queueWait = startedAt - queuedAt;
+				started.increment();
+				totalQueueWaitNanos.add(queueWait);
+				maxQueueWaitNanos.accumulate(queueWait);
+				if (running != null) {
+					// started before checking the deadline, so a deadline expiring meanwhile interrupts this thread
+					running.start();
+					if (result.isDone()) {
+						running.finish();
+						abandoned.increment();
+						if (bulkhead != null) {
+							bulkhead.cancel();
+						}
+						return;
+					}
+					runningExecutions.add(running);
+				}
+				try {
+					result.complete(execution.call());
+				} catch (Throwable e) {
+					// including errors, e.g: a class of a reloaded jar failing to link, which would otherwise never complete the call
+					result.completeExceptionally(e);
+				} finally {
+					if (running != null) {
+						runningExecutions.remove(running);
+						running.finish();
+					}
+					if (bulkhead != null) {
+						bulkhead.release(System.nanoTime() - startedAt);
+					}
+					completed.increment();
+				}
+			});
+		} catch (RejectedExecutionException e) {
+			if (bulkhead != null) {
+				bulkhead.cancel();
+			}
+			throw rejectQueueFull();
+		}
+		submitted.increment();
+		if (running != null) {
+			ScheduledFuture<?> deadline = deadlineScheduler.schedule(() -> {
+				if (result.completeExceptionally(new ExecutionTimeoutException("The execution of " + artifact + " did not complete within its timeout of " +
+																					   timeoutMillis + " ms", timeoutMillis))) {
+					timedOut.increment();
+					running.interrupt();
+				}
+			}, timeoutMillis, TimeUnit.MILLISECONDS);
+			result.whenComplete((value, error) -> deadline.cancel(false));
+		}
+		return result;
+	}
+
+	/***
+	 * @return The shorter of the given timeout of the request, and the timeout of the longest configured artifact path
+	 * prefix the artifact's path starts with, or of "execution.timeout.millis" if none, 0 if neither is set
+	 */
+	@Override
+	public long getTimeoutMillis(ArtifactKey artifact, long requestTimeoutMillis) {
+		long artifactTimeoutMillis = defaultTimeoutMillis;
+		String path = artifact.toString();
+		for (Map.Entry<String, Long> entry : timeouts.entrySet()) {
+			if (path.startsWith(entry.getKey())) {
+				artifactTimeoutMillis = entry.getValue();
+				break;
+			}
+		}
+		if (requestTimeoutMillis <= 0) {
+			return Math.max(artifactTimeoutMillis, 0);
+		}
+		return artifactTimeoutMillis > 0 ? Math.min(artifactTimeoutMillis, requestTimeoutMillis) : requestTimeoutMillis;
+	}
+
+	/***
+	 * Logs the stack of each execution pool thread still running an execution past its deadline, once per execution,
+	 * since such a thread is not available to the queued executions until the artifact returns
+	 */
+	private void reportStuckExecutions() {
+		long now = System.nanoTime();
+		for (RunningExecution running : runningExecutions) {
+			if (running.reportIfStuck(now, STUCK_GRACE_NANOS)) {
+				stuck.increment();
+				RuntimeException trace = new RuntimeException("Stack of thread " + running.getThreadName());
+				trace.setStackTrace(running.getStackTrace());
+				logger.warn("Thread " + running.getThreadName() + " is still executing " + running.getArtifact() + " after " +
+									running.getRunningMillis(now) + " ms, past its timeout of " + running.getTimeoutMillis() + " ms", trace);
+			}
+		}
+	}
+
+	/***
+	 * Rejects the execution if the queue is full, where sheddable executions are rejected once the queue is half
+	 * full, and normal executions leave the queue's last tenth to critical executions if any package prefix is critical
+	 */
+	private void assertQueueAdmits(ExecutionPriority priority) {
+		int admittedDepth;
+		switch (priority) {
+			case SHEDDABLE:
+				admittedDepth = queueCapacity / 2;
+				break;
+			case NORMAL:
+				admittedDepth = queueCapacity - criticalQueueReserve;
+				break;
+			default:
+				admittedDepth = queueCapacity;
+		}
+		if (queueCapacity > 0 && executionPool.getQueue().size() >= admittedDepth) {
+			throw rejectQueueFull();
+		}
+	}
+
+	private ExecutionRejectedException rejectQueueFull() {
+		rejected.increment();
+		return new ExecutionRejectedException("The execution pool is busy and " + executionPool.getQueue().size() + " executions are already waiting, " +
+													  "retry in " + retryAfterSeconds + " seconds", retryAfterSeconds);
+	}
+
+	/***
+	 * @return The priority of the longest configured package prefix the artifact's package prefix starts with
+	 */
+	private ExecutionPriority getPriority(ArtifactKey artifact) {
+		for (Map.Entry<String, ExecutionPriority> entry : priorities.entrySet()) {
+			if (artifact.getPackagePrefix().startsWith(entry.getKey())) {
+				return entry.getValue();
+			}
+		}
+		return ExecutionPriority.NORMAL;
+	}
+
+	@Override
+	public ExecutionDispatcherStatistics getStatistics() {
+		long executionsStarted = started.sum();
+		return new ExecutionDispatcherStatistics(executionPool.getMaximumPoolSize(),
+												 executionPool.getActiveCount(),
+												 executionPool.getQueue().size(),
+												 queueCapacity,
+												 submitted.sum(),
+												 completed.sum(),
+												 rejected.sum(),
+												 throttled.sum(),
+												 timedOut.sum(),
+												 abandoned.sum(),
+												 stuck.sum(),
+												 executionsStarted > 0 ? totalQueueWaitNanos.sum() / 1e6 / executionsStarted : 0,
+												 maxQueueWaitNanos.get() / 1e6);
+	}
+
+	@Override
+	public List<ArtifactBulkheadStatistics> getBulkheadStatistics() {
+		return bulkheads.asMap().values().stream()
+						.map(ArtifactBulkhead::getStatistics)
+						.sorted(Comparator.comparing(ArtifactBulkheadStatistics::getArtifact))
+						.collect(Collectors.toList());
+	}
+
+	@Override
+	public List<StuckExecutionStatistics> getStuckExecutions() {
+		long now = System.nanoTime();
+		return runningExecutions.stream()
+								.filter(running -> running.isPastDeadline(now))
+								.map(running -> running.getStatistics(now))
+								.sorted(Comparator.comparing(StuckExecutionStatistics::getRunningMillis).reversed())
+								.collect(Collectors.toList());
+	}
+}
@@ -0,0 +1,189 @@
+package com.sapiens.bdms.decisionexecutor.service.impl;
+
+import com.sapiens.bdms.decisionexecutor.service.face.ArtifactsJarLoaderService;
+import com.sapiens.bdms.decisionexecutor.service.face.ExecutionMetricsService;
+import com.sapiens.bdms.decisionexecutor.service.model.ArtifactKey;
+import com.sapiens.bdms.decisionexecutor.service.model.ArtifactsReloadStatistics;
+import com.sapiens.bdms.decisionexecutor.service.model.ExecutionPhase;
+import io.micrometer.core.instrument.FunctionTimer;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tag;
+import io.micrometer.core.instrument.TimeGauge;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.Resource;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+@Service
+public class PojoExecutionMetricsService implements ExecutionMetricsService {
+
+	private static final String PHASE_TIMER = "decision.executor.execution.phase";
+	private static final String PHASE_TIMER_DESCRIPTION = "The time of a phase of serving an execution call";
+	private static final String ERRORS_COUNTER = "decision.executor.errors";
+
+	// the artifact whose response is being written, as a web request attribute
+	private static final String REQUEST_ARTIFACT_ATTRIBUTE = PojoExecutionMetricsService.class.getName() + ".artifact";
+
+	// the tag of a flow's view, since every timer of the same name must have the same tag keys
+	private static final String NO_VIEW = "-";
+
+	@Value("${metrics.execution.phases.enabled}")
+	private boolean phasesEnabled;
+
+	@Value("${metrics.execution.phases.histogram}")
+	private boolean phasesHistogram;
+
+	@Resource
+	private MeterRegistry meterRegistry;
+
+	@Resource
+	private ArtifactsJarLoaderService pojoArtifactsJarLoaderService;
+
+	// the timers of each phase by the phase ordinal, per artifact executed so far, so no meter is looked up per call
+	private final ConcurrentMap<ArtifactKey, PhaseTimer[]> phaseTimers = new ConcurrentHashMap<>();
+
+	@PostConstruct
+	public void init() {
+		Gauge.builder("decision.executor.artifacts.jars", pojoArtifactsJarLoaderService, loader -> loader.getGenerationStatistics().getLoadedJars())
+			 .description("The number of jars of the current artifacts generation")
+			 .register(meterRegistry);
+		Gauge.builder("decision.executor.artifacts.class.loaders", pojoArtifactsJarLoaderService, loader -> loader.getGenerationStatistics().getOpenClassLoaders())
+			 .description("The number of jar class loaders not closed yet, of the current and the draining generations")
+			 .register(meterRegistry);
+		ArtifactsReloadStatistics reloads = pojoArtifactsJarLoaderService.getReloadStatistics();
+		FunctionTimer.builder("decision.executor.artifacts.reloads", reloads,
+							  ArtifactsReloadStatistics::getReloadsCount, ArtifactsReloadStatistics::getTotalReloadDurationMillis,
+							  TimeUnit.MILLISECONDS)
+					 .description("The artifacts jars (re)loads")
+					 .register(meterRegistry);
+		TimeGauge.builder("decision.executor.artifacts.reload.last.duration", reloads, TimeUnit.MILLISECONDS,
+						  ArtifactsReloadStatistics::getLastReloadDurationMillis)
+				 .register(meterRegistry);
+		TimeGauge.builder("decision.executor.artifacts.reload.max.duration", reloads, TimeUnit.MILLISECONDS,
+						  ArtifactsReloadStatistics::getMaxReloadDurationMillis)
+				 .register(meterRegistry);
+	}
+
+	@Override
+	public long startPhase() {
+		return phasesEnabled ? System.nanoTime() : 0;
+	}
+
+	@Override
+	public long endPhase(ArtifactKey artifact, ExecutionPhase phase, long startNanos) {
+		if (!phasesEnabled) {
+			return 0;
+		}
+		long end = System.nanoTime();
+		recordPhase(artifact, phase, end - startNanos);
+		return end;
+	}
+
+	@Override
+	public void recordPhase(ArtifactKey artifact, ExecutionPhase phase, long durationNanos) {
+		if (phasesEnabled) {
+			getPhaseTimers(artifact)[phase.ordinal()].record(durationNanos);
+		}
+	}
+
+	@Override
+	public void setRequestArtifact(ArtifactKey artifact) {
+		RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+		if (phasesEnabled && attributes != null) {
+			attributes.setAttribute(REQUEST_ARTIFACT_ATTRIBUTE, artifact, RequestAttributes.SCOPE_REQUEST);
+		}
+	}
+
+	@Override
+	public void endSerialization(long startNanos) {
+		RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+		if (!phasesEnabled || attributes == null) {
+			return;
+		}
+		ArtifactKey artifact = (ArtifactKey) attributes.getAttribute(REQUEST_ARTIFACT_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+		// an artifact never executed may not exist, and is not given timers by the requests for it
+		PhaseTimer[] timers = artifact == null ? null : phaseTimers.get(artifact);
+		if (timers != null) {
+			timers[ExecutionPhase.SERIALIZATION.ordinal()].record(System.nanoTime() - startNanos);
+		}
+	}
+
+	@Override
+	public void recordError(Throwable error) {
+		meterRegistry.counter(ERRORS_COUNTER, "exception", error.getClass().getSimpleName()).increment();
+	}
+
+	private PhaseTimer[] getPhaseTimers(ArtifactKey artifact) {
+		PhaseTimer[] timers = phaseTimers.get(artifact);
+		return timers != null ? timers : phaseTimers.computeIfAbsent(artifact, this::registerPhaseTimers);
+	}
+
+	private PhaseTimer[] registerPhaseTimers(ArtifactKey artifact) {
+		ExecutionPhase[] phases = ExecutionPhase.values();
+		PhaseTimer[] timers = new PhaseTimer[phases.length];
+		for (ExecutionPhase phase : phases) {
+			List<Tag> tags = Arrays.asList(Tag.of("phase", phase.getTag()),
+										   Tag.of("type", String.valueOf(artifact.getType())),
+										   Tag.of("prefix", artifact.getPackagePrefix()),
+										   Tag.of("name", artifact.getName()),
+										   Tag.of("view", artifact.getView() == null ? NO_VIEW : artifact.getView()),
+										   Tag.of("version", artifact.getVersion()));
+			PhaseTimer timer = new PhaseTimer(!phasesHistogram ? null : Timer.builder(PHASE_TIMER)
+																			 .description(PHASE_TIMER_DESCRIPTION)
+																			 .tags(tags)
+																			 .publishPercentileHistogram()
+																			 .register(meterRegistry));
+			if (!phasesHistogram) {
+				FunctionTimer.builder(PHASE_TIMER, timer, PhaseTimer::getCount, PhaseTimer::getTotalNanos, TimeUnit.NANOSECONDS)
+							 .description(PHASE_TIMER_DESCRIPTION)
+							 .tags(tags)
+							 .register(meterRegistry);
+			}
+			timers[phase.ordinal()] = timer;
+		}
+		return timers;
+	}
+
+	/***
+	 * The count and total time of a phase, accumulated without contention and read once scraped, since a Micrometer
+	 * timer records to several rotating histograms per call. A Micrometer timer is recorded instead if the percentile
+	 * histogram is exported.
+	 */
+	private static class PhaseTimer {
+		private final LongAdder count = new LongAdder();
+		private final LongAdder totalNanos = new LongAdder();
+		private final Timer histogramTimer;
+
+		PhaseTimer(Timer histogramTimer) {
+			this.histogramTimer = histogramTimer;
+		}
+
+		void record(long durationNanos) {
+			if (histogramTimer != null) {
+				histogramTimer.record(durationNanos, TimeUnit.NANOSECONDS);
+			} else {
+				count.increment();
+				totalNanos.add(durationNanos);
+			}
+		}
+
+		long getCount() {
+			return count.sum();
+		}
+
+		double getTotalNanos() {
+			return totalNanos.sum();
+		}
+	}
+}
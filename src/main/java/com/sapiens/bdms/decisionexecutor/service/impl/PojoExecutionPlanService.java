@@ -0,0 +1,318 @@
+package com.sapiens.bdms.decisionexecutor.service.impl;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.collect.Lists;
+import com.google.common.collect.Sets;
+import com.sapiens.bdms.decisionexecutor.exception.ArtifactNotFoundException;
+import com.sapiens.bdms.decisionexecutor.service.face.ArtifactsReloadListener;
+import com.sapiens.bdms.decisionexecutor.service.face.ExecutionMetricsService;
+import com.sapiens.bdms.decisionexecutor.service.face.ExecutionPlanService;
+import com.sapiens.bdms.decisionexecutor.service.face.FactValueConverterService;
+import com.sapiens.bdms.decisionexecutor.service.model.ArtifactKey;
+import com.sapiens.bdms.decisionexecutor.service.model.ArtifactsGeneration;
+import com.sapiens.bdms.decisionexecutor.service.model.ExecutionPlan;
+import com.sapiens.bdms.decisionexecutor.service.model.ExecutionPhase;
+import com.sapiens.bdms.decisionexecutor.service.model.ExecutionPlanCacheStatistics;
+import com.sapiens.bdms.decisionexecutor.service.model.FactSchema;
+import com.sapiens.bdms.java.exe.helper.base.Decision;
+import com.sapiens.bdms.java.exe.helper.base.Executable;
+import com.sapiens.bdms.java.exe.helper.base.Flow;
+import com.sapiens.bdms.java.exe.helper.base.Group;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.Resource;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Modifier;
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+@Service
+public class PojoExecutionPlanService implements ExecutionPlanService, ArtifactsReloadListener {
+
+	@Value("${format.view.placeholder}")
+	private String formatViewPlaceholder;
+
+	@Value("${format.version.placeholder}")
+	private String formatVersionPlaceholder;
+
+	@Value("${format.prefix.placeholder}")
+	private String formatPrefixPlaceholder;
+
+	@Value("${version.dot.replacement}")
+	private String versionDotReplacement;
+
+	@Value("${decision.classpath.format}")
+	private String decisionClasspathFormat;
+
+	@Value("${flow.classpath.format}")
+	private String flowClasspathFormat;
+
+	@Value("${artifacts.jar.location}")
+	private String defaultArtifactsJarLocation;
+
+	@Value("${execution.plan.cache.size}")
+	private long planCacheSize;
+
+	@Value("${execution.instance.pool.enabled}")
+	private boolean instancePoolEnabled;
+
+	@Value("${execution.instance.pool.size}")
+	private int instancePoolSize;
+
+	@Resource
+	private FactValueConverterService pojoFactValueConverterService;
+
+	@Resource
+	private ExecutionMetricsService pojoExecutionMetricsService;
+
+	private Cache<ArtifactKey, ExecutionPlan> plans;
+
+	// match the class names the classpath formats resolve to, capturing the request parameters
+	private Pattern decisionClassNamePattern;
+	private Pattern flowClassNamePattern;
+
+	// counted here rather than by the cache, since a cached plan of a reloaded jar is a miss
+	private final LongAdder hits = new LongAdder();
+	private final LongAdder misses = new LongAdder();
+
+	@PostConstruct
+	public void init() {
+		plans = CacheBuilder.newBuilder().maximumSize(planCacheSize).recordStats().build();
+		decisionClassNamePattern = toClassNamePattern(decisionClasspathFormat);
+		flowClassNamePattern = toClassNamePattern(flowClasspathFormat);
+	}
+
+	@Override
+	public ExecutionPlan getDecisionPlan(ArtifactsGeneration generation,
+										 String packagePrefix,
+										 String conclusionName,
+										 String view,
+										 String version) throws ClassNotFoundException {
+		ArtifactKey key = ArtifactKey.decision(packagePrefix, conclusionName, view, version);
+		ExecutionPlan plan = getCachedPlan(key, generation);
+		if (plan != null) {
+			return plan;
+		}
+		long start = pojoExecutionMetricsService.startPhase();
+		String decisionClasspath = resolveDecisionClasspath(packagePrefix, conclusionName, view, version);
+		long resolved = pojoExecutionMetricsService.startPhase();
+		Class clazz;
+		try {
+			clazz = generation.getArtifactClass(decisionClasspath);
+		} catch (ClassNotFoundException e) {
+			throw new ArtifactNotFoundException(key, defaultArtifactsJarLocation);
+		}
+		recordLookup(key, start, resolved);
+		return cachePlan(key, decisionClasspath, clazz, generation);
+	}
+
+	@Override
+	public ExecutionPlan getFlowPlan(ArtifactsGeneration generation,
+									 String packagePrefix,
+									 String flowName,
+									 String version) throws ClassNotFoundException {
+		ArtifactKey key = ArtifactKey.flow(packagePrefix, flowName, version);
+		ExecutionPlan plan = getCachedPlan(key, generation);
+		if (plan != null) {
+			return plan;
+		}
+		long start = pojoExecutionMetricsService.startPhase();
+		String flowClasspath = resolveFlowClasspath(packagePrefix, flowName, version);
+		long resolved = pojoExecutionMetricsService.startPhase();
+		Class clazz;
+		try {
+			clazz = generation.getArtifactClass(flowClasspath);
+		} catch (ClassNotFoundException e) {
+			throw new ArtifactNotFoundException(key, defaultArtifactsJarLocation);
+		}
+		recordLookup(key, start, resolved);
+		return cachePlan(key, flowClasspath, clazz, generation);
+	}
+
+	/***
+	 * Matches the name of given class to the classpath format of its type, and verifies the matched request parameters
+	 * resolve back to the same class name
+	 */
+	@Override
+	public ArtifactKey resolveArtifactKey(Class artifactClass) {
+		if (Modifier.isAbstract(artifactClass.getModifiers())) {
+			return null;
+		}
+		String className = artifactClass.getName();
+		if (Decision.class.isAssignableFrom(artifactClass)) {
+			Matcher matcher = decisionClassNamePattern.matcher(className);
+			if (!matcher.matches()) {
+				return null;
+			}
+			String prefix = group(matcher, "prefix");
+			String view = group(matcher, "view");
+			String version = toVersion(group(matcher, "version"));
+			if (prefix == null || view == null || version == null) {
+				// not part of the class name, hence unknown
+				return null;
+			}
+			ArtifactKey key = ArtifactKey.decision(prefix, matcher.group("name"), view, version);
+			return className.equals(resolveDecisionClasspath(key.getPackagePrefix(), key.getName(), key.getView(), key.getVersion())) ? key : null;
+		}
+		if (Flow.class.isAssignableFrom(artifactClass)) {
+			Matcher matcher = flowClassNamePattern.matcher(className);
+			if (!matcher.matches()) {
+				return null;
+			}
+			String prefix = group(matcher, "prefix");
+			String version = toVersion(group(matcher, "version"));
+			if (prefix == null || version == null) {
+				return null;
+			}
+			ArtifactKey key = ArtifactKey.flow(prefix, matcher.group("name"), version);
+			return className.equals(resolveFlowClasspath(key.getPackagePrefix(), key.getName(), key.getVersion())) ? key : null;
+		}
+		return null;
+	}
+
+	@Override
+	public ExecutionPlanCacheStatistics getStatistics() {
+		return new ExecutionPlanCacheStatistics(plans.size(), hits.sum(), misses.sum(), plans.stats().evictionCount(), plans.asMap().values());
+	}
+
+	/***
+	 * Drops the plans resolved from the reloaded or unloaded jars, so their class loaders are not kept reachable
+	 */
+	@Override
+	public void onArtifactJarsReloaded(Set<String> changedJarPaths) {
+		plans.asMap().values().removeIf(plan -> changedJarPaths.contains(plan.getJar().getJarPath()));
+	}
+
+	/***
+	 * @return The cached plan of given key, or null if not cached or the given generation no longer loads the
+	 * plan's class from the jar it was resolved from
+	 */
+	private ExecutionPlan getCachedPlan(ArtifactKey key, ArtifactsGeneration generation) {
+		ExecutionPlan plan = plans.getIfPresent(key);
+		if (plan != null && plan.isValidFor(generation)) {
+			hits.increment();
+			return plan;
+		}
+		misses.increment();
+		return null;
+	}
+
+	/***
+	 * Records the classpath resolution and the class lookup of an artifact whose class was found, so the requests of
+	 * artifacts not found do not add timers
+	 * @param start The time the classpath resolution started
+	 * @param resolved The time the class lookup started
+	 */
+	private void recordLookup(ArtifactKey key, long start, long resolved) {
+		pojoExecutionMetricsService.recordPhase(key, ExecutionPhase.CLASSPATH_RESOLUTION, resolved - start);
+		pojoExecutionMetricsService.endPhase(key, ExecutionPhase.CLASS_LOOKUP, resolved);
+	}
+
+	/***
+	 * Resolves the constructor and the fact schema of given artifact class once, by constructing a single instance of it,
+	 * which is then the first pooled instance if pooled
+	 */
+	private ExecutionPlan cachePlan(ArtifactKey key, String className, Class clazz, ArtifactsGeneration generation) {
+		MethodHandle constructor;
+		Group prototype;
+		try {
+			constructor = MethodHandles.publicLookup().findConstructor(clazz, MethodType.methodType(void.class));
+			prototype = (Group) constructor.invoke();
+		} catch (Throwable e) {
+			throw new RuntimeException("Failed to instantiate artifact class \"" + className + "\": " + e.getMessage(), e);
+		}
+		FactSchema factSchema = FactSchema.build(clazz, prototype.getFactTypesRecursively().values().iterator().next().keySet(),
+												 pojoFactValueConverterService);
+		ExecutionPlan plan = new ExecutionPlan(key, className, generation.getArtifactJar(className), clazz, constructor,
+											   ((Executable) prototype).getName(), factSchema,
+											   instancePoolEnabled ? instancePoolSize : 0, prototype);
+		// a plan resolved from an already replaced generation is still valid for the requests pinning that generation
+		if (plan.isValidFor(generation)) {
+			plans.put(key, plan);
+		}
+		return plan;
+	}
+
+	/***
+	 * Builds the expected Decision full classpath by replacing given parameters into the classpath format
+	 * @param packagePrefix
+	 * @param conclusionName
+	 * @param view
+	 * @param version
+	 * @return Expected Decision classpath within the Jar
+	 */
+	private String resolveDecisionClasspath(String packagePrefix, String conclusionName, String view, String version) {
+		String versionNormalized = version.replace(".", versionDotReplacement);
+		return decisionClasspathFormat.replace(formatViewPlaceholder, view)
+									  .replace(formatPrefixPlaceholder, packagePrefix)
+									  .replace(formatVersionPlaceholder, versionNormalized) + "." + conclusionName;
+	}
+
+	/***
+	 * Builds the expected Flow full classpath by replacing given parameters into the classpath format
+	 * @param packagePrefix
+	 * @param flowName
+	 * @param version
+	 * @return Expected Flow classpath within the Jar
+	 */
+	private String resolveFlowClasspath(String packagePrefix, String flowName, String version) {
+		String versionNormalized = version.replace(".", versionDotReplacement);
+		return flowClasspathFormat.replace(formatPrefixPlaceholder, packagePrefix)
+								  .replace(formatVersionPlaceholder, versionNormalized) + "." + flowName;
+	}
+
+	/***
+	 * Builds the pattern of the class names given classpath format resolves to, where each of its placeholders
+	 * captures the parameter it is replaced with, e.g: "$PREFIX$.flows.dmm$VER$" matches "com.sapiens.flows.dmm1_0.Pricing"
+	 * with "com.sapiens" as the prefix, "1_0" as the version and "Pricing" as the name
+	 */
+	private Pattern toClassNamePattern(String classpathFormat) {
+		List<String> placeholders = Lists.newArrayList(formatPrefixPlaceholder, formatViewPlaceholder, formatVersionPlaceholder);
+		List<String> groups = Lists.newArrayList("prefix", "view", "version");
+		Matcher matcher = Pattern.compile(Pattern.quote(formatPrefixPlaceholder) + "|" +
+												  Pattern.quote(formatViewPlaceholder) + "|" +
+												  Pattern.quote(formatVersionPlaceholder)).matcher(classpathFormat);
+		Set<String> capturedGroups = Sets.newHashSet();
+		StringBuilder regex = new StringBuilder();
+		int end = 0;
+		while (matcher.find()) {
+			regex.append(Pattern.quote(classpathFormat.substring(end, matcher.start())));
+			String group = groups.get(placeholders.indexOf(matcher.group()));
+			// a placeholder repeated in the format is replaced with the same parameter
+			regex.append(capturedGroups.add(group) ? "(?<" + group + ">" + (group.equals("prefix") ? ".+" : "[^.]+") + ")" : "\\k<" + group + ">");
+			end = matcher.end();
+		}
+		regex.append(Pattern.quote(classpathFormat.substring(end))).append("\\.(?<name>[^.]+)");
+		return Pattern.compile(regex.toString());
+	}
+
+	/***
+	 * @return The parameter captured by given group, or null if its placeholder is not part of the classpath format
+	 */
+	private static String group(Matcher matcher, String group) {
+		try {
+			return matcher.group(group);
+		} catch (IllegalArgumentException e) {
+			return null;
+		}
+	}
+
+	/***
+	 * @return The version of given normalized version, as the version dot replacement is reverted
+	 */
+	private String toVersion(String versionNormalized) {
+		if (versionNormalized == null || versionDotReplacement.isEmpty()) {
+			return versionNormalized;
+		}
+		return versionNormalized.replace(versionDotReplacement, ".");
+	}
+}
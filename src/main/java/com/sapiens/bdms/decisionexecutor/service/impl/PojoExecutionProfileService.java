@@ -0,0 +1,63 @@
+package com.sapiens.bdms.decisionexecutor.service.impl;
+
+import com.google.common.base.Splitter;
+import com.google.common.collect.Maps;
+import com.sapiens.bdms.decisionexecutor.service.face.ExecutionProfileService;
+import com.sapiens.bdms.decisionexecutor.service.model.ArtifactKey;
+import com.sapiens.bdms.decisionexecutor.service.model.ExecutionProfile;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import javax.annotation.PostConstruct;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+
+@Service
+public class PojoExecutionProfileService implements ExecutionProfileService {
+
+	@Value("${execution.profile}")
+	private String defaultProfileName;
+
+	@Value("${execution.profile.by.artifact}")
+	private String profileByArtifact;
+
+	private ExecutionProfile defaultProfile;
+
+	// by artifact path prefix, longest first
+	private final Map<String, ExecutionProfile> profiles = Maps.newTreeMap(Comparator.comparing(String::length).reversed().thenComparing(Comparator.naturalOrder()));
+
+	@PostConstruct
+	public void init() {
+		defaultProfile = ExecutionProfile.parse(defaultProfileName);
+		for (String entry : Splitter.on('|').trimResults().omitEmptyStrings().split(profileByArtifact)) {
+			List<String> prefixAndProfile = Splitter.on('=').trimResults().splitToList(entry);
+			try {
+				profiles.put(prefixAndProfile.get(0), ExecutionProfile.parse(prefixAndProfile.get(1)));
+			} catch (RuntimeException e) {
+				throw new RuntimeException("Invalid execution profile \"" + entry + "\", expected <artifact path prefix>=<full or lean>", e);
+			}
+		}
+	}
+
+	/***
+	 * @return The requested profile if any, otherwise the profile of the longest configured artifact path prefix the
+	 * artifact's path starts with, or "execution.profile" if none
+	 */
+	@Override
+	public ExecutionProfile resolve(ArtifactKey artifact, String requestedProfile) {
+		if (requestedProfile != null && !requestedProfile.trim().isEmpty()) {
+			return ExecutionProfile.parse(requestedProfile);
+		}
+		if (profiles.isEmpty()) {
+			return defaultProfile;
+		}
+		String path = artifact.toString();
+		for (Map.Entry<String, ExecutionProfile> entry : profiles.entrySet()) {
+			if (path.startsWith(entry.getKey())) {
+				return entry.getValue();
+			}
+		}
+		return defaultProfile;
+	}
+}
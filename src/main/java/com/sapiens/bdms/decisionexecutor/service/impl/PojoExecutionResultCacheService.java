@@ -0,0 +1,208 @@
+package com.sapiens.bdms.decisionexecutor.service.impl;
+
+import com.google.common.base.Splitter;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.RemovalListener;
+import com.google.common.collect.Lists;
+import com.sapiens.bdms.decisionexecutor.service.face.ArtifactsReloadListener;
+import com.sapiens.bdms.decisionexecutor.service.face.ExecutionResultCacheService;
+import com.sapiens.bdms.decisionexecutor.service.model.ArtifactsGeneration;
+import com.sapiens.bdms.decisionexecutor.service.model.DecisionResult;
+import com.sapiens.bdms.decisionexecutor.service.model.ExecutionPlan;
+import com.sapiens.bdms.decisionexecutor.service.model.ExecutionProfile;
+import com.sapiens.bdms.decisionexecutor.service.model.ExecutionResultCacheStatistics;
+import com.sapiens.bdms.decisionexecutor.service.model.ExecutionResultKey;
+import com.sapiens.bdms.java.exe.helper.base.FactType;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import javax.annotation.PostConstruct;
+import java.util.Collection;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+@Service
+public class PojoExecutionResultCacheService implements ExecutionResultCacheService, ArtifactsReloadListener {
+
+	// rough sizes of the JVM objects making up the cached inputs and results, for the memory footprint estimate
+	private static final int OBJECT_BYTES = 16;
+	private static final int REFERENCE_BYTES = 8;
+	private static final int MAP_ENTRY_BYTES = 32;
+	private static final int BOXED_VALUE_BYTES = 24;
+	private static final int UNKNOWN_VALUE_BYTES = 64;
+
+	// values nested deeper than this are estimated as unknown values
+	private static final int MAX_ESTIMATED_DEPTH = 8;
+
+	@Value("${execution.result.cache.enabled}")
+	private boolean enabled;
+
+	@Value("${execution.result.cache.max.megabytes}")
+	private long maxMegabytes;
+
+	@Value("${execution.result.cache.ttl.seconds}")
+	private long ttlSeconds;
+
+	@Value("${execution.result.cache.excluded.artifacts}")
+	private String excludedArtifacts;
+
+	// artifact path prefixes whose results are not cached
+	private final List<String> excludedArtifactPrefixes = Lists.newArrayList();
+
+	private Cache<ExecutionResultKey, CachedResult> results;
+
+	private final LongAdder estimatedBytes = new LongAdder();
+	private final LongAdder invalidations = new LongAdder();
+
+	@PostConstruct
+	public void init() {
+		excludedArtifactPrefixes.addAll(Splitter.on('|').trimResults().omitEmptyStrings().splitToList(excludedArtifacts));
+		CacheBuilder<ExecutionResultKey, CachedResult> builder = CacheBuilder.newBuilder()
+																			 .maximumWeight(getMaxBytes())
+																			 .weigher((ExecutionResultKey key, CachedResult value) -> value.weight)
+																			 .recordStats();
+		if (ttlSeconds > 0) {
+			builder.expireAfterWrite(ttlSeconds, TimeUnit.SECONDS);
+		}
+		results = builder.removalListener((RemovalListener<ExecutionResultKey, CachedResult>) removal ->
+				estimatedBytes.add(-removal.getValue().weight)).build();
+	}
+
+	@Override
+	public ExecutionResultKey getKey(ExecutionPlan plan, ExecutionProfile profile, Map<String, Object> parsedInputs) {
+		if (!enabled || isExcluded(plan)) {
+			return null;
+		}
+		return new ExecutionResultKey(plan.getKey(), plan.getJar(), profile, parsedInputs);
+	}
+
+	@Override
+	public Object get(ExecutionResultKey key) {
+		CachedResult cached = results.getIfPresent(key);
+		return cached == null ? null : cached.result;
+	}
+
+	/***
+	 * Caches the given result unless the given generation was replaced meanwhile, since its jars may have been
+	 * reloaded, and the results of the reloaded jars are never returned anyway. A generation is retired before the
+	 * reloaded jars' results are dropped, so a result put once these were dropped sees its generation retired
+	 * afterwards and is removed.
+	 */
+	@Override
+	public void put(ArtifactsGeneration generation, ExecutionResultKey key, Object result) {
+		if (generation.isRetired()) {
+			return;
+		}
+		int weight = (int) Math.min(Integer.MAX_VALUE, estimateBytes(key.getInputs(), 0) + estimateBytes(result, 0));
+		estimatedBytes.add(weight);
+		CachedResult cached = new CachedResult(result, weight);
+		results.put(key, cached);
+		if (generation.isRetired()) {
+			// retired meanwhile, possibly after its reloaded jars' results were dropped
+			results.asMap().remove(key, cached);
+		}
+	}
+
+	/***
+	 * Drops the results of the reloaded or unloaded jars, so their class loaders are not kept reachable
+	 */
+	@Override
+	public void onArtifactJarsReloaded(Set<String> changedJarPaths) {
+		results.asMap().keySet().removeIf(key -> {
+			if (changedJarPaths.contains(key.getJar().getJarPath())) {
+				invalidations.increment();
+				return true;
+			}
+			return false;
+		});
+	}
+
+	@Override
+	public ExecutionResultCacheStatistics getStatistics() {
+		return new ExecutionResultCacheStatistics(enabled,
+												  results.size(),
+												  results.stats().hitCount(),
+												  results.stats().missCount(),
+												  results.stats().evictionCount(),
+												  invalidations.sum(),
+												  estimatedBytes.sum(),
+												  getMaxBytes());
+	}
+
+	private boolean isExcluded(ExecutionPlan plan) {
+		if (excludedArtifactPrefixes.isEmpty()) {
+			return false;
+		}
+		String path = plan.getKey().toString();
+		for (String prefix : excludedArtifactPrefixes) {
+			if (path.startsWith(prefix)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private long getMaxBytes() {
+		return maxMegabytes * 1024 * 1024;
+	}
+
+	/***
+	 * @return The approximate memory held by the given input or result value, by its strings, numbers, dates, maps,
+	 * collections, decision results and fact types, where any other object is counted as a small fixed size
+	 */
+	private static long estimateBytes(Object value, int depth) {
+		if (value == null) {
+			return 0;
+		}
+		if (value instanceof String) {
+			return OBJECT_BYTES + BOXED_VALUE_BYTES + 2L * ((String) value).length();
+		}
+		if (value instanceof Number || value instanceof Boolean || value instanceof Date || value instanceof Character) {
+			return BOXED_VALUE_BYTES;
+		}
+		if (depth >= MAX_ESTIMATED_DEPTH) {
+			return UNKNOWN_VALUE_BYTES;
+		}
+		if (value instanceof Map) {
+			long bytes = OBJECT_BYTES * 3;
+			for (Map.Entry<?, ?> entry : ((Map<?, ?>) value).entrySet()) {
+				bytes += MAP_ENTRY_BYTES + estimateBytes(entry.getKey(), depth + 1) + estimateBytes(entry.getValue(), depth + 1);
+			}
+			return bytes;
+		}
+		if (value instanceof Collection) {
+			long bytes = OBJECT_BYTES * 2;
+			for (Object member : (Collection<?>) value) {
+				bytes += REFERENCE_BYTES + estimateBytes(member, depth + 1);
+			}
+			return bytes;
+		}
+		if (value instanceof DecisionResult) {
+			DecisionResult result = (DecisionResult) value;
+			return OBJECT_BYTES + estimateBytes(result.getConclusion(), depth + 1) + estimateBytes(result.getMessages(), depth + 1);
+		}
+		if (value instanceof FactType) {
+			FactType factType = (FactType) value;
+			return OBJECT_BYTES * 2 + estimateBytes(factType.getValue(), depth + 1) + estimateBytes(factType.getRowHits(), depth + 1);
+		}
+		return UNKNOWN_VALUE_BYTES;
+	}
+
+	/***
+	 * A cached result with its estimated memory footprint, including its key's inputs
+	 */
+	private static class CachedResult {
+		private final Object result;
+		private final int weight;
+
+		private CachedResult(Object result, int weight) {
+			this.result = result;
+			this.weight = weight;
+		}
+	}
+}
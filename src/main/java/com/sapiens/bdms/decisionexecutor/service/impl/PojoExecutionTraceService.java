@@ -0,0 +1,172 @@
+package com.sapiens.bdms.decisionexecutor.service.impl;
+
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.sapiens.bdms.decisionexecutor.service.face.ExecutionTraceService;
+import com.sapiens.bdms.decisionexecutor.service.model.ArtifactKey;
+import com.sapiens.bdms.decisionexecutor.service.model.ExecutionProfile;
+import com.sapiens.bdms.decisionexecutor.service.model.ExecutionTrace;
+import com.sapiens.bdms.decisionexecutor.service.model.ExecutionTraceBuffer;
+import com.sapiens.bdms.decisionexecutor.service.model.ExecutionTraceStatistics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.stereotype.Service;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import javax.annotation.Resource;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+@Service
+public class PojoExecutionTraceService implements ExecutionTraceService {
+
+	private final Logger logger = LoggerFactory.getLogger(this.getClass());
+
+	// the traces are written as JSON lines to this logger, see log4j.xml
+	private final Logger traceLogger = LoggerFactory.getLogger("execution.trace");
+
+	@Value("${execution.trace.sample.rate}")
+	private double sampleRate;
+
+	@Value("${execution.trace.buffer.size}")
+	private int bufferSize;
+
+	@Value("${execution.trace.retained}")
+	private long retainedTraces;
+
+	@Resource
+	private MappingJackson2HttpMessageConverter mappingJackson2HttpMessageConverter;
+
+	private ExecutionTraceBuffer buffer;
+
+	// the written traces by request ID
+	private Cache<String, ExecutionTrace> retained;
+
+	private ObjectWriter traceWriter;
+
+	// started by the first trace, so no thread is kept while no call is traced
+	private volatile Thread writerThread;
+
+	private volatile boolean running = true;
+
+	// set by the writer thread before parking once no trace is pending, so the publishing threads unpark it
+	private volatile boolean writerIdle;
+
+	private final LongAdder traced = new LongAdder();
+	private final LongAdder written = new LongAdder();
+
+	@PostConstruct
+	public void init() {
+		buffer = new ExecutionTraceBuffer(bufferSize);
+		retained = CacheBuilder.newBuilder().maximumSize(retainedTraces).build();
+		// same as the web responses, so the flow fact types are written without their artifact instance
+		traceWriter = mappingJackson2HttpMessageConverter.getObjectMapper().writer();
+	}
+
+	@PreDestroy
+	public void stop() throws InterruptedException {
+		running = false;
+		Thread thread = writerThread;
+		if (thread != null) {
+			LockSupport.unpark(thread);
+			thread.join(TimeUnit.SECONDS.toMillis(5));
+		}
+	}
+
+	@Override
+	public ExecutionTrace start(ArtifactKey artifact, ExecutionProfile profile, Map<String, Object> inputs, String requestId, boolean requested) {
+		if (!requested && (sampleRate <= 0 || ThreadLocalRandom.current().nextDouble() >= sampleRate)) {
+			return null;
+		}
+		traced.increment();
+		return new ExecutionTrace(requestId != null ? requestId : UUID.randomUUID().toString(), artifact, profile, inputs);
+	}
+
+	@Override
+	public <T> T execute(ExecutionTrace trace, Callable<T> execution) throws Exception {
+		if (trace == null) {
+			return execution.call();
+		}
+		long startNanos = System.nanoTime();
+		T result = null;
+		Exception error = null;
+		try {
+			result = execution.call();
+			return result;
+		} catch (Exception e) {
+			error = e;
+			throw e;
+		} finally {
+			trace.finish(startNanos, result, error);
+			Thread thread = writerThread != null ? writerThread : startWriterThread();
+			if (buffer.publish(trace) && writerIdle) {
+				LockSupport.unpark(thread);
+			}
+		}
+	}
+
+	@Override
+	public ExecutionTrace getTrace(String requestId) {
+		return retained.getIfPresent(requestId);
+	}
+
+	@Override
+	public ExecutionTraceStatistics getStatistics() {
+		return new ExecutionTraceStatistics(sampleRate, traced.sum(), written.sum(), buffer.getDropped(),
+											buffer.getPending(), buffer.getCapacity(), retained.size());
+	}
+
+	private synchronized Thread startWriterThread() {
+		if (writerThread == null && running) {
+			Thread thread = new Thread(this::writeTraces, "execution-trace-writer");
+			thread.setDaemon(true);
+			thread.start();
+			writerThread = thread;
+		}
+		return writerThread;
+	}
+
+	/***
+	 * Takes the published traces in order and writes each to the trace log, keeping it to be retrieved by its
+	 * request ID, until stopped and no trace is pending. Parks while no trace is pending, until unparked by the
+	 * thread publishing the next one.
+	 */
+	private void writeTraces() {
+		while (true) {
+			ExecutionTrace trace = buffer.take();
+			if (trace == null) {
+				if (!running && buffer.getPending() == 0) {
+					return;
+				}
+				writerIdle = true;
+				// taken again once idle, so a trace published before the publishing thread saw it idle is not missed
+				trace = buffer.take();
+				if (trace == null && running) {
+					LockSupport.park(this);
+				}
+				writerIdle = false;
+				if (trace == null) {
+					continue;
+				}
+			}
+			try {
+				if (traceLogger.isInfoEnabled()) {
+					traceLogger.info(traceWriter.writeValueAsString(trace));
+				}
+			} catch (Exception e) {
+				logger.warn("Failed to write the execution trace of request " + trace.getRequestId() + ": " + e.getMessage(), e);
+			}
+			retained.put(trace.getRequestId(), trace);
+			written.increment();
+		}
+	}
+}
@@ -0,0 +1,244 @@
+package com.sapiens.bdms.decisionexecutor.service.impl;
+
+import com.google.common.base.Splitter;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.Lists;
+import com.sapiens.bdms.decisionexecutor.service.face.FactValueConverterService;
+import com.sapiens.bdms.decisionexecutor.service.model.FactValueConverter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import javax.annotation.PostConstruct;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.text.ParseException;
+import java.text.SimpleDateFormat;
+import java.time.DateTimeException;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.time.format.ResolverStyle;
+import java.time.temporal.TemporalAccessor;
+import java.time.temporal.TemporalQueries;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Date;
+import java.util.List;
+
+@Service
+public class PojoFactValueConverterService implements FactValueConverterService {
+
+	@Value("${date.fact.input.value.datetime.format}")
+	private String datetimeFormat;
+
+	@Value("${date.fact.input.value.datetime.additional.formats}")
+	private String additionalDatetimeFormats;
+
+	// immutable, hence shared by all the conversions
+	private List<DateTimeFormatter> datetimeFormatters;
+
+	private List<String> datetimeFormats;
+
+	// false if the main format is of java.time pattern letters only, hence has no SimpleDateFormat fallback
+	private boolean legacyDatetimeFormatSupported;
+
+	// date values without a time zone are of the default time zone, same as parsed by SimpleDateFormat
+	private ZoneId defaultZone;
+
+	@PostConstruct
+	public void init() {
+		datetimeFormats = ImmutableList.<String>builder()
+				.add(datetimeFormat)
+				.addAll(Splitter.on('|').trimResults().omitEmptyStrings().split(additionalDatetimeFormats))
+				.build();
+		datetimeFormatters = Lists.newArrayList();
+		for (String format : datetimeFormats) {
+			try {
+				// out of range fields roll over, e.g: "02/30/2020" is March 1st, same as by SimpleDateFormat
+				datetimeFormatters.add(DateTimeFormatter.ofPattern(format).withResolverStyle(ResolverStyle.LENIENT));
+			} catch (IllegalArgumentException e) {
+				throw new RuntimeException("Invalid date fact input value format \"" + format + "\": " + e.getMessage(), e);
+			}
+		}
+		defaultZone = ZoneId.systemDefault();
+		try {
+			new SimpleDateFormat(datetimeFormat);
+			legacyDatetimeFormatSupported = true;
+		} catch (IllegalArgumentException e) {
+			legacyDatetimeFormatSupported = false;
+		}
+	}
+
+	/***
+	 * Chooses the converter of the input values of a fact type according to its data type, once per fact type
+	 * @param factName The fact type name normalized as upper camel case
+	 * @param valueType The fact Java data type, null if the artifact has no getter for the fact
+	 * @param listMemberType The list members Java data type, null if not a list or the artifact has no "add" method for the fact
+	 * @return The converter, which fails on every value if the fact data type is not supported
+	 */
+	@Override
+	public FactValueConverter getConverter(String factName, Class<?> valueType, Class<?> listMemberType) {
+		if (valueType == null) {
+			return failing("Could not find getter method for fact field name " + factName);
+		}
+		if (Collection.class.isAssignableFrom(valueType)) {
+			if (listMemberType == null) {
+				return failing("Could not find add method method for fact field name " + factName);
+			}
+			FactValueConverter memberConverter = getPrimitiveConverter(listMemberType);
+			if (memberConverter == null) {
+				return (ftName, ftValue) -> {
+					throw new RuntimeException("Could not find any assignable Java object for members of list fact \"" + ftName + "\" of type: " + listMemberType.getName());
+				};
+			}
+			return (ftName, ftValue) -> convertList(ftName, ftValue, memberConverter);
+		}
+		FactValueConverter converter = getPrimitiveConverter(valueType);
+		if (converter == null) {
+			return (ftName, ftValue) -> {
+				throw new RuntimeException("Could not find any assignable Java object for fact \"" + ftName + "\" of type: " + valueType.getName());
+			};
+		}
+		return converter;
+	}
+
+	/***
+	 * @return The converter to the given primitive (String, BigDecimal, Double, Integer, Date or Boolean) data type,
+	 * or null if not supported
+	 */
+	private FactValueConverter getPrimitiveConverter(Class<?> ftType) {
+		if (ftType == String.class) {
+			return (ftName, ftValue) -> ftValue == null || ftValue instanceof String ? ftValue : String.valueOf(ftValue);
+		}
+		else if (ftType.isAssignableFrom(String.class)) {
+			return (ftName, ftValue) -> ftValue;
+		}
+		else if (ftType.isAssignableFrom(BigDecimal.class)) {
+			return (ftName, ftValue) -> toBigDecimal(ftValue);
+		}
+		else if (ftType.isAssignableFrom(Double.class)) {
+			return (ftName, ftValue) -> toDouble(ftValue);
+		}
+		else if (ftType.isAssignableFrom(Integer.class)) {
+			return (ftName, ftValue) -> toInteger(ftValue);
+		}
+		else if (ftType.isAssignableFrom(Date.class)) {
+			return this::toDate;
+		}
+		else if (ftType.isAssignableFrom(Boolean.class)) {
+			return (ftName, ftValue) -> toBoolean(ftValue);
+		}
+		return null;
+	}
+
+	private Object toBigDecimal(Object ftValue) {
+		if (ftValue == null || ftValue instanceof BigDecimal) {
+			return ftValue;
+		}
+		if (ftValue instanceof Integer || ftValue instanceof Long || ftValue instanceof Short || ftValue instanceof Byte) {
+			return BigDecimal.valueOf(((Number) ftValue).longValue());
+		}
+		if (ftValue instanceof Double) {
+			return BigDecimal.valueOf((Double) ftValue);
+		}
+		if (ftValue instanceof BigInteger) {
+			return new BigDecimal((BigInteger) ftValue);
+		}
+		return new BigDecimal(String.valueOf(ftValue));
+	}
+
+	private Object toDouble(Object ftValue) {
+		if (ftValue == null || ftValue instanceof Double) {
+			return ftValue;
+		}
+		if (ftValue instanceof Number) {
+			return ((Number) ftValue).doubleValue();
+		}
+		return Double.parseDouble(String.valueOf(ftValue));
+	}
+
+	private Object toInteger(Object ftValue) {
+		if (ftValue == null || ftValue instanceof Integer) {
+			return ftValue;
+		}
+		if (ftValue instanceof Long || ftValue instanceof Short || ftValue instanceof Byte) {
+			long value = ((Number) ftValue).longValue();
+			if (value < Integer.MIN_VALUE || value > Integer.MAX_VALUE) {
+				throw new NumberFormatException("For input string: \"" + ftValue + "\"");
+			}
+			return (int) value;
+		}
+		return Integer.parseInt(String.valueOf(ftValue));
+	}
+
+	private Object toBoolean(Object ftValue) {
+		if (ftValue == null || ftValue instanceof Boolean) {
+			return ftValue;
+		}
+		return Boolean.parseBoolean(String.valueOf(ftValue));
+	}
+
+	/***
+	 * Parses the given date value by the first of the configured formats it applies to, or otherwise by a
+	 * SimpleDateFormat of the main format, as the date values were parsed before, so the values it accepts beyond the
+	 * java.time formats, e.g: single digit fields ("1/5/2020 9:05:00") or trailing text, are still accepted
+	 */
+	private Object toDate(String ftName, Object ftValue) {
+		if (ftValue == null || ftValue instanceof Date) {
+			return ftValue;
+		}
+		String text = String.valueOf(ftValue);
+		for (DateTimeFormatter formatter : datetimeFormatters) {
+			try {
+				return toDate(formatter.parse(text));
+			} catch (DateTimeException e) {
+				// try the next format
+			}
+		}
+		if (legacyDatetimeFormatSupported) {
+			try {
+				// not thread safe, hence created per value, which only values of no java.time format pay for
+				return new SimpleDateFormat(datetimeFormat).parse(text);
+			} catch (ParseException e) {
+				// not a date of the main format either
+			}
+		}
+		throw new RuntimeException(String.format("Could not parse given fact value \"%s\" to valid date for the Date fact \"%s\".\n" +
+														 "Make sure the value is correct and applies to the format: \"%s\"",
+												 ftValue, ftName, String.join("\" or \"", datetimeFormats)));
+	}
+
+	private Date toDate(TemporalAccessor parsed) {
+		LocalDate date = parsed.query(TemporalQueries.localDate());
+		if (date == null) {
+			throw new DateTimeException("No date in the parsed value");
+		}
+		LocalTime time = parsed.query(TemporalQueries.localTime());
+		ZoneId zone = parsed.query(TemporalQueries.zone());
+		return Date.from(date.atTime(time == null ? LocalTime.MIDNIGHT : time)
+							 .atZone(zone == null ? defaultZone : zone)
+							 .toInstant());
+	}
+
+	/***
+	 * Converts each of the given list values by the given list members converter
+	 */
+	private Object convertList(String ftName, Object ftValues, FactValueConverter memberConverter) {
+		if (ftValues == null) {
+			return null;
+		}
+		Collection values = (Collection) ftValues;
+		List<Object> result = new ArrayList<>(values.size());
+		for (Object value : values) {
+			result.add(memberConverter.convert(ftName, value));
+		}
+		return result;
+	}
+
+	private FactValueConverter failing(String message) {
+		return (ftName, ftValue) -> {
+			throw new RuntimeException(message);
+		};
+	}
+}
@@ -0,0 +1,130 @@
+package com.sapiens.bdms.decisionexecutor.service.impl;
+
+import com.sapiens.bdms.decisionexecutor.service.face.ResourceAccountingService;
+import com.sapiens.bdms.decisionexecutor.service.model.ArtifactKey;
+import com.sapiens.bdms.decisionexecutor.service.model.ArtifactResourceUsage;
+import com.sapiens.bdms.decisionexecutor.service.model.ResourceAccountingStatistics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import javax.annotation.PostConstruct;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.ToLongFunction;
+import java.util.stream.Collectors;
+
+@Service
+public class PojoResourceAccountingService implements ResourceAccountingService {
+
+	private final Logger logger = LoggerFactory.getLogger(this.getClass());
+
+	// the CPU time, allocated bytes and accounting epoch of the execution started on the current thread
+	private static final ThreadLocal<long[]> EXECUTION_START = ThreadLocal.withInitial(() -> new long[3]);
+
+	@Value("${execution.resource.accounting.enabled}")
+	private boolean initiallyEnabled;
+
+	private final ThreadMXBean threadBean = ManagementFactory.getThreadMXBean();
+
+	// null if the JVM does not measure the heap allocated per thread
+	private com.sun.management.ThreadMXBean allocationBean;
+
+	// read by every execution, so the accounting costs a single read while disabled
+	private volatile boolean enabled;
+	private volatile Date since;
+
+	// incremented once enabled, so an execution started before is not accounted, e.g: started while enabled before,
+	// and failed without ending
+	private volatile long epoch;
+
+	// of the artifacts resolved to an execution plan, so bounded by the loaded artifacts
+	private final ConcurrentMap<ArtifactKey, ArtifactResourceUsage> usages = new ConcurrentHashMap<>();
+
+	@PostConstruct
+	public void init() {
+		if (threadBean instanceof com.sun.management.ThreadMXBean &&
+				((com.sun.management.ThreadMXBean) threadBean).isThreadAllocatedMemorySupported()) {
+			allocationBean = (com.sun.management.ThreadMXBean) threadBean;
+		}
+		setEnabled(initiallyEnabled, false);
+	}
+
+	@Override
+	public void startExecution() {
+		if (!enabled) {
+			return;
+		}
+		long[] start = EXECUTION_START.get();
+		start[0] = threadBean.getCurrentThreadCpuTime();
+		start[1] = getCurrentThreadAllocatedBytes();
+		start[2] = epoch;
+	}
+
+	@Override
+	public void endExecution(ArtifactKey artifact) {
+		if (!enabled) {
+			return;
+		}
+		long[] start = EXECUTION_START.get();
+		if (start[2] != epoch) {
+			return;
+		}
+		start[2] = 0;
+		long cpuNanos = threadBean.getCurrentThreadCpuTime() - start[0];
+		long allocatedBytes = getCurrentThreadAllocatedBytes() - start[1];
+		ArtifactResourceUsage usage = usages.get(artifact);
+		if (usage == null) {
+			usage = usages.computeIfAbsent(artifact, ArtifactResourceUsage::new);
+		}
+		usage.record(cpuNanos, allocatedBytes);
+	}
+
+	@Override
+	public synchronized void setEnabled(boolean enabled, boolean reset) {
+		if (enabled && !threadBean.isCurrentThreadCpuTimeSupported()) {
+			throw new IllegalStateException("The JVM does not measure the CPU time of threads, so the execution resources cannot be accounted");
+		}
+		if (enabled) {
+			threadBean.setThreadCpuTimeEnabled(true);
+			if (allocationBean != null) {
+				allocationBean.setThreadAllocatedMemoryEnabled(true);
+			}
+		}
+		if (reset) {
+			usages.clear();
+		}
+		if ((enabled && since == null) || reset) {
+			since = enabled ? new Date() : null;
+		}
+		if (enabled && !this.enabled) {
+			epoch++;
+		}
+		if (this.enabled != enabled) {
+			logger.info("Execution resource accounting " + (enabled ? "enabled" : "disabled"));
+		}
+		this.enabled = enabled;
+	}
+
+	@Override
+	public ResourceAccountingStatistics getStatistics(boolean byAllocation, int top) {
+		long totalCpuNanos = usages.values().stream().mapToLong(ArtifactResourceUsage::getCpuNanos).sum();
+		long totalAllocatedBytes = usages.values().stream().mapToLong(ArtifactResourceUsage::getAllocatedBytes).sum();
+		ToLongFunction<ArtifactResourceUsage> rank = byAllocation ? ArtifactResourceUsage::getAllocatedBytes : ArtifactResourceUsage::getCpuNanos;
+		return new ResourceAccountingStatistics(enabled, allocationBean != null, since,
+												usages.values().stream()
+													  .sorted(Comparator.comparingLong(rank).reversed())
+													  .limit(Math.max(top, 0))
+													  .map(usage -> usage.getStatistics(totalCpuNanos, totalAllocatedBytes))
+													  .collect(Collectors.toList()));
+	}
+
+	private long getCurrentThreadAllocatedBytes() {
+		return allocationBean == null ? 0 : allocationBean.getThreadAllocatedBytes(Thread.currentThread().getId());
+	}
+}
@@ -0,0 +1,58 @@
+package com.sapiens.bdms.decisionexecutor.service.impl;
+
+import com.sapiens.bdms.decisionexecutor.service.face.ArtifactsReloadListener;
+import com.sapiens.bdms.decisionexecutor.service.face.RuleAnalyticsService;
+import com.sapiens.bdms.decisionexecutor.service.model.ArtifactKey;
+import com.sapiens.bdms.decisionexecutor.service.model.DecisionRuleAnalytics;
+import com.sapiens.bdms.decisionexecutor.service.model.DecisionRuleStatistics;
+import com.sapiens.bdms.decisionexecutor.service.model.ExecutionPlan;
+import com.sapiens.bdms.java.exe.helper.base.Decision;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.stream.Collectors;
+
+@Service
+public class PojoRuleAnalyticsService implements RuleAnalyticsService, ArtifactsReloadListener {
+
+	@Value("${execution.rule.analytics.enabled}")
+	private boolean enabled;
+
+	// of the decisions resolved to an execution plan, so bounded by the loaded artifacts
+	private final ConcurrentMap<ArtifactKey, DecisionRuleAnalytics> analytics = new ConcurrentHashMap<>();
+
+	@Override
+	public void subscribe(ExecutionPlan plan, Decision decision) {
+		if (!enabled) {
+			return;
+		}
+		DecisionRuleAnalytics decisionAnalytics = analytics.get(plan.getKey());
+		if (decisionAnalytics == null || decisionAnalytics.getJar() != plan.getJar()) {
+			// the rows of a reloaded decision may have changed, so its analytics start over
+			decisionAnalytics = analytics.compute(plan.getKey(), (key, current) ->
+					current != null && current.getJar() == plan.getJar() ? current : new DecisionRuleAnalytics(key, plan.getJar()));
+		}
+		decision.setEventListeners(decisionAnalytics.asListeners());
+	}
+
+	@Override
+	public List<DecisionRuleStatistics> getStatistics() {
+		return analytics.values().stream()
+						.map(DecisionRuleAnalytics::getStatistics)
+						.sorted(Comparator.comparing(DecisionRuleStatistics::getArtifact))
+						.collect(Collectors.toList());
+	}
+
+	/***
+	 * Drops the analytics of the decisions of the reloaded or unloaded jars
+	 */
+	@Override
+	public void onArtifactJarsReloaded(Set<String> changedJarPaths) {
+		analytics.values().removeIf(decisionAnalytics -> changedJarPaths.contains(decisionAnalytics.getJar().getJarPath()));
+	}
+}
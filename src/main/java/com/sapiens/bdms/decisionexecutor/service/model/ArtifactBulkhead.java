@@ -0,0 +1,103 @@
+package com.sapiens.bdms.decisionexecutor.service.model;
+
+/***
+ * Limits the concurrent executions of a single artifact, so a slow artifact is throttled before it occupies the
+ * execution pool on the expense of the other artifacts.
+ * The limit adapts to the measured execution latency by its gradient: while executions take about as long as
+ * they usually do, the limit grows by about its square root, and as they slow down beyond the tolerance, it shrinks
+ * by up to half.
+ */
+public class ArtifactBulkhead {
+
+	private static final int MIN_LIMIT = 1;
+
+	// a latency up to this factor of the long term latency is not considered as overload
+	private static final double TOLERANCE = 2.0;
+
+	// the weight of a new limit estimate
+	private static final double SMOOTHING = 0.2;
+
+	// the number of executions the long term latency is averaged over
+	private static final int LONG_TERM_WINDOW = 600;
+
+	// the number of executions measured before the limit is adapted
+	private static final int WARMUP_EXECUTIONS = 10;
+
+	private final String artifact;
+	private final ExecutionPriority priority;
+	private final int maxLimit;
+
+	// guarded by this
+	private double limit;
+	private int inFlight;
+	private long admitted;
+	private long throttled;
+	private long measured;
+	private double longTermLatencyNanos;
+
+	/***
+	 * @param artifact The artifact key path
+	 * @param priority The priority class of the artifact's package prefix
+	 * @param initialLimit The limit until adapted
+	 * @param maxLimit The maximal limit
+	 */
+	public ArtifactBulkhead(String artifact, ExecutionPriority priority, int initialLimit, int maxLimit) {
+		this.artifact = artifact;
+		this.priority = priority;
+		this.maxLimit = Math.max(maxLimit, MIN_LIMIT);
+		this.limit = Math.max(MIN_LIMIT, Math.min(initialLimit, this.maxLimit));
+	}
+
+	/***
+	 * @return true if an execution is admitted, which must be followed by "release" or "cancel"
+	 */
+	public synchronized boolean tryAcquire() {
+		if (inFlight >= (int) limit) {
+			throttled++;
+			return false;
+		}
+		inFlight++;
+		admitted++;
+		return true;
+	}
+
+	/***
+	 * Ends an admitted execution, adapting the limit by its latency
+	 * @param latencyNanos The time the execution took, excluding its queue wait
+	 */
+	public synchronized void release(long latencyNanos) {
+		int inFlightBefore = inFlight--;
+		measured++;
+		if (measured <= WARMUP_EXECUTIONS) {
+			longTermLatencyNanos += (latencyNanos - longTermLatencyNanos) / measured;
+			return;
+		}
+		longTermLatencyNanos += (latencyNanos - longTermLatencyNanos) * 2 / (LONG_TERM_WINDOW + 1);
+		if (latencyNanos > 0 && longTermLatencyNanos / latencyNanos > 2) {
+			// executions got much faster, e.g: after a slow period, let the long term latency catch up
+			longTermLatencyNanos *= 0.95;
+		}
+		double gradient = Math.max(0.5, Math.min(1.0, TOLERANCE * longTermLatencyNanos / Math.max(latencyNanos, 1)));
+		if (gradient == 1.0 && inFlightBefore < limit / 2) {
+			// no need for a higher limit while far from reaching it
+			return;
+		}
+		double estimate = limit * gradient + Math.sqrt(limit);
+		limit = Math.max(MIN_LIMIT, Math.min(maxLimit, limit * (1 - SMOOTHING) + estimate * SMOOTHING));
+	}
+
+	/***
+	 * Ends an admitted execution that was not executed
+	 */
+	public synchronized void cancel() {
+		inFlight--;
+	}
+
+	public ExecutionPriority getPriority() {
+		return priority;
+	}
+
+	public synchronized ArtifactBulkheadStatistics getStatistics() {
+		return new ArtifactBulkheadStatistics(artifact, priority, (int) limit, inFlight, admitted, throttled, longTermLatencyNanos / 1e6);
+	}
+}
@@ -0,0 +1,70 @@
+package com.sapiens.bdms.decisionexecutor.service.model;
+
+/***
+ * The concurrency limit of a single artifact, returned as the web response of the bulkheads statistics
+ */
+public class ArtifactBulkheadStatistics {
+	private final String artifact;
+	private final ExecutionPriority priority;
+	private final int limit;
+	private final int inFlight;
+	private final long admittedExecutions;
+	private final long throttledExecutions;
+	private final double longTermLatencyMillis;
+
+	public ArtifactBulkheadStatistics(String artifact,
+									  ExecutionPriority priority,
+									  int limit,
+									  int inFlight,
+									  long admittedExecutions,
+									  long throttledExecutions,
+									  double longTermLatencyMillis) {
+		this.artifact = artifact;
+		this.priority = priority;
+		this.limit = limit;
+		this.inFlight = inFlight;
+		this.admittedExecutions = admittedExecutions;
+		this.throttledExecutions = throttledExecutions;
+		this.longTermLatencyMillis = longTermLatencyMillis;
+	}
+
+	public String getArtifact() {
+		return artifact;
+	}
+
+	public ExecutionPriority getPriority() {
+		return priority;
+	}
+
+	/***
+	 * @return The current limit of concurrent executions, queued or executing
+	 */
+	public int getLimit() {
+		return limit;
+	}
+
+	/***
+	 * @return The number of executions currently queued or executing
+	 */
+	public int getInFlight() {
+		return inFlight;
+	}
+
+	public long getAdmittedExecutions() {
+		return admittedExecutions;
+	}
+
+	/***
+	 * @return The number of executions rejected so far since the limit was reached
+	 */
+	public long getThrottledExecutions() {
+		return throttledExecutions;
+	}
+
+	/***
+	 * @return The average execution latency the limit is adapted by
+	 */
+	public double getLongTermLatencyMillis() {
+		return longTermLatencyMillis;
+	}
+}
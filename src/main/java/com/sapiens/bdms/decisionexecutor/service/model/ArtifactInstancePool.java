@@ -0,0 +1,167 @@
+package com.sapiens.bdms.decisionexecutor.service.model;
+
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+import com.sapiens.bdms.java.exe.helper.base.FactType;
+import com.sapiens.bdms.java.exe.helper.base.Flow;
+import com.sapiens.bdms.java.exe.helper.base.Group;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/***
+ * A bounded pool of reusable instances of a single artifact class, reset by the artifact's "clear" between executions.
+ * Instances are kept in slots striped by thread, so a thread mostly reuses the instance it released last without
+ * contending with other threads.
+ * The first resets are verified against a never executed instance - an artifact whose instances are not reset
+ * cleanly is not pooled anymore, and a fresh instance is created for each of its executions instead.
+ */
+public class ArtifactInstancePool {
+
+	// the number of resets verified before an artifact is trusted to reset cleanly
+	private static final int VERIFIED_RESETS = 16;
+
+	// the number of slots tried beyond the thread's own slot
+	private static final int PROBED_SLOTS = 3;
+
+	private final Logger logger = LoggerFactory.getLogger(this.getClass());
+
+	private final String className;
+	private final InstanceFactory factory;
+	private final AtomicReferenceArray<Group> slots;
+	private final List<Object> pristineState;
+	private final AtomicInteger verifiedResets = new AtomicInteger();
+	private final LongAdder reused = new LongAdder();
+	private final LongAdder created = new LongAdder();
+	private volatile boolean resettable = true;
+
+	/***
+	 * @param className The artifact class name
+	 * @param factory Creates the new instances of the artifact
+	 * @param size The maximal number of idle instances kept
+	 * @param pristineInstance A never executed instance of the artifact, to verify the resets against and pool
+	 */
+	public ArtifactInstancePool(String className, InstanceFactory factory, int size, Group pristineInstance) {
+		this.className = className;
+		this.factory = factory;
+		this.slots = new AtomicReferenceArray<>(size);
+		this.pristineState = captureState(pristineInstance);
+		slots.set(0, pristineInstance);
+	}
+
+	/***
+	 * @return An idle instance, or a new one if none is idle or the artifact does not reset cleanly
+	 */
+	public Group acquire() throws InstantiationException {
+		if (resettable) {
+			int home = homeSlot();
+			for (int i = 0; i <= PROBED_SLOTS && i < slots.length(); i++) {
+				int slot = (home + i) % slots.length();
+				if (slots.get(slot) != null) {
+					Group instance = slots.getAndSet(slot, null);
+					if (instance != null) {
+						reused.increment();
+						return instance;
+					}
+				}
+			}
+		}
+		created.increment();
+		return factory.newInstance();
+	}
+
+	/***
+	 * Resets the given instance to be reused, must not be called for an instance whose execution failed.
+	 * The instance is dropped if the pool is full.
+	 */
+	public void release(Group instance) {
+		if (!resettable) {
+			return;
+		}
+		reset(instance);
+		if (verifiedResets.get() < VERIFIED_RESETS) {
+			if (!pristineState.equals(captureState(instance))) {
+				resettable = false;
+				for (int slot = 0; slot < slots.length(); slot++) {
+					slots.set(slot, null);
+				}
+				logger.warn("Artifact class \"" + className + "\" does not reset cleanly by \"clear\", " +
+									"a new instance will be created for each of its executions");
+				return;
+			}
+			verifiedResets.incrementAndGet();
+		}
+		int home = homeSlot();
+		for (int i = 0; i <= PROBED_SLOTS && i < slots.length(); i++) {
+			if (slots.compareAndSet((home + i) % slots.length(), null, instance)) {
+				return;
+			}
+		}
+	}
+
+	public boolean isResettable() {
+		return resettable;
+	}
+
+	public long getReusedInstances() {
+		return reused.sum();
+	}
+
+	public long getCreatedInstances() {
+		return created.sum();
+	}
+
+	private int homeSlot() {
+		return (int) (Thread.currentThread().getId() % slots.length());
+	}
+
+	private void reset(Group instance) {
+		instance.clear();
+		if (instance instanceof Flow) {
+			((Flow) instance).getExecutablesTrace().clear();
+		}
+	}
+
+	/***
+	 * @return A copy of the values and row hits of all the fact types of given instance, ordered by the id of the
+	 * group containing them
+	 */
+	private List<Object> captureState(Group instance) {
+		List<Object> state = Lists.newArrayList();
+		Map<Integer, Map<String, FactType>> factTypesByGroupId = new TreeMap<>(instance.getFactTypesRecursively());
+		for (Map<String, FactType> factTypes : factTypesByGroupId.values()) {
+			factTypes.forEach((name, factType) -> state.add(factType == null ?
+																	Arrays.asList(name, null) :
+																	Arrays.asList(name, copyOf(factType.getValue()), copyOf(factType.getRowHits()))));
+		}
+		if (instance instanceof Flow) {
+			state.add(Lists.newArrayList(((Flow) instance).getExecutablesTrace().keySet()));
+		}
+		return state;
+	}
+
+	private Object copyOf(Object value) {
+		if (value instanceof Collection) {
+			return Lists.newArrayList((Collection) value);
+		}
+		if (value instanceof Map) {
+			return Maps.newHashMap((Map) value);
+		}
+		return value;
+	}
+
+	/***
+	 * Creates a new instance of the pooled artifact
+	 */
+	public interface InstanceFactory {
+		Group newInstance() throws InstantiationException;
+	}
+}
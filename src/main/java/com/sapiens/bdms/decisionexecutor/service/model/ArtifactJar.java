@@ -0,0 +1,58 @@
+package com.sapiens.bdms.decisionexecutor.service.model;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.net.URLClassLoader;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/***
+ * A loaded artifacts jar with its class loader and the names of the classes it contains.
+ * The class loader is closed once no artifacts generation refers to the jar anymore.
+ */
+public class ArtifactJar {
+
+	private static final Logger logger = LoggerFactory.getLogger(ArtifactJar.class);
+
+	private final String jarPath;
+	private final URLClassLoader classLoader;
+	private final List<String> classNames;
+
+	// number of generations referring to this jar
+	private final AtomicInteger references = new AtomicInteger();
+
+	public ArtifactJar(String jarPath, URLClassLoader classLoader, List<String> classNames) {
+		this.jarPath = jarPath;
+		this.classLoader = classLoader;
+		this.classNames = classNames;
+	}
+
+	public String getJarPath() {
+		return jarPath;
+	}
+
+	public URLClassLoader getClassLoader() {
+		return classLoader;
+	}
+
+	public List<String> getClassNames() {
+		return classNames;
+	}
+
+	void retain() {
+		references.incrementAndGet();
+	}
+
+	void release() {
+		if (references.decrementAndGet() == 0) {
+			try {
+				classLoader.close();
+				logger.info("Closed the class loader of unloaded artifact file: \"" + jarPath + "\"");
+			} catch (IOException e) {
+				logger.error("Failed to close the class loader of unloaded artifact file \"" + jarPath + "\"", e);
+			}
+		}
+	}
+}
@@ -0,0 +1,93 @@
+package com.sapiens.bdms.decisionexecutor.service.model;
+
+import com.sapiens.bdms.java.exe.helper.base.ExecutableType;
+
+import java.util.Objects;
+
+/***
+ * Identifies an executable artifact by the parameters it is requested with
+ */
+public class ArtifactKey {
+	private final ExecutableType type;
+	private final String packagePrefix;
+	private final String name;
+	private final String view;
+	private final String version;
+	private final int hashCode;
+
+	private ArtifactKey(ExecutableType type, String packagePrefix, String name, String view, String version) {
+		this.type = type;
+		this.packagePrefix = packagePrefix;
+		this.name = name;
+		this.view = view;
+		this.version = version;
+		this.hashCode = Objects.hash(type, packagePrefix, name, view, version);
+	}
+
+	public static ArtifactKey decision(String packagePrefix, String conclusionName, String view, String version) {
+		return new ArtifactKey(ExecutableType.DECISION, packagePrefix, conclusionName, view, version);
+	}
+
+	public static ArtifactKey flow(String packagePrefix, String flowName, String version) {
+		return new ArtifactKey(ExecutableType.FLOW, packagePrefix, flowName, null, version);
+	}
+
+	public ExecutableType getType() {
+		return type;
+	}
+
+	public String getPackagePrefix() {
+		return packagePrefix;
+	}
+
+	/***
+	 * @return The decision conclusion name or the flow name
+	 */
+	public String getName() {
+		return name;
+	}
+
+	/***
+	 * @return The decision view, null for flows
+	 */
+	public String getView() {
+		return view;
+	}
+
+	public String getVersion() {
+		return version;
+	}
+
+	@Override
+	public boolean equals(Object o) {
+		if (this == o) {
+			return true;
+		}
+		if (o == null || getClass() != o.getClass()) {
+			return false;
+		}
+		ArtifactKey that = (ArtifactKey) o;
+		return hashCode == that.hashCode &&
+				type == that.type &&
+				Objects.equals(packagePrefix, that.packagePrefix) &&
+				Objects.equals(name, that.name) &&
+				Objects.equals(view, that.view) &&
+				Objects.equals(version, that.version);
+	}
+
+	@Override
+	public int hashCode() {
+		return hashCode;
+	}
+
+	/***
+	 * @return The key as a path, e.g: "decision/com.sapiens/CustomerTurnoverAmount/Base/1.0"
+	 */
+	@Override
+	public String toString() {
+		String typeName = type == ExecutableType.DECISION ? "decision" : "flow";
+		return view == null ?
+				typeName + "/" + packagePrefix + "/" + name + "/" + version :
+				typeName + "/" + packagePrefix + "/" + name + "/" + view + "/" + version;
+	}
+}
@@ -0,0 +1,43 @@
+package com.sapiens.bdms.decisionexecutor.service.model;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+/***
+ * The input fact types of an artifact, returned as the web response of the artifact metadata
+ */
+public class ArtifactMetadata {
+	private final String artifact;
+	private final String artifactName;
+	private final String className;
+	private final List<FactMetadata> facts;
+
+	public ArtifactMetadata(ExecutionPlan plan) {
+		this.artifact = plan.getKey().toString();
+		this.artifactName = plan.getArtifactName();
+		this.className = plan.getClassName();
+		this.facts = plan.getFactSchema().getBinders().stream().map(FactMetadata::new).collect(Collectors.toList());
+	}
+
+	/***
+	 * @return The artifact as requested, e.g: "decision/com.sapiens/CustomerTurnoverAmount/Base/1.0"
+	 */
+	public String getArtifact() {
+		return artifact;
+	}
+
+	public String getArtifactName() {
+		return artifactName;
+	}
+
+	public String getClassName() {
+		return className;
+	}
+
+	/***
+	 * @return The fact types which can be set as execution inputs, in the artifact's fact types order
+	 */
+	public List<FactMetadata> getFacts() {
+		return facts;
+	}
+}
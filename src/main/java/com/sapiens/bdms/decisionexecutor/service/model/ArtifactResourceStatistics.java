@@ -0,0 +1,71 @@
+package com.sapiens.bdms.decisionexecutor.service.model;
+
+import java.util.concurrent.TimeUnit;
+
+/***
+ * The CPU time and heap allocated by the executions of a single artifact, returned as an entry of the web response
+ * of the resource accounting statistics
+ */
+public class ArtifactResourceStatistics {
+	private final String artifact;
+	private final long executions;
+	private final double cpuMillis;
+	private final double averageCpuMicros;
+	private final double cpuShare;
+	private final long allocatedBytes;
+	private final long averageAllocatedBytes;
+	private final double allocationShare;
+
+	public ArtifactResourceStatistics(String artifact, long executions, long cpuNanos, long allocatedBytes,
+									  long totalCpuNanos, long totalAllocatedBytes) {
+		this.artifact = artifact;
+		this.executions = executions;
+		this.cpuMillis = (double) cpuNanos / TimeUnit.MILLISECONDS.toNanos(1);
+		this.averageCpuMicros = executions == 0 ? 0 : (double) cpuNanos / TimeUnit.MICROSECONDS.toNanos(1) / executions;
+		this.cpuShare = totalCpuNanos == 0 ? 0 : (double) cpuNanos / totalCpuNanos;
+		this.allocatedBytes = allocatedBytes;
+		this.averageAllocatedBytes = executions == 0 ? 0 : allocatedBytes / executions;
+		this.allocationShare = totalAllocatedBytes == 0 ? 0 : (double) allocatedBytes / totalAllocatedBytes;
+	}
+
+	public String getArtifact() {
+		return artifact;
+	}
+
+	/***
+	 * @return The number of executions accounted
+	 */
+	public long getExecutions() {
+		return executions;
+	}
+
+	public double getCpuMillis() {
+		return cpuMillis;
+	}
+
+	public double getAverageCpuMicros() {
+		return averageCpuMicros;
+	}
+
+	/***
+	 * @return The fraction of the CPU time of all the accounted executions spent by this artifact's
+	 */
+	public double getCpuShare() {
+		return cpuShare;
+	}
+
+	public long getAllocatedBytes() {
+		return allocatedBytes;
+	}
+
+	public long getAverageAllocatedBytes() {
+		return averageAllocatedBytes;
+	}
+
+	/***
+	 * @return The fraction of the heap allocated by all the accounted executions allocated by this artifact's
+	 */
+	public double getAllocationShare() {
+		return allocationShare;
+	}
+}
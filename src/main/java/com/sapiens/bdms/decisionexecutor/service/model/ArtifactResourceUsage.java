@@ -0,0 +1,45 @@
+package com.sapiens.bdms.decisionexecutor.service.model;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/***
+ * The CPU time and heap allocated by the executions of a single artifact, accumulated by the executing threads
+ */
+public class ArtifactResourceUsage {
+	private final ArtifactKey artifact;
+	private final LongAdder executions = new LongAdder();
+	private final LongAdder cpuNanos = new LongAdder();
+	private final LongAdder allocatedBytes = new LongAdder();
+
+	public ArtifactResourceUsage(ArtifactKey artifact) {
+		this.artifact = artifact;
+	}
+
+	/***
+	 * Records a single execution
+	 * @param cpuNanos The CPU time the executing thread spent in the execution
+	 * @param allocatedBytes The heap the executing thread allocated in the execution
+	 */
+	public void record(long cpuNanos, long allocatedBytes) {
+		executions.increment();
+		this.cpuNanos.add(cpuNanos);
+		this.allocatedBytes.add(allocatedBytes);
+	}
+
+	/***
+	 * @param totalCpuNanos The CPU time of all the artifacts' executions, to get this artifact's share of
+	 * @param totalAllocatedBytes The heap allocated by all the artifacts' executions, to get this artifact's share of
+	 */
+	public ArtifactResourceStatistics getStatistics(long totalCpuNanos, long totalAllocatedBytes) {
+		return new ArtifactResourceStatistics(artifact.toString(), executions.sum(), cpuNanos.sum(), allocatedBytes.sum(),
+											  totalCpuNanos, totalAllocatedBytes);
+	}
+
+	public long getCpuNanos() {
+		return cpuNanos.sum();
+	}
+
+	public long getAllocatedBytes() {
+		return allocatedBytes.sum();
+	}
+}
@@ -0,0 +1,162 @@
+package com.sapiens.bdms.decisionexecutor.service.model;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+import com.sapiens.bdms.decisionexecutor.exception.ArtifactClassNotFoundException;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/***
+ * An immutable snapshot of all the loaded artifacts jars and the index of their classes.
+ * Every reload creates a new generation which replaces the current one, while the requests that pinned the
+ * replaced generation keep executing against it. The class loaders of jars which are no longer part of the
+ * current generation are closed only when all the generations referring to them were drained of requests.
+ */
+public class ArtifactsGeneration implements AutoCloseable {
+
+	private final long number;
+
+	// in load order
+	private final Map<String, ArtifactJar> jarsByPath;
+
+	private final Map<String, ArtifactJar> jarsByClassName;
+
+	// the jars of classes found in more than one jar, in load order - a class is loaded from the last jar
+	private final Map<String, List<String>> duplicateJarPathsByClassName;
+
+	// classes recently looked up and not found in any jar of this generation
+	private final Cache<String, ArtifactClassNotFoundException> notFoundClasses;
+
+	// the pinned requests, plus one for being the current generation until retired
+	private final AtomicInteger pins = new AtomicInteger(1);
+
+	private volatile boolean retired;
+
+	public ArtifactsGeneration(long number, LinkedHashMap<String, ArtifactJar> jarsByPath, long notFoundClassesCacheSize) {
+		this.number = number;
+		this.jarsByPath = Collections.unmodifiableMap(jarsByPath);
+		this.notFoundClasses = CacheBuilder.newBuilder().maximumSize(notFoundClassesCacheSize).build();
+
+		Map<String, ArtifactJar> jarsByClassName = Maps.newHashMap();
+		Map<String, List<String>> duplicates = Maps.newTreeMap();
+		for (ArtifactJar jar : jarsByPath.values()) {
+			jar.retain();
+			for (String className : jar.getClassNames()) {
+				ArtifactJar previous = jarsByClassName.put(className, jar);
+				if (previous != null) {
+					duplicates.computeIfAbsent(className, name -> Lists.newArrayList(previous.getJarPath()))
+							  .add(jar.getJarPath());
+				}
+			}
+		}
+		this.jarsByClassName = jarsByClassName;
+		Map<String, List<String>> immutableDuplicates = Maps.newTreeMap();
+		duplicates.forEach((className, jarPaths) -> immutableDuplicates.put(className, ImmutableList.copyOf(jarPaths)));
+		this.duplicateJarPathsByClassName = Collections.unmodifiableMap(immutableDuplicates);
+	}
+
+	/***
+	 * Loads the class according to given classpath from the jar it was indexed to.
+	 * In case the class exists in more than one jar, it is loaded from the last loaded jar.
+	 * @param fullClassName full classpath to the required class
+	 * @return The class found
+	 * @throws ClassNotFoundException if no class was found in any of the jars of this generation
+	 */
+	public Class getArtifactClass(String fullClassName) throws ClassNotFoundException {
+		ArtifactJar jar = jarsByClassName.get(fullClassName);
+		if (jar == null) {
+			throw getNotFoundException(fullClassName);
+		}
+		return Class.forName(fullClassName, true, jar.getClassLoader());
+	}
+
+	/***
+	 * @return The jar the given class is loaded from, or null if not found in any of the jars of this generation
+	 */
+	public ArtifactJar getArtifactJar(String fullClassName) {
+		return jarsByClassName.get(fullClassName);
+	}
+
+	public long getNumber() {
+		return number;
+	}
+
+	public Map<String, ArtifactJar> getJarsByPath() {
+		return jarsByPath;
+	}
+
+	public boolean isEmpty() {
+		return jarsByPath.isEmpty();
+	}
+
+	/***
+	 * @return The jars of every class found in more than one jar by class name, in load order
+	 */
+	public Map<String, List<String>> getDuplicateJarPathsByClassName() {
+		return duplicateJarPathsByClassName;
+	}
+
+	/***
+	 * @return The number of requests currently executing against this generation
+	 */
+	public int getPinnedRequests() {
+		return retired ? pins.get() : pins.get() - 1;
+	}
+
+	public boolean isRetired() {
+		return retired;
+	}
+
+	public boolean isDrained() {
+		return pins.get() == 0;
+	}
+
+	/***
+	 * Pins this generation for the duration of a request, must be followed by "close" once the request is done
+	 * @return false if this generation was already retired and drained, hence can not be used anymore
+	 */
+	public boolean tryPin() {
+		int current;
+		do {
+			current = pins.get();
+			if (current == 0) {
+				return false;
+			}
+		} while (!pins.compareAndSet(current, current + 1));
+		return true;
+	}
+
+	/***
+	 * Unpins this generation
+	 */
+	@Override
+	public void close() {
+		if (pins.decrementAndGet() == 0) {
+			jarsByPath.values().forEach(ArtifactJar::release);
+		}
+	}
+
+	/***
+	 * Marks this generation as replaced by a newer one, to be drained of the requests pinning it
+	 */
+	public void retire() {
+		retired = true;
+		close();
+	}
+
+	private ArtifactClassNotFoundException getNotFoundException(String fullClassName) {
+		ArtifactClassNotFoundException notFound = notFoundClasses.getIfPresent(fullClassName);
+		if (notFound == null) {
+			notFound = new ArtifactClassNotFoundException("Could not find class \"" + fullClassName + "\" in any of the loaded artifacts jars.");
+			notFoundClasses.put(fullClassName, notFound);
+		}
+		return notFound;
+	}
+}
@@ -0,0 +1,57 @@
+package com.sapiens.bdms.decisionexecutor.service.model;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+/***
+ * The current generation of the loaded artifacts jars and the replaced generations still being drained,
+ * returned as the web response of the generations statistics
+ */
+public class ArtifactsGenerationStatistics {
+	private final long currentGeneration;
+	private final int loadedJars;
+	private final int currentGenerationPinnedRequests;
+	private final int openClassLoaders;
+	private final Map<Long, Integer> drainingGenerationsPinnedRequests = new TreeMap<>();
+
+	public ArtifactsGenerationStatistics(ArtifactsGeneration current, Collection<ArtifactsGeneration> draining) {
+		this.currentGeneration = current.getNumber();
+		this.loadedJars = current.getJarsByPath().size();
+		this.currentGenerationPinnedRequests = current.getPinnedRequests();
+		draining.forEach(generation -> drainingGenerationsPinnedRequests.put(generation.getNumber(), generation.getPinnedRequests()));
+		// a jar not reloaded is shared by the generations, along with its class loader
+		Collection<ArtifactJar> jars = Collections.newSetFromMap(new IdentityHashMap<>());
+		jars.addAll(current.getJarsByPath().values());
+		draining.forEach(generation -> jars.addAll(generation.getJarsByPath().values()));
+		this.openClassLoaders = jars.size();
+	}
+
+	public long getCurrentGeneration() {
+		return currentGeneration;
+	}
+
+	public int getLoadedJars() {
+		return loadedJars;
+	}
+
+	public int getCurrentGenerationPinnedRequests() {
+		return currentGenerationPinnedRequests;
+	}
+
+	/***
+	 * @return The number of jar class loaders of the current and draining generations, not closed yet
+	 */
+	public int getOpenClassLoaders() {
+		return openClassLoaders;
+	}
+
+	/***
+	 * @return The number of requests still executing against each replaced generation, by generation number
+	 */
+	public Map<Long, Integer> getDrainingGenerationsPinnedRequests() {
+		return drainingGenerationsPinnedRequests;
+	}
+}
@@ -0,0 +1,73 @@
+package com.sapiens.bdms.decisionexecutor.service.model;
+
+import java.util.Date;
+
+/***
+ * Accumulated statistics of the artifacts jars (re)loads, returned as the web response of the reload statistics
+ */
+public class ArtifactsReloadStatistics {
+	private long reloadsCount;
+	private long totalJarsLoaded;
+	private long totalJarsUnloaded;
+	private int lastReloadJarsLoaded;
+	private int lastReloadJarsUnloaded;
+	private long lastReloadDurationMillis;
+	private long maxReloadDurationMillis;
+	private long totalReloadDurationMillis;
+	private Date lastReloadTime;
+
+	/***
+	 * Records a single reload
+	 * @param durationNanos The time the reload took
+	 * @param jarsLoaded Number of jars that were loaded (or reloaded) by this reload
+	 * @param jarsUnloaded Number of jars that were unloaded by this reload
+	 */
+	public synchronized void record(long durationNanos, int jarsLoaded, int jarsUnloaded) {
+		long durationMillis = durationNanos / 1_000_000;
+		reloadsCount++;
+		totalJarsLoaded += jarsLoaded;
+		totalJarsUnloaded += jarsUnloaded;
+		lastReloadJarsLoaded = jarsLoaded;
+		lastReloadJarsUnloaded = jarsUnloaded;
+		lastReloadDurationMillis = durationMillis;
+		maxReloadDurationMillis = Math.max(maxReloadDurationMillis, durationMillis);
+		totalReloadDurationMillis += durationMillis;
+		lastReloadTime = new Date();
+	}
+
+	public synchronized long getReloadsCount() {
+		return reloadsCount;
+	}
+
+	public synchronized long getTotalJarsLoaded() {
+		return totalJarsLoaded;
+	}
+
+	public synchronized long getTotalJarsUnloaded() {
+		return totalJarsUnloaded;
+	}
+
+	public synchronized int getLastReloadJarsLoaded() {
+		return lastReloadJarsLoaded;
+	}
+
+	public synchronized int getLastReloadJarsUnloaded() {
+		return lastReloadJarsUnloaded;
+	}
+
+	public synchronized long getLastReloadDurationMillis() {
+		return lastReloadDurationMillis;
+	}
+
+	public synchronized long getMaxReloadDurationMillis() {
+		return maxReloadDurationMillis;
+	}
+
+	public synchronized long getTotalReloadDurationMillis() {
+		return totalReloadDurationMillis;
+	}
+
+	public synchronized Date getLastReloadTime() {
+		return lastReloadTime;
+	}
+}
@@ -0,0 +1,98 @@
+package com.sapiens.bdms.decisionexecutor.service.model;
+
+import com.google.common.collect.ImmutableMap;
+
+import java.util.Date;
+import java.util.Map;
+
+/***
+ * Accumulated statistics of the artifacts warm-ups, returned as the web response of the warm-up statistics
+ */
+public class ArtifactsWarmupStatistics {
+	private final boolean enabled;
+	private boolean ready;
+	private long warmupsCount;
+	private long totalArtifactsWarmedUp;
+	private long totalExecutions;
+	private int lastWarmupArtifacts;
+	private long lastWarmupExecutions;
+	private long lastWarmupDurationMillis;
+	private Map<String, String> lastWarmupFailures = ImmutableMap.of();
+	private Date lastWarmupTime;
+
+	/***
+	 * @param enabled Whether the artifacts are warmed up, otherwise ready from the start
+	 */
+	public ArtifactsWarmupStatistics(boolean enabled) {
+		this.enabled = enabled;
+		this.ready = !enabled;
+	}
+
+	/***
+	 * Records a single warm-up
+	 * @param artifacts Number of artifacts that were warmed up
+	 * @param executions Number of executions of these artifacts
+	 * @param failures The error of each artifact whose warm-up stopped since an execution failed, by artifact
+	 * @param durationNanos The time the warm-up took
+	 */
+	public synchronized void record(int artifacts, long executions, Map<String, String> failures, long durationNanos) {
+		warmupsCount++;
+		totalArtifactsWarmedUp += artifacts;
+		totalExecutions += executions;
+		lastWarmupArtifacts = artifacts;
+		lastWarmupExecutions = executions;
+		lastWarmupDurationMillis = durationNanos / 1_000_000;
+		lastWarmupFailures = ImmutableMap.copyOf(failures);
+		lastWarmupTime = new Date();
+	}
+
+	public synchronized void setReady() {
+		ready = true;
+	}
+
+	public boolean isEnabled() {
+		return enabled;
+	}
+
+	/***
+	 * @return true once the artifacts loaded on startup were warmed up
+	 */
+	public synchronized boolean isReady() {
+		return ready;
+	}
+
+	public synchronized long getWarmupsCount() {
+		return warmupsCount;
+	}
+
+	public synchronized long getTotalArtifactsWarmedUp() {
+		return totalArtifactsWarmedUp;
+	}
+
+	public synchronized long getTotalExecutions() {
+		return totalExecutions;
+	}
+
+	public synchronized int getLastWarmupArtifacts() {
+		return lastWarmupArtifacts;
+	}
+
+	public synchronized long getLastWarmupExecutions() {
+		return lastWarmupExecutions;
+	}
+
+	public synchronized long getLastWarmupDurationMillis() {
+		return lastWarmupDurationMillis;
+	}
+
+	/***
+	 * @return The error of each artifact whose last warm-up stopped since an execution failed, by artifact
+	 */
+	public synchronized Map<String, String> getLastWarmupFailures() {
+		return lastWarmupFailures;
+	}
+
+	public synchronized Date getLastWarmupTime() {
+		return lastWarmupTime;
+	}
+}
@@ -0,0 +1,40 @@
+package com.sapiens.bdms.decisionexecutor.service.model;
+
+/***
+ * The execution result of a single item of a batch, or the error it failed with
+ */
+public class BatchItemResult {
+	private final Object result;
+	private final Exception error;
+
+	private BatchItemResult(Object result, Exception error) {
+		this.result = result;
+		this.error = error;
+	}
+
+	public static BatchItemResult success(Object result) {
+		return new BatchItemResult(result, null);
+	}
+
+	public static BatchItemResult failure(Exception error) {
+		return new BatchItemResult(null, error);
+	}
+
+	public boolean isFailed() {
+		return error != null;
+	}
+
+	/***
+	 * @return The execution result, same as of a single execution, null if failed
+	 */
+	public Object getResult() {
+		return result;
+	}
+
+	/***
+	 * @return The error the item execution failed with, null if succeeded
+	 */
+	public Exception getError() {
+		return error;
+	}
+}
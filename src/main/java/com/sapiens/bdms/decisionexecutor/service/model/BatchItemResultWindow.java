@@ -0,0 +1,188 @@
+package com.sapiens.bdms.decisionexecutor.service.model;
+
+import java.io.IOException;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/***
+ * The items of a stream executing or waiting to be written, bounded in number. The results are written by a thread
+ * dedicated to the stream, in the order the items were submitted, as soon as the oldest pending item completes, so
+ * results are sent while the submitting thread waits for the next input, and the threads executing the items only
+ * complete them, never waiting for the client.
+ */
+public class BatchItemResultWindow {
+
+	// the written results are sent at least once per this number of results or this interval
+	private static final int FLUSH_RESULTS = 64;
+	private static final long FLUSH_INTERVAL_NANOS = TimeUnit.MILLISECONDS.toNanos(20);
+
+	// submitted after the last item
+	private static final CompletableFuture<BatchItemResult> END = CompletableFuture.completedFuture(null);
+
+	private final BatchItemResultWriter writer;
+	private final Semaphore permits;
+	private final BlockingQueue<CompletableFuture<BatchItemResult>> pending = new LinkedBlockingQueue<>();
+	// completed once the writing thread is done
+	private final CompletableFuture<Void> written = new CompletableFuture<>();
+	// completed once the stream is closed before finished, so the pending results are not written anymore
+	private final CompletableFuture<BatchItemResult> abandoned = new CompletableFuture<>();
+	private volatile IOException writeError;
+
+	// accessed by the submitting thread only
+	private long items;
+
+	// accessed by the writing thread, then by the submitting thread once written
+	private long failedItems;
+	private Exception firstError;
+
+	/***
+	 * @param size The maximal number of items executing or waiting to be written
+	 * @param writer Writes the results, called by the writing thread only
+	 * @param writingExecutor Runs the writing thread of the stream, until finished or closed
+	 */
+	public BatchItemResultWindow(int size, BatchItemResultWriter writer, Executor writingExecutor) {
+		this.writer = writer;
+		this.permits = new Semaphore(size);
+		writingExecutor.execute(this::writeResults);
+	}
+
+	/***
+	 * Executes the given item on the given executor, waiting while the window is full
+	 * @throws IOException If writing a previous result failed, e.g: the client went away
+	 */
+	public void submit(Supplier<BatchItemResult> item, Executor executor) throws IOException, InterruptedException {
+		permits.acquire();
+		IOException error = writeError;
+		if (error != null) {
+			permits.release();
+			throw error;
+		}
+		CompletableFuture<BatchItemResult> result = new CompletableFuture<>();
+		pending.add(result);
+		items++;
+		try {
+			executor.execute(() -> {
+				try {
+					// nothing is written anymore once a write failed or the stream was closed
+					result.complete(writeError == null && !abandoned.isDone() ? item.get() : null);
+				} catch (RuntimeException | Error e) {
+					result.complete(BatchItemResult.failure(new RuntimeException(e)));
+				}
+			});
+		} catch (RuntimeException e) {
+			result.complete(BatchItemResult.failure(e));
+		}
+	}
+
+	/***
+	 * Waits for all the submitted items to be written
+	 * @throws IOException If writing a result failed
+	 */
+	public void finish() throws IOException, InterruptedException {
+		pending.add(END);
+		try {
+			written.get();
+		} catch (ExecutionException e) {
+			throw new IllegalStateException(e.getCause());
+		}
+		IOException error = writeError;
+		if (error != null) {
+			throw error;
+		}
+	}
+
+	/***
+	 * Stops writing the results, if not finished, and waits for the writing thread to be done, so the caller may write
+	 * to the client once returned
+	 */
+	public void close() {
+		abandoned.complete(null);
+		pending.add(END);
+		written.join();
+	}
+
+	public long getItems() {
+		return items;
+	}
+
+	/***
+	 * Called once finished or closed
+	 */
+	public long getFailedItems() {
+		return failedItems;
+	}
+
+	/***
+	 * Called once finished or closed
+	 * @return The error of the first item that failed, null if none failed
+	 */
+	public Exception getFirstError() {
+		return firstError;
+	}
+
+	/***
+	 * Writes the results of the items in the order submitted as they complete, and sends them before waiting for an
+	 * item still executing, or once enough results or time accumulated since last sent, rather than a write to the
+	 * client per item
+	 */
+	private void writeResults() {
+		int unflushedResults = 0;
+		long lastFlushNanos = System.nanoTime();
+		try {
+			while (true) {
+				CompletableFuture<BatchItemResult> next = pending.peek();
+				if (unflushedResults > 0 && writeError == null &&
+						(next == null || next == END || !next.isDone() || unflushedResults >= FLUSH_RESULTS ||
+								System.nanoTime() - lastFlushNanos >= FLUSH_INTERVAL_NANOS)) {
+					flush();
+					unflushedResults = 0;
+					lastFlushNanos = System.nanoTime();
+				}
+				next = pending.take();
+				if (next == END) {
+					return;
+				}
+				CompletableFuture.anyOf(next, abandoned).join();
+				if (abandoned.isDone()) {
+					return;
+				}
+				BatchItemResult result = next.join();
+				try {
+					if (writeError == null) {
+						if (result.isFailed()) {
+							failedItems++;
+							firstError = firstError == null ? result.getError() : firstError;
+						}
+						writer.write(result);
+						unflushedResults++;
+					}
+				} catch (IOException e) {
+					writeError = e;
+				} catch (RuntimeException e) {
+					writeError = new IOException("Failed to write the result of a stream item: " + e.getMessage(), e);
+				} finally {
+					permits.release();
+				}
+			}
+		} catch (InterruptedException e) {
+			// shutting down
+			Thread.currentThread().interrupt();
+		} finally {
+			written.complete(null);
+		}
+	}
+
+	private void flush() {
+		try {
+			writer.flush();
+		} catch (IOException e) {
+			writeError = e;
+		}
+	}
+}
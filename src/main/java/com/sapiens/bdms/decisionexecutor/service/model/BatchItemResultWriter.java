@@ -0,0 +1,18 @@
+package com.sapiens.bdms.decisionexecutor.service.model;
+
+import java.io.IOException;
+
+/***
+ * Writes the results of a streamed execution as they complete, in the order of their inputs
+ */
+public interface BatchItemResultWriter {
+	/***
+	 * Writes the result of the next item, may be buffered until flushed
+	 */
+	void write(BatchItemResult result) throws IOException;
+
+	/***
+	 * Sends the written results, called before waiting for an item still executing
+	 */
+	void flush() throws IOException;
+}
@@ -0,0 +1,106 @@
+package com.sapiens.bdms.decisionexecutor.service.model;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Properties;
+
+/***
+ * The progress of a bulk execution as of its last written chunk, from which an interrupted execution is resumed
+ */
+public class BulkExecutionCheckpoint {
+	private final String inputPath;
+	private final long inputSize;
+	private final long inputOffset;
+	private final long outputOffset;
+	private final long items;
+	private final long failedItems;
+
+	/***
+	 * @param inputPath The absolute path of the input file
+	 * @param inputSize The size of the input file, which must not change between runs
+	 * @param inputOffset The offset of the first input record not written yet
+	 * @param outputOffset The size of the output written so far
+	 * @param items The number of records written so far
+	 * @param failedItems The number of records written so far that failed
+	 */
+	public BulkExecutionCheckpoint(String inputPath, long inputSize, long inputOffset, long outputOffset, long items, long failedItems) {
+		this.inputPath = inputPath;
+		this.inputSize = inputSize;
+		this.inputOffset = inputOffset;
+		this.outputOffset = outputOffset;
+		this.items = items;
+		this.failedItems = failedItems;
+	}
+
+	/***
+	 * @return The checkpoint following a chunk written after this one
+	 */
+	public BulkExecutionCheckpoint advance(long nextInputOffset, long chunkOutputSize, long chunkItems, long chunkFailedItems) {
+		return new BulkExecutionCheckpoint(inputPath, inputSize, nextInputOffset, outputOffset + chunkOutputSize,
+										   items + chunkItems, failedItems + chunkFailedItems);
+	}
+
+	/***
+	 * Writes this checkpoint to given file, replacing the previous checkpoint at once
+	 */
+	public void save(Path file) throws IOException {
+		Properties properties = new Properties();
+		properties.setProperty("input.path", inputPath);
+		properties.setProperty("input.size", String.valueOf(inputSize));
+		properties.setProperty("input.offset", String.valueOf(inputOffset));
+		properties.setProperty("output.offset", String.valueOf(outputOffset));
+		properties.setProperty("items", String.valueOf(items));
+		properties.setProperty("failed.items", String.valueOf(failedItems));
+		Path temp = file.resolveSibling(file.getFileName() + ".tmp");
+		try (Writer writer = Files.newBufferedWriter(temp, StandardCharsets.UTF_8)) {
+			properties.store(writer, "Bulk execution checkpoint, delete to start over");
+		}
+		Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+	}
+
+	public static BulkExecutionCheckpoint load(Path file) throws IOException {
+		Properties properties = new Properties();
+		try (Reader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+			properties.load(reader);
+		}
+		try {
+			return new BulkExecutionCheckpoint(properties.getProperty("input.path"),
+											   Long.parseLong(properties.getProperty("input.size")),
+											   Long.parseLong(properties.getProperty("input.offset")),
+											   Long.parseLong(properties.getProperty("output.offset")),
+											   Long.parseLong(properties.getProperty("items")),
+											   Long.parseLong(properties.getProperty("failed.items")));
+		} catch (NumberFormatException e) {
+			throw new IOException("Invalid bulk execution checkpoint file \"" + file + "\", delete it to start over", e);
+		}
+	}
+
+	public String getInputPath() {
+		return inputPath;
+	}
+
+	public long getInputSize() {
+		return inputSize;
+	}
+
+	public long getInputOffset() {
+		return inputOffset;
+	}
+
+	public long getOutputOffset() {
+		return outputOffset;
+	}
+
+	public long getItems() {
+		return items;
+	}
+
+	public long getFailedItems() {
+		return failedItems;
+	}
+}
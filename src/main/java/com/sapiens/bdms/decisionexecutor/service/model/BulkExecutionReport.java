@@ -0,0 +1,40 @@
+package com.sapiens.bdms.decisionexecutor.service.model;
+
+/***
+ * The outcome of a bulk execution of an input file
+ */
+public class BulkExecutionReport {
+	private final long items;
+	private final long failedItems;
+	private final long resumedItems;
+	private final long durationMillis;
+
+	/***
+	 * @param items The number of records executed in total, including those executed before resuming
+	 * @param failedItems The number of records that failed in total
+	 * @param resumedItems The number of records that were executed before resuming from a checkpoint
+	 * @param durationMillis The time this run took
+	 */
+	public BulkExecutionReport(long items, long failedItems, long resumedItems, long durationMillis) {
+		this.items = items;
+		this.failedItems = failedItems;
+		this.resumedItems = resumedItems;
+		this.durationMillis = durationMillis;
+	}
+
+	public long getItems() {
+		return items;
+	}
+
+	public long getFailedItems() {
+		return failedItems;
+	}
+
+	public long getResumedItems() {
+		return resumedItems;
+	}
+
+	public long getDurationMillis() {
+		return durationMillis;
+	}
+}
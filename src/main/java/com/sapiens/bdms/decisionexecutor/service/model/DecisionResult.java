@@ -0,0 +1,29 @@
+package com.sapiens.bdms.decisionexecutor.service.model;
+
+import java.util.Collection;
+import java.util.Map;
+
+/***
+ * The result of a decision execution - its conclusion value and the conclusion messages
+ */
+public class DecisionResult {
+	private final Object conclusion;
+	private final Map<String, Collection<String>> messages;
+
+	/***
+	 * @param conclusion The conclusion value
+	 * @param messages The conclusion messages by row, null if not collected by a lean execution
+	 */
+	public DecisionResult(Object conclusion, Map<String, Collection<String>> messages) {
+		this.conclusion = conclusion;
+		this.messages = messages;
+	}
+
+	public Object getConclusion() {
+		return conclusion;
+	}
+
+	public Map<String, Collection<String>> getMessages() {
+		return messages;
+	}
+}
@@ -0,0 +1,132 @@
+package com.sapiens.bdms.decisionexecutor.service.model;
+
+import com.sapiens.bdms.event.listener.face.EventListener;
+import com.sapiens.bdms.event.type.impl.DvNotFoundEvent;
+import com.sapiens.bdms.event.type.impl.ExecutionFinishedEvent;
+import com.sapiens.bdms.event.type.impl.ExecutionStartedEvent;
+import com.sapiens.bdms.event.type.impl.RowConflictEvent;
+import com.sapiens.bdms.event.type.impl.RowHitEvent;
+import com.sapiens.bdms.java.exe.helper.base.RowHit;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/***
+ * Aggregates the events of the executions of a single decision version: how often each of its rows fires, how often
+ * rows conflict and how long the executions take. Subscribed to the executed decision instances, so it is notified
+ * on the executing threads, and counts into striped counters without allocating per event once each row was counted.
+ */
+public class DecisionRuleAnalytics implements EventListener {
+
+	// the start time of the execution on the current thread, as an executing thread runs a single decision at a time
+	private static final ThreadLocal<long[]> EXECUTION_START_NANOS = ThreadLocal.withInitial(() -> new long[1]);
+
+	private final ArtifactKey artifact;
+	private final ArtifactJar jar;
+	private final Date since = new Date();
+
+	// set as the event listeners of the decision instances
+	private final Collection<EventListener> asListeners = Collections.singletonList(this);
+
+	private final LongAdder executions = new LongAdder();
+	private final LongAdder totalExecutionNanos = new LongAdder();
+	private final LongAccumulator maxExecutionNanos = new LongAccumulator(Long::max, 0);
+	private final LongAdder conflicts = new LongAdder();
+	private final LongAdder decisionViewsNotFound = new LongAdder();
+
+	// by rule family name and row ID
+	private final ConcurrentMap<String, ConcurrentMap<String, LongAdder>> rowHits = new ConcurrentHashMap<>();
+
+	// by row ID, as the conflicting row hits are given without their rule family
+	private final ConcurrentMap<String, LongAdder> rowConflicts = new ConcurrentHashMap<>();
+
+	/***
+	 * @param jar The jar the decision class was loaded from, so the analytics are dropped once it is reloaded
+	 */
+	public DecisionRuleAnalytics(ArtifactKey artifact, ArtifactJar jar) {
+		this.artifact = artifact;
+		this.jar = jar;
+	}
+
+	@Override
+	public void afterExecutionStarted(ExecutionStartedEvent event) {
+		EXECUTION_START_NANOS.get()[0] = System.nanoTime();
+	}
+
+	@Override
+	public void beforeExecutionFinished(ExecutionFinishedEvent event) {
+		long durationNanos = System.nanoTime() - EXECUTION_START_NANOS.get()[0];
+		executions.increment();
+		totalExecutionNanos.add(durationNanos);
+		maxExecutionNanos.accumulate(durationNanos);
+	}
+
+	@Override
+	public void afterRowHit(RowHitEvent event) {
+		ConcurrentMap<String, LongAdder> familyRowHits = rowHits.get(event.getRfvName());
+		if (familyRowHits == null) {
+			familyRowHits = rowHits.computeIfAbsent(event.getRfvName(), name -> new ConcurrentHashMap<>());
+		}
+		getCounter(familyRowHits, event.getRuleName()).increment();
+	}
+
+	@Override
+	public void afterRowConflict(RowConflictEvent event) {
+		conflicts.increment();
+		for (RowHit rowHit : event.getRowHits()) {
+			getCounter(rowConflicts, rowHit.getRowId()).increment();
+		}
+	}
+
+	@Override
+	public void afterDecisionViewNotFound(DvNotFoundEvent event) {
+		decisionViewsNotFound.increment();
+	}
+
+	/***
+	 * @return This analytics as the event listeners to set to a decision instance
+	 */
+	public Collection<EventListener> asListeners() {
+		return asListeners;
+	}
+
+	public ArtifactJar getJar() {
+		return jar;
+	}
+
+	/***
+	 * @return The analytics so far, with the rows by their number of hits, descending
+	 */
+	public DecisionRuleStatistics getStatistics() {
+		long executionsCount = executions.sum();
+		List<DecisionRuleStatistics.RowStatistics> rows = new ArrayList<>();
+		rowHits.forEach((ruleFamily, familyRowHits) -> familyRowHits.forEach((rowId, hits) -> {
+			LongAdder conflictsCount = rowConflicts.get(rowId);
+			rows.add(new DecisionRuleStatistics.RowStatistics(ruleFamily, rowId, hits.sum(), conflictsCount == null ? 0 : conflictsCount.sum(),
+															  executionsCount == 0 ? 0 : (double) hits.sum() / executionsCount));
+		}));
+		rows.sort(Comparator.comparingLong(DecisionRuleStatistics.RowStatistics::getHits).reversed());
+		return new DecisionRuleStatistics(artifact.toString(), since, executionsCount,
+										  executionsCount == 0 ? 0 : toMicros(totalExecutionNanos.sum()) / executionsCount,
+										  toMicros(maxExecutionNanos.get()), conflicts.sum(), decisionViewsNotFound.sum(), rows);
+	}
+
+	private static LongAdder getCounter(ConcurrentMap<String, LongAdder> counters, String name) {
+		LongAdder counter = counters.get(name);
+		return counter != null ? counter : counters.computeIfAbsent(name, key -> new LongAdder());
+	}
+
+	private static double toMicros(long nanos) {
+		return (double) nanos / TimeUnit.MICROSECONDS.toNanos(1);
+	}
+}
@@ -0,0 +1,120 @@
+package com.sapiens.bdms.decisionexecutor.service.model;
+
+import java.util.Date;
+import java.util.List;
+
+/***
+ * The row hits, conflicts and execution time of a single decision version, returned as the web response of the
+ * rule analytics statistics
+ */
+public class DecisionRuleStatistics {
+	private final String artifact;
+	private final Date since;
+	private final long executions;
+	private final double averageExecutionMicros;
+	private final double maxExecutionMicros;
+	private final long conflicts;
+	private final long decisionViewsNotFound;
+	private final List<RowStatistics> rows;
+
+	public DecisionRuleStatistics(String artifact,
+								  Date since,
+								  long executions,
+								  double averageExecutionMicros,
+								  double maxExecutionMicros,
+								  long conflicts,
+								  long decisionViewsNotFound,
+								  List<RowStatistics> rows) {
+		this.artifact = artifact;
+		this.since = since;
+		this.executions = executions;
+		this.averageExecutionMicros = averageExecutionMicros;
+		this.maxExecutionMicros = maxExecutionMicros;
+		this.conflicts = conflicts;
+		this.decisionViewsNotFound = decisionViewsNotFound;
+		this.rows = rows;
+	}
+
+	public String getArtifact() {
+		return artifact;
+	}
+
+	/***
+	 * @return The time the analytics started, once the decision was first executed since its jar was loaded
+	 */
+	public Date getSince() {
+		return since;
+	}
+
+	public long getExecutions() {
+		return executions;
+	}
+
+	public double getAverageExecutionMicros() {
+		return averageExecutionMicros;
+	}
+
+	public double getMaxExecutionMicros() {
+		return maxExecutionMicros;
+	}
+
+	/***
+	 * @return The number of times rows conflicted on setting the same fact type
+	 */
+	public long getConflicts() {
+		return conflicts;
+	}
+
+	public long getDecisionViewsNotFound() {
+		return decisionViewsNotFound;
+	}
+
+	/***
+	 * @return The rows that fired at least once, by their number of hits, descending. A row not listed never fired.
+	 */
+	public List<RowStatistics> getRows() {
+		return rows;
+	}
+
+	/***
+	 * The hits of a single row of the decision
+	 */
+	public static class RowStatistics {
+		private final String ruleFamily;
+		private final String rowId;
+		private final long hits;
+		private final long conflicts;
+		private final double hitsPerExecution;
+
+		public RowStatistics(String ruleFamily, String rowId, long hits, long conflicts, double hitsPerExecution) {
+			this.ruleFamily = ruleFamily;
+			this.rowId = rowId;
+			this.hits = hits;
+			this.conflicts = conflicts;
+			this.hitsPerExecution = hitsPerExecution;
+		}
+
+		public String getRuleFamily() {
+			return ruleFamily;
+		}
+
+		public String getRowId() {
+			return rowId;
+		}
+
+		public long getHits() {
+			return hits;
+		}
+
+		/***
+		 * @return The number of conflicts the row took part in
+		 */
+		public long getConflicts() {
+			return conflicts;
+		}
+
+		public double getHitsPerExecution() {
+			return hitsPerExecution;
+		}
+	}
+}
@@ -0,0 +1,43 @@
+package com.sapiens.bdms.decisionexecutor.service.model;
+
+/***
+ * Statistics of the coalesced identical executions, returned as the web response of the execution coalescing statistics
+ */
+public class ExecutionCoalescingStatistics {
+	private final boolean enabled;
+	private final int inFlightExecutions;
+	private final long submittedExecutions;
+	private final long coalescedExecutions;
+
+	public ExecutionCoalescingStatistics(boolean enabled, int inFlightExecutions, long submittedExecutions, long coalescedExecutions) {
+		this.enabled = enabled;
+		this.inFlightExecutions = inFlightExecutions;
+		this.submittedExecutions = submittedExecutions;
+		this.coalescedExecutions = coalescedExecutions;
+	}
+
+	public boolean isEnabled() {
+		return enabled;
+	}
+
+	/***
+	 * @return The number of distinct executions currently queued or executing
+	 */
+	public int getInFlightExecutions() {
+		return inFlightExecutions;
+	}
+
+	/***
+	 * @return The number of executions submitted so far, since no identical execution was in flight
+	 */
+	public long getSubmittedExecutions() {
+		return submittedExecutions;
+	}
+
+	/***
+	 * @return The number of calls so far which shared an identical execution in flight rather than executing
+	 */
+	public long getCoalescedExecutions() {
+		return coalescedExecutions;
+	}
+}
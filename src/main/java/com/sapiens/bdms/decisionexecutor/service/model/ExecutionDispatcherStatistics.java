@@ -0,0 +1,121 @@
+package com.sapiens.bdms.decisionexecutor.service.model;
+
+/***
+ * Statistics of the execution pool and its queue, returned as the web response of the execution queue statistics
+ */
+public class ExecutionDispatcherStatistics {
+	private final int poolSize;
+	private final int activeThreads;
+	private final int queueDepth;
+	private final int queueCapacity;
+	private final long submittedExecutions;
+	private final long completedExecutions;
+	private final long rejectedExecutions;
+	private final long throttledExecutions;
+	private final long timedOutExecutions;
+	private final long abandonedExecutions;
+	private final long stuckExecutions;
+	private final double averageQueueWaitMillis;
+	private final double maxQueueWaitMillis;
+
+	public ExecutionDispatcherStatistics(int poolSize,
+										 int activeThreads,
+										 int queueDepth,
+										 int queueCapacity,
+										 long submittedExecutions,
+										 long completedExecutions,
+										 long rejectedExecutions,
+										 long throttledExecutions,
+										 long timedOutExecutions,
+										 long abandonedExecutions,
+										 long stuckExecutions,
+										 double averageQueueWaitMillis,
+										 double maxQueueWaitMillis) {
+		this.poolSize = poolSize;
+		this.activeThreads = activeThreads;
+		this.queueDepth = queueDepth;
+		this.queueCapacity = queueCapacity;
+		this.submittedExecutions = submittedExecutions;
+		this.completedExecutions = completedExecutions;
+		this.rejectedExecutions = rejectedExecutions;
+		this.throttledExecutions = throttledExecutions;
+		this.timedOutExecutions = timedOutExecutions;
+		this.abandonedExecutions = abandonedExecutions;
+		this.stuckExecutions = stuckExecutions;
+		this.averageQueueWaitMillis = averageQueueWaitMillis;
+		this.maxQueueWaitMillis = maxQueueWaitMillis;
+	}
+
+	public int getPoolSize() {
+		return poolSize;
+	}
+
+	public int getActiveThreads() {
+		return activeThreads;
+	}
+
+	/***
+	 * @return The number of executions currently waiting for a pool thread
+	 */
+	public int getQueueDepth() {
+		return queueDepth;
+	}
+
+	public int getQueueCapacity() {
+		return queueCapacity;
+	}
+
+	/***
+	 * @return The number of executions accepted so far, including the queued and executing ones
+	 */
+	public long getSubmittedExecutions() {
+		return submittedExecutions;
+	}
+
+	public long getCompletedExecutions() {
+		return completedExecutions;
+	}
+
+	/***
+	 * @return The number of executions rejected so far since the queue was full for their priority
+	 */
+	public long getRejectedExecutions() {
+		return rejectedExecutions;
+	}
+
+	/***
+	 * @return The number of executions rejected so far since their artifact's concurrency limit was reached
+	 */
+	public long getThrottledExecutions() {
+		return throttledExecutions;
+	}
+
+	/***
+	 * @return The number of executions so far which did not complete before their deadline
+	 */
+	public long getTimedOutExecutions() {
+		return timedOutExecutions;
+	}
+
+	/***
+	 * @return The number of timed out executions so far which were still queued, so were not executed at all
+	 */
+	public long getAbandonedExecutions() {
+		return abandonedExecutions;
+	}
+
+	/***
+	 * @return The number of timed out executions so far whose thread kept running the artifact well past the deadline
+	 */
+	public long getStuckExecutions() {
+		return stuckExecutions;
+	}
+
+	public double getAverageQueueWaitMillis() {
+		return averageQueueWaitMillis;
+	}
+
+	public double getMaxQueueWaitMillis() {
+		return maxQueueWaitMillis;
+	}
+}
@@ -0,0 +1,35 @@
+package com.sapiens.bdms.decisionexecutor.service.model;
+
+/***
+ * A phase of serving an execution call, timed per artifact
+ */
+public enum ExecutionPhase {
+	// resolving the artifact class name from the call's parameters, once per execution plan
+	CLASSPATH_RESOLUTION("classpath.resolution"),
+	// loading the artifact class from its jar, once per execution plan
+	CLASS_LOOKUP("class.lookup"),
+	// constructing or acquiring the pooled artifact instance
+	INSTANTIATION("instantiation"),
+	// parsing the input values to the fact data types
+	FACT_INPUTS_PARSING("fact.inputs.parsing"),
+	// setting the parsed values as the fact types of the instance
+	FACT_INPUTS_BINDING("fact.inputs.binding"),
+	EXECUTION("execution"),
+	// projecting the flow result to the requested facts, the rest of which is done as serialized
+	RESULT_NORMALIZATION("result.normalization"),
+	// writing the response body
+	SERIALIZATION("serialization");
+
+	private final String tag;
+
+	ExecutionPhase(String tag) {
+		this.tag = tag;
+	}
+
+	/***
+	 * @return The phase as tagged on its timer
+	 */
+	public String getTag() {
+		return tag;
+	}
+}
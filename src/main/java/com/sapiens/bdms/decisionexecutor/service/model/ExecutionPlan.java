@@ -0,0 +1,155 @@
+package com.sapiens.bdms.decisionexecutor.service.model;
+
+import com.sapiens.bdms.java.exe.helper.base.Decision;
+import com.sapiens.bdms.java.exe.helper.base.Flow;
+import com.sapiens.bdms.java.exe.helper.base.Group;
+
+import java.lang.invoke.MethodHandle;
+import java.util.Set;
+
+/***
+ * A resolved, ready to run artifact - its class, constructor and fact schema, as resolved once
+ * from the artifact's request parameters
+ */
+public class ExecutionPlan {
+	private final ArtifactKey key;
+	private final String className;
+	private final ArtifactJar jar;
+	private final Class artifactClass;
+	private final MethodHandle constructor;
+	private final String artifactName;
+	private final FactSchema factSchema;
+
+	// as the artifact is generated, restored by the full execution profile
+	private final boolean defaultDecisionTrace;
+	private final boolean defaultDereferenceFacts;
+
+	// null if the instances of the artifact are not pooled
+	private final ArtifactInstancePool instancePool;
+
+	/***
+	 * @param instancePoolSize The maximal number of idle instances to keep for reuse, 0 to create a new instance for
+	 *                         each execution
+	 * @param pristineInstance A never executed instance of the artifact
+	 */
+	public ExecutionPlan(ArtifactKey key,
+						 String className,
+						 ArtifactJar jar,
+						 Class artifactClass,
+						 MethodHandle constructor,
+						 String artifactName,
+						 FactSchema factSchema,
+						 int instancePoolSize,
+						 Group pristineInstance) {
+		this.key = key;
+		this.className = className;
+		this.jar = jar;
+		this.artifactClass = artifactClass;
+		this.constructor = constructor;
+		this.artifactName = artifactName;
+		this.factSchema = factSchema;
+		this.defaultDecisionTrace = pristineInstance instanceof Flow && ((Flow) pristineInstance).isEnableDecisionTrace();
+		this.defaultDereferenceFacts = pristineInstance instanceof Decision && ((Decision) pristineInstance).isDereferenceFactsAfterExecution();
+		this.instancePool = instancePoolSize > 0 ?
+				new ArtifactInstancePool(className, this::newInstance, instancePoolSize, pristineInstance) : null;
+	}
+
+	/***
+	 * @return An instance of the artifact to execute, reused from the instance pool if pooled.
+	 * Must be followed by "releaseInstance" once its execution results were detached from it.
+	 * @throws InstantiationException if the artifact constructor failed
+	 */
+	public Group acquireInstance() throws InstantiationException {
+		return instancePool == null ? newInstance() : instancePool.acquire();
+	}
+
+	/***
+	 * Returns the given instance, which executed successfully, to the instance pool if pooled
+	 */
+	public void releaseInstance(Group instance) {
+		if (instancePool != null) {
+			instancePool.release(instance);
+		}
+	}
+
+	/***
+	 * @return true if the instances of this artifact are reused, hence the execution results must be
+	 * detached from an instance before it is released
+	 */
+	public boolean isPooled() {
+		return instancePool != null && instancePool.isResettable();
+	}
+
+	/***
+	 * @return A new instance of the artifact
+	 * @throws InstantiationException if the artifact constructor failed
+	 */
+	public Group newInstance() throws InstantiationException {
+		try {
+			return (Group) constructor.invoke();
+		} catch (Throwable e) {
+			InstantiationException instantiationException = new InstantiationException("Failed to instantiate artifact class \"" + className + "\": " + e.getMessage());
+			instantiationException.initCause(e);
+			throw instantiationException;
+		}
+	}
+
+	/***
+	 * Sets the given instance to collect the diagnostics of the given profile, since a pooled instance may have
+	 * executed with another profile: for the lean profile, no decisions trace of a flow, and the facts of a decision
+	 * dereferenced once executed unless the instance is reused anyway, otherwise as the artifact does by default
+	 */
+	public void applyProfile(Group instance, ExecutionProfile profile) {
+		boolean lean = profile == ExecutionProfile.LEAN;
+		if (instance instanceof Flow) {
+			((Flow) instance).setEnableDecisionTrace(defaultDecisionTrace && !lean);
+		} else if (instance instanceof Decision) {
+			((Decision) instance).setDereferenceFactsAfterExecution(defaultDereferenceFacts || (lean && !isPooled()));
+		}
+	}
+
+	/***
+	 * @return true if this plan was resolved from the jar given generation loads the artifact class from
+	 */
+	public boolean isValidFor(ArtifactsGeneration generation) {
+		return generation.getArtifactJar(className) == jar;
+	}
+
+	public ArtifactKey getKey() {
+		return key;
+	}
+
+	public String getClassName() {
+		return className;
+	}
+
+	public ArtifactJar getJar() {
+		return jar;
+	}
+
+	public Class getArtifactClass() {
+		return artifactClass;
+	}
+
+	public String getArtifactName() {
+		return artifactName;
+	}
+
+	/***
+	 * @return The names of the fact types that can be set as inputs, normalized as upper camel case
+	 */
+	public Set<String> getFactTypeNames() {
+		return factSchema.getFactNames();
+	}
+
+	public FactSchema getFactSchema() {
+		return factSchema;
+	}
+
+	/***
+	 * @return The instance pool of the artifact, null if not pooled
+	 */
+	public ArtifactInstancePool getInstancePool() {
+		return instancePool;
+	}
+}
@@ -0,0 +1,79 @@
+package com.sapiens.bdms.decisionexecutor.service.model;
+
+import com.google.common.collect.Lists;
+
+import java.util.Collection;
+import java.util.List;
+
+/***
+ * The execution plans cache statistics, returned as the web response of the execution plans statistics
+ */
+public class ExecutionPlanCacheStatistics {
+	private final long size;
+	private final long hitCount;
+	private final long missCount;
+	private final double hitRate;
+	private final long evictionCount;
+	private long reusedInstances;
+	private long createdInstances;
+	private final List<String> notResettableArtifacts = Lists.newArrayList();
+
+	public ExecutionPlanCacheStatistics(long size, long hitCount, long missCount, long evictionCount, Collection<ExecutionPlan> plans) {
+		this.size = size;
+		this.hitCount = hitCount;
+		this.missCount = missCount;
+		this.hitRate = hitCount + missCount == 0 ? 0 : (double) hitCount / (hitCount + missCount);
+		this.evictionCount = evictionCount;
+		for (ExecutionPlan plan : plans) {
+			ArtifactInstancePool pool = plan.getInstancePool();
+			if (pool != null) {
+				reusedInstances += pool.getReusedInstances();
+				createdInstances += pool.getCreatedInstances();
+				if (!pool.isResettable()) {
+					notResettableArtifacts.add(plan.getKey().toString());
+				}
+			}
+		}
+	}
+
+	public long getSize() {
+		return size;
+	}
+
+	public long getHitCount() {
+		return hitCount;
+	}
+
+	public long getMissCount() {
+		return missCount;
+	}
+
+	public double getHitRate() {
+		return hitRate;
+	}
+
+	public long getEvictionCount() {
+		return evictionCount;
+	}
+
+	/***
+	 * @return The number of executions of the cached plans' artifacts that reused a pooled instance
+	 */
+	public long getReusedInstances() {
+		return reusedInstances;
+	}
+
+	/***
+	 * @return The number of executions of the cached plans' pooled artifacts that had to create a new instance
+	 */
+	public long getCreatedInstances() {
+		return createdInstances;
+	}
+
+	/***
+	 * @return The cached artifacts whose instances were found not to reset cleanly, hence are not pooled
+	 */
+	public List<String> getNotResettableArtifacts() {
+		return notResettableArtifacts;
+	}
+}
@@ -0,0 +1,11 @@
+package com.sapiens.bdms.decisionexecutor.service.model;
+
+/***
+ * The priority class of the executions of a package prefix, by which executions are shed once the execution queue
+ * fills up: sheddable executions first, critical executions last
+ */
+public enum ExecutionPriority {
+	CRITICAL,
+	NORMAL,
+	SHEDDABLE
+}
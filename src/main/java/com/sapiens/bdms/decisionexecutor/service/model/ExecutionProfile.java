@@ -0,0 +1,31 @@
+package com.sapiens.bdms.decisionexecutor.service.model;
+
+import com.google.common.base.Joiner;
+
+/***
+ * How much diagnostics an execution collects and returns besides its conclusion
+ */
+public enum ExecutionProfile {
+	/***
+	 * As the artifact executes by default, returning the row hits of the flow facts and the decision messages
+	 */
+	FULL,
+	/***
+	 * Without the decisions trace of flows, dereferencing the facts of decisions once executed, and returning
+	 * only the fact values of flows and the conclusion of decisions
+	 */
+	LEAN;
+
+	/***
+	 * @param name The profile name, case insensitive
+	 * @throws IllegalArgumentException If not a profile name
+	 */
+	public static ExecutionProfile parse(String name) {
+		try {
+			return valueOf(name.trim().toUpperCase());
+		} catch (IllegalArgumentException e) {
+			throw new IllegalArgumentException("Invalid execution profile \"" + name + "\", expected " +
+													   Joiner.on(" or ").join(values()).toLowerCase());
+		}
+	}
+}
@@ -0,0 +1,80 @@
+package com.sapiens.bdms.decisionexecutor.service.model;
+
+/***
+ * The execution results cache statistics, returned as the web response of the execution results statistics
+ */
+public class ExecutionResultCacheStatistics {
+	private final boolean enabled;
+	private final long size;
+	private final long hitCount;
+	private final long missCount;
+	private final double hitRate;
+	private final long evictionCount;
+	private final long invalidationCount;
+	private final long estimatedBytes;
+	private final long maxBytes;
+
+	public ExecutionResultCacheStatistics(boolean enabled,
+										  long size,
+										  long hitCount,
+										  long missCount,
+										  long evictionCount,
+										  long invalidationCount,
+										  long estimatedBytes,
+										  long maxBytes) {
+		this.enabled = enabled;
+		this.size = size;
+		this.hitCount = hitCount;
+		this.missCount = missCount;
+		this.hitRate = hitCount + missCount == 0 ? 0 : (double) hitCount / (hitCount + missCount);
+		this.evictionCount = evictionCount;
+		this.invalidationCount = invalidationCount;
+		this.estimatedBytes = estimatedBytes;
+		this.maxBytes = maxBytes;
+	}
+
+	public boolean isEnabled() {
+		return enabled;
+	}
+
+	public long getSize() {
+		return size;
+	}
+
+	public long getHitCount() {
+		return hitCount;
+	}
+
+	public long getMissCount() {
+		return missCount;
+	}
+
+	public double getHitRate() {
+		return hitRate;
+	}
+
+	/***
+	 * @return The number of results evicted so far, either as least recently used or once expired
+	 */
+	public long getEvictionCount() {
+		return evictionCount;
+	}
+
+	/***
+	 * @return The number of results dropped so far since their artifact's jar was reloaded or unloaded
+	 */
+	public long getInvalidationCount() {
+		return invalidationCount;
+	}
+
+	/***
+	 * @return The estimated memory footprint of the cached inputs and results
+	 */
+	public long getEstimatedBytes() {
+		return estimatedBytes;
+	}
+
+	public long getMaxBytes() {
+		return maxBytes;
+	}
+}
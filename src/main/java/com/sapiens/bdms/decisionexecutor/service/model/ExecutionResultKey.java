@@ -0,0 +1,92 @@
+package com.sapiens.bdms.decisionexecutor.service.model;
+
+import com.google.common.collect.Maps;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+
+/***
+ * Identifies the result of an execution by the resolved artifact, its execution profile and its parsed inputs, so inputs sent with different
+ * fact name spellings, value formats or order are the same key
+ */
+public class ExecutionResultKey {
+	private final ArtifactKey artifact;
+	private final ArtifactJar jar;
+	private final ExecutionProfile profile;
+	private final Map<String, Object> inputs;
+	private final int hashCode;
+
+	/***
+	 * @param artifact The executed artifact
+	 * @param jar The jar the artifact class was loaded from, so a result of a reloaded jar is never returned
+	 * @param profile The execution profile, which determines the diagnostics of the result
+	 * @param parsedInputs The inputs parsed to the fact data types by their normalized fact name, which are copied since
+	 *                     the bound inputs may be modified by the execution
+	 */
+	public ExecutionResultKey(ArtifactKey artifact, ArtifactJar jar, ExecutionProfile profile, Map<String, Object> parsedInputs) {
+		this.artifact = artifact;
+		this.jar = jar;
+		this.profile = profile;
+		this.inputs = Maps.newHashMapWithExpectedSize(parsedInputs.size());
+		parsedInputs.forEach((name, value) -> inputs.put(name, copyValue(value)));
+		this.hashCode = 31 * (31 * artifact.hashCode() + System.identityHashCode(jar)) + 31 * profile.hashCode() + inputs.hashCode();
+	}
+
+	public ArtifactKey getArtifact() {
+		return artifact;
+	}
+
+	public ArtifactJar getJar() {
+		return jar;
+	}
+
+	public ExecutionProfile getProfile() {
+		return profile;
+	}
+
+	public Map<String, Object> getInputs() {
+		return inputs;
+	}
+
+	@Override
+	public boolean equals(Object o) {
+		if (this == o) {
+			return true;
+		}
+		if (o == null || getClass() != o.getClass()) {
+			return false;
+		}
+		ExecutionResultKey that = (ExecutionResultKey) o;
+		return hashCode == that.hashCode &&
+				jar == that.jar &&
+				profile == that.profile &&
+				artifact.equals(that.artifact) &&
+				inputs.equals(that.inputs);
+	}
+
+	@Override
+	public int hashCode() {
+		return hashCode;
+	}
+
+	/***
+	 * @return A copy of the given parsed value if mutable, i.e: a list or a date
+	 */
+	private static Object copyValue(Object value) {
+		if (value instanceof Collection) {
+			List<Object> copy = new ArrayList<>(((Collection<?>) value).size());
+			for (Object member : (Collection<?>) value) {
+				copy.add(copyValue(member));
+			}
+			return Collections.unmodifiableList(copy);
+		}
+		if (value instanceof Date) {
+			return new Date(((Date) value).getTime());
+		}
+		return value;
+	}
+}
@@ -0,0 +1,95 @@
+package com.sapiens.bdms.decisionexecutor.service.model;
+
+import com.google.common.collect.Lists;
+
+import java.util.List;
+import java.util.Map;
+
+/***
+ * The trace of a single execution - its inputs, the executables it ran and its result or error, recorded by the
+ * thread executing it and written once published
+ */
+public class ExecutionTrace {
+	private final String requestId;
+	private final ArtifactKey artifact;
+	private final ExecutionProfile profile;
+	private final Map<String, Object> inputs;
+	private final List<ExecutionTraceStep> steps = Lists.newArrayList();
+	private final long startedAtMillis = System.currentTimeMillis();
+	private String threadName;
+	private long durationMicros;
+	private Object result;
+	private String error;
+
+	/***
+	 * @param requestId Identifies the traced request, by which the trace is retrieved
+	 * @param artifact The executed artifact
+	 * @param profile The execution profile of the result
+	 * @param inputs The execution input values by their fact name, as sent in the request
+	 */
+	public ExecutionTrace(String requestId, ArtifactKey artifact, ExecutionProfile profile, Map<String, Object> inputs) {
+		this.requestId = requestId;
+		this.artifact = artifact;
+		this.profile = profile;
+		this.inputs = inputs;
+	}
+
+	public void addStep(ExecutionTraceStep step) {
+		steps.add(step);
+	}
+
+	/***
+	 * Records the end of the execution, which started the given nanos, on the calling thread
+	 * @param result The execution result, null if failed
+	 * @param error The error the execution failed with, null if succeeded
+	 */
+	public void finish(long startNanos, Object result, Exception error) {
+		this.threadName = Thread.currentThread().getName();
+		this.durationMicros = (System.nanoTime() - startNanos) / 1000;
+		this.result = result;
+		this.error = error == null ? null : (error.getMessage() != null ? error.getMessage() : error.toString());
+	}
+
+	public String getRequestId() {
+		return requestId;
+	}
+
+	public String getArtifact() {
+		return artifact.toString();
+	}
+
+	public ExecutionProfile getProfile() {
+		return profile;
+	}
+
+	public long getStartedAtMillis() {
+		return startedAtMillis;
+	}
+
+	public String getThreadName() {
+		return threadName;
+	}
+
+	public long getDurationMicros() {
+		return durationMicros;
+	}
+
+	public Map<String, Object> getInputs() {
+		return inputs;
+	}
+
+	/***
+	 * @return The executables run by a flow, in the order executed, or the executed decision itself
+	 */
+	public List<ExecutionTraceStep> getSteps() {
+		return steps;
+	}
+
+	public Object getResult() {
+		return result;
+	}
+
+	public String getError() {
+		return error;
+	}
+}
@@ -0,0 +1,76 @@
+package com.sapiens.bdms.decisionexecutor.service.model;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/***
+ * A bounded ring of the traces published by the executing threads without locking, taken in order by a single
+ * writer thread. A trace published while the ring is full is dropped rather than blocking the execution.
+ */
+public class ExecutionTraceBuffer {
+	private final AtomicReferenceArray<ExecutionTrace> slots;
+	private final int mask;
+
+	// the sequence of the next slot to publish to, claimed by the publishing threads
+	private final AtomicLong tail = new AtomicLong();
+
+	// the sequence of the next slot to take from, advanced by the writer thread only
+	private volatile long head;
+
+	private final LongAdder dropped = new LongAdder();
+
+	/***
+	 * @param capacity The maximal number of traces published and not taken yet, rounded up to a power of two
+	 */
+	public ExecutionTraceBuffer(int capacity) {
+		int size = Integer.highestOneBit(Math.max(capacity, 2) - 1) << 1;
+		this.slots = new AtomicReferenceArray<>(size);
+		this.mask = size - 1;
+	}
+
+	/***
+	 * @return false if the ring is full, in which case the trace is dropped
+	 */
+	public boolean publish(ExecutionTrace trace) {
+		long sequence;
+		do {
+			sequence = tail.get();
+			if (sequence - head >= slots.length()) {
+				dropped.increment();
+				return false;
+			}
+		} while (!tail.compareAndSet(sequence, sequence + 1));
+		slots.set((int) sequence & mask, trace);
+		return true;
+	}
+
+	/***
+	 * Called by the writer thread only
+	 * @return The oldest published trace, or null if none, or if its publishing thread did not set it yet
+	 */
+	public ExecutionTrace take() {
+		int slot = (int) head & mask;
+		ExecutionTrace trace = slots.get(slot);
+		if (trace != null) {
+			slots.set(slot, null);
+			head++;
+		}
+		return trace;
+	}
+
+	public int getCapacity() {
+		return slots.length();
+	}
+
+	/***
+	 * @return The number of traces published and not taken yet
+	 */
+	public int getPending() {
+		return (int) (tail.get() - head);
+	}
+
+	public long getDropped() {
+		return dropped.sum();
+	}
+}
@@ -0,0 +1,71 @@
+package com.sapiens.bdms.decisionexecutor.service.model;
+
+/***
+ * Statistics of the execution traces, returned as the web response of the execution traces statistics
+ */
+public class ExecutionTraceStatistics {
+	private final double sampleRate;
+	private final long tracedExecutions;
+	private final long writtenTraces;
+	private final long droppedTraces;
+	private final int pendingTraces;
+	private final int bufferCapacity;
+	private final long retainedTraces;
+
+	public ExecutionTraceStatistics(double sampleRate, long tracedExecutions, long writtenTraces, long droppedTraces,
+									int pendingTraces, int bufferCapacity, long retainedTraces) {
+		this.sampleRate = sampleRate;
+		this.tracedExecutions = tracedExecutions;
+		this.writtenTraces = writtenTraces;
+		this.droppedTraces = droppedTraces;
+		this.pendingTraces = pendingTraces;
+		this.bufferCapacity = bufferCapacity;
+		this.retainedTraces = retainedTraces;
+	}
+
+	/***
+	 * @return The fraction of the executions traced without being requested to
+	 */
+	public double getSampleRate() {
+		return sampleRate;
+	}
+
+	/***
+	 * @return The number of executions traced so far, either requested or sampled
+	 */
+	public long getTracedExecutions() {
+		return tracedExecutions;
+	}
+
+	/***
+	 * @return The number of traces written to the trace log so far
+	 */
+	public long getWrittenTraces() {
+		return writtenTraces;
+	}
+
+	/***
+	 * @return The number of traces dropped so far, since published while the buffer was full
+	 */
+	public long getDroppedTraces() {
+		return droppedTraces;
+	}
+
+	/***
+	 * @return The number of traces published and not written yet
+	 */
+	public int getPendingTraces() {
+		return pendingTraces;
+	}
+
+	public int getBufferCapacity() {
+		return bufferCapacity;
+	}
+
+	/***
+	 * @return The number of written traces kept to be retrieved by their request ID
+	 */
+	public long getRetainedTraces() {
+		return retainedTraces;
+	}
+}
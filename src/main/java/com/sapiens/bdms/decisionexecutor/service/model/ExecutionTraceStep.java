@@ -0,0 +1,43 @@
+package com.sapiens.bdms.decisionexecutor.service.model;
+
+import java.util.Collection;
+import java.util.Map;
+
+/***
+ * A decision or other executable run by a traced execution, in the order executed
+ */
+public class ExecutionTraceStep {
+	private final String name;
+	private final String type;
+	private final Object conclusion;
+	private final Map<String, Collection<String>> messages;
+
+	/***
+	 * @param name The executable name
+	 * @param type The executable type
+	 * @param conclusion The conclusion value, null if not a decision
+	 * @param messages The conclusion messages by row, null if not a decision
+	 */
+	public ExecutionTraceStep(String name, String type, Object conclusion, Map<String, Collection<String>> messages) {
+		this.name = name;
+		this.type = type;
+		this.conclusion = conclusion;
+		this.messages = messages;
+	}
+
+	public String getName() {
+		return name;
+	}
+
+	public String getType() {
+		return type;
+	}
+
+	public Object getConclusion() {
+		return conclusion;
+	}
+
+	public Map<String, Collection<String>> getMessages() {
+		return messages;
+	}
+}
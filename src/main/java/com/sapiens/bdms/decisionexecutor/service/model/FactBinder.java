@@ -0,0 +1,73 @@
+package com.sapiens.bdms.decisionexecutor.service.model;
+
+import com.sapiens.bdms.java.exe.helper.base.FactType;
+import com.sapiens.bdms.java.exe.helper.base.Group;
+
+import java.lang.invoke.MethodHandle;
+import java.util.Collection;
+
+/***
+ * Binds an input value to a single fact type of an artifact, as resolved once from the artifact class
+ */
+public class FactBinder {
+	private final String name;
+	private final Class<?> valueType;
+	private final Class<?> listMemberType;
+	private final MethodHandle fieldSetter;
+	private final FactValueConverter converter;
+
+	/***
+	 * @param name The fact type name normalized as upper camel case, same as its field name
+	 * @param valueType The return type of the fact getter, null if the artifact has no such getter
+	 * @param listMemberType The parameter type of the fact "add" method, null if not a list or the artifact has no such method
+	 * @param fieldSetter Sets the fact type field of an artifact instance, null if not accessible
+	 * @param converter Converts the input values to the fact data type
+	 */
+	public FactBinder(String name, Class<?> valueType, Class<?> listMemberType, MethodHandle fieldSetter, FactValueConverter converter) {
+		this.name = name;
+		this.valueType = valueType;
+		this.listMemberType = listMemberType;
+		this.fieldSetter = fieldSetter;
+		this.converter = converter;
+	}
+
+	/***
+	 * @param ftName The fact name as sent in the request
+	 * @param ftValue The input value
+	 * @return The input value converted to the fact data type
+	 */
+	public Object convert(String ftName, Object ftValue) {
+		return converter.convert(ftName, ftValue);
+	}
+
+	/***
+	 * Sets the given parsed value as the fact type of the given artifact instance, same as "Group.setFactType"
+	 */
+	public void bind(Group artifactInstance, Object parsedValue) {
+		if (fieldSetter == null) {
+			artifactInstance.setFactType(name, parsedValue);
+			return;
+		}
+		try {
+			fieldSetter.invoke(artifactInstance, new FactType<>(parsedValue, artifactInstance));
+		} catch (Throwable e) {
+			throw new RuntimeException("Incompatible data type of value: " + parsedValue + " for Fact Type: " + name, e);
+		}
+	}
+
+	public String getName() {
+		return name;
+	}
+
+	public Class<?> getValueType() {
+		return valueType;
+	}
+
+	public Class<?> getListMemberType() {
+		return listMemberType;
+	}
+
+	public boolean isList() {
+		return valueType != null && Collection.class.isAssignableFrom(valueType);
+	}
+}
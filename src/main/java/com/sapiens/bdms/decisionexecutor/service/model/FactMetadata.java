@@ -0,0 +1,37 @@
+package com.sapiens.bdms.decisionexecutor.service.model;
+
+/***
+ * A fact type which can be set as an execution input, returned as part of the artifact metadata web response
+ */
+public class FactMetadata {
+	private final String name;
+	private final String dataType;
+	private final String listMemberDataType;
+
+	public FactMetadata(FactBinder binder) {
+		this.name = binder.getName();
+		this.dataType = binder.getValueType() == null ? null : binder.getValueType().getSimpleName();
+		this.listMemberDataType = binder.getListMemberType() == null ? null : binder.getListMemberType().getSimpleName();
+	}
+
+	/***
+	 * @return The fact type name normalized as upper camel case
+	 */
+	public String getName() {
+		return name;
+	}
+
+	/***
+	 * @return The Java data type of the fact value, e.g: "String", "BigDecimal", "Date" or "List"
+	 */
+	public String getDataType() {
+		return dataType;
+	}
+
+	/***
+	 * @return The Java data type of the list members, null if the fact type is not a list
+	 */
+	public String getListMemberDataType() {
+		return listMemberDataType;
+	}
+}
@@ -0,0 +1,183 @@
+package com.sapiens.bdms.decisionexecutor.service.model;
+
+import com.google.common.collect.Maps;
+import com.sapiens.bdms.decisionexecutor.service.face.FactValueConverterService;
+import com.sapiens.bdms.java.exe.helper.base.Group;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
+
+/***
+ * The input fact types of an artifact, resolved once from the artifact class, so binding the request inputs to an
+ * artifact instance is a lookup per input fact rather than a scan of the artifact class methods
+ */
+public class FactSchema {
+
+	private static final Pattern NON_ALPHANUMERIC = Pattern.compile("[^a-zA-Z0-9]");
+
+	// sets the fact types map of a group, as done by "Group.setFactTypes"
+	private static final MethodHandle FACT_TYPES_SETTER = resolveFactTypesSetter();
+
+	// the multiple spellings of the same fact name sent by clients are bounded by this factor of the number of facts
+	private static final int RAW_NAMES_PER_FACT = 4;
+
+	// by the normalized fact name, in the artifact's fact types order
+	private final Map<String, FactBinder> bindersByName;
+
+	// in the artifact's fact types order, as the positional inputs are given
+	private final List<FactBinder> bindersByPosition;
+
+	// by the fact name as sent in the request
+	private final Map<String, FactBinder> bindersByRawName = new ConcurrentHashMap<>();
+
+	private FactSchema(Map<String, FactBinder> bindersByName) {
+		this.bindersByName = Collections.unmodifiableMap(bindersByName);
+		this.bindersByPosition = Collections.unmodifiableList(new ArrayList<>(bindersByName.values()));
+	}
+
+	/***
+	 * Resolves the getter, "add" method, field and value converter of each of the given fact types from the given
+	 * artifact class
+	 * @param artifactClass The artifact class
+	 * @param factTypeNames The names of the artifact's fact types which can be set as inputs
+	 * @param converters Chooses the value converter of each fact type
+	 * @return The fact schema of the artifact
+	 */
+	public static FactSchema build(Class artifactClass, Set<String> factTypeNames, FactValueConverterService converters) {
+		Map<String, Method> gettersByName = Maps.newHashMap();
+		Map<String, Method> addMethodsByName = Maps.newHashMap();
+		for (Method method : artifactClass.getDeclaredMethods()) {
+			if (method.getName().startsWith("get")) {
+				gettersByName.putIfAbsent(method.getName(), method);
+			} else if (method.getName().startsWith("add") && method.getParameterCount() == 1) {
+				addMethodsByName.putIfAbsent(method.getName(), method);
+			}
+		}
+
+		LinkedHashMap<String, FactBinder> bindersByName = Maps.newLinkedHashMap();
+		for (String factTypeName : factTypeNames) {
+			Method getter = gettersByName.get("get" + factTypeName);
+			Method addMethod = resolveAddMethod(addMethodsByName, factTypeName);
+			Class<?> valueType = getter == null ? null : getter.getReturnType();
+			Class<?> listMemberType = addMethod == null ? null : addMethod.getParameterTypes()[0];
+			bindersByName.put(factTypeName, new FactBinder(factTypeName, valueType, listMemberType,
+														   resolveFieldSetter(artifactClass, factTypeName),
+														   converters.getConverter(factTypeName, valueType, listMemberType)));
+		}
+		return new FactSchema(bindersByName);
+	}
+
+	/***
+	 * @param factName The fact name as sent in the request
+	 * @return The binder of the given fact name, or null if the artifact has no such fact type
+	 */
+	public FactBinder getBinder(String factName) {
+		FactBinder binder = bindersByRawName.get(factName);
+		if (binder == null) {
+			binder = bindersByName.get(normalizeToCamelCase(factName));
+			if (binder != null && bindersByRawName.size() < bindersByName.size() * RAW_NAMES_PER_FACT) {
+				bindersByRawName.put(factName, binder);
+			}
+		}
+		return binder;
+	}
+
+	/***
+	 * Sets the given parsed values as the fact types of the given artifact instance, same as "Group.setFactTypes"
+	 * @param artifactInstance The artifact instance
+	 * @param parsedValuesByName The parsed values by their normalized fact name, all of which must be of this schema
+	 */
+	public void bind(Group artifactInstance, Map<String, Object> parsedValuesByName) {
+		if (FACT_TYPES_SETTER == null) {
+			artifactInstance.setFactTypes(parsedValuesByName);
+			return;
+		}
+		parsedValuesByName.forEach((name, value) -> bindersByName.get(name).bind(artifactInstance, value));
+		try {
+			FACT_TYPES_SETTER.invoke(artifactInstance, parsedValuesByName);
+		} catch (Throwable e) {
+			throw new RuntimeException("Failed to set the fact types of artifact " + artifactInstance.getClass().getName(), e);
+		}
+	}
+
+	/***
+	 * @return The normalized names of the fact types, in the artifact's fact types order
+	 */
+	public Set<String> getFactNames() {
+		return bindersByName.keySet();
+	}
+
+	public Collection<FactBinder> getBinders() {
+		return bindersByName.values();
+	}
+
+	/***
+	 * @return The binders in the artifact's fact types order, same as of "getFactNames"
+	 */
+	public List<FactBinder> getBindersByPosition() {
+		return bindersByPosition;
+	}
+
+	/***
+	 * Transform given fact name to camel case with first letter as upper case
+	 * by dropping spaces and any non alphanumeric character
+	 * @param factName
+	 * @return
+	 */
+	public static String normalizeToCamelCase(String factName) {
+		StringBuilder builder = new StringBuilder(factName.length());
+		for (String word : factName.split(" ")) {
+			word = NON_ALPHANUMERIC.matcher(word).replaceAll(""); //removes any non alphanumeric char
+			if (!word.isEmpty()) {
+				builder.append(Character.toUpperCase(word.charAt(0))).append(word, 1, word.length());
+			}
+		}
+		return builder.toString();
+	}
+
+	/***
+	 * @return The "add" method of given list fact type, named as the fact type or starting with its name
+	 */
+	private static Method resolveAddMethod(Map<String, Method> addMethodsByName, String factTypeName) {
+		Method addMethod = addMethodsByName.get("add" + factTypeName);
+		if (addMethod != null) {
+			return addMethod;
+		}
+		return addMethodsByName.values().stream()
+							   .filter(method -> method.getName().startsWith("add" + factTypeName))
+							   .findFirst().orElse(null);
+	}
+
+	private static MethodHandle resolveFieldSetter(Class artifactClass, String factTypeName) {
+		try {
+			Field field = artifactClass.getDeclaredField(factTypeName);
+			field.setAccessible(true);
+			return MethodHandles.lookup().unreflectSetter(field);
+		} catch (ReflectiveOperationException | RuntimeException e) {
+			// bound by "Group.setFactType", which reports the missing fact type
+			return null;
+		}
+	}
+
+	private static MethodHandle resolveFactTypesSetter() {
+		try {
+			Field field = Group.class.getDeclaredField("factTypes");
+			field.setAccessible(true);
+			return MethodHandles.lookup().unreflectSetter(field);
+		} catch (ReflectiveOperationException | RuntimeException e) {
+			// bound by "Group.setFactTypes"
+			return null;
+		}
+	}
+}
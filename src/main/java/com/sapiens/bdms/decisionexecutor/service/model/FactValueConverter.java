@@ -0,0 +1,13 @@
+package com.sapiens.bdms.decisionexecutor.service.model;
+
+/***
+ * Converts an input value, as deserialized from the request, to the Java data type of a single fact type
+ */
+public interface FactValueConverter {
+	/***
+	 * @param ftName The fact name as sent in the request
+	 * @param ftValue The input value - a String, a native JSON number or boolean, or a list of these for list fact types
+	 * @return The value converted to the fact data type
+	 */
+	Object convert(String ftName, Object ftValue);
+}
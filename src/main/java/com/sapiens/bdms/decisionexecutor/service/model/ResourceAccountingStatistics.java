@@ -0,0 +1,46 @@
+package com.sapiens.bdms.decisionexecutor.service.model;
+
+import java.util.Date;
+import java.util.List;
+
+/***
+ * The artifacts consuming the most CPU time or heap, returned as the web response of the resource accounting statistics
+ */
+public class ResourceAccountingStatistics {
+	private final boolean enabled;
+	private final boolean allocationSupported;
+	private final Date since;
+	private final List<ArtifactResourceStatistics> topConsumers;
+
+	public ResourceAccountingStatistics(boolean enabled, boolean allocationSupported, Date since, List<ArtifactResourceStatistics> topConsumers) {
+		this.enabled = enabled;
+		this.allocationSupported = allocationSupported;
+		this.since = since;
+		this.topConsumers = topConsumers;
+	}
+
+	public boolean isEnabled() {
+		return enabled;
+	}
+
+	/***
+	 * @return false if the JVM does not measure the heap allocated per thread, hence no allocation is accounted
+	 */
+	public boolean isAllocationSupported() {
+		return allocationSupported;
+	}
+
+	/***
+	 * @return The time the accounting was first enabled or last reset, null if never enabled
+	 */
+	public Date getSince() {
+		return since;
+	}
+
+	/***
+	 * @return The artifacts consuming the most, descending
+	 */
+	public List<ArtifactResourceStatistics> getTopConsumers() {
+		return topConsumers;
+	}
+}
@@ -0,0 +1,113 @@
+package com.sapiens.bdms.decisionexecutor.service.model;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/***
+ * An execution with a deadline, and the execution pool thread running it once started, so the thread is interrupted
+ * when the deadline expires and reported if it keeps running past its deadline
+ */
+public class RunningExecution {
+
+	// the frames reported of the stack of a thread running past its deadline
+	private static final int REPORTED_STACK_FRAMES = 12;
+
+	private final ArtifactKey artifact;
+	private final long timeoutMillis;
+	private final long deadlineNanos;
+
+	// guarded by this
+	private Thread thread;
+	private long startedAtNanos;
+	private boolean reported;
+
+	/***
+	 * @param artifact The executed artifact
+	 * @param timeoutMillis The time the execution may take since submitted, including its queue wait
+	 * @param submittedAtNanos The "System.nanoTime" the execution was submitted at
+	 */
+	public RunningExecution(ArtifactKey artifact, long timeoutMillis, long submittedAtNanos) {
+		this.artifact = artifact;
+		this.timeoutMillis = timeoutMillis;
+		this.deadlineNanos = submittedAtNanos + TimeUnit.MILLISECONDS.toNanos(timeoutMillis);
+	}
+
+	/***
+	 * Called by the execution pool thread before executing
+	 */
+	public synchronized void start() {
+		thread = Thread.currentThread();
+		startedAtNanos = System.nanoTime();
+	}
+
+	/***
+	 * Called by the execution pool thread once executed, clearing the interrupt of an expired deadline so it does not
+	 * affect the next execution of the thread
+	 */
+	public synchronized void finish() {
+		thread = null;
+		Thread.interrupted();
+	}
+
+	/***
+	 * Interrupts the thread running the execution, if still running, so an execution waiting on e.g: a batch is abandoned
+	 */
+	public synchronized void interrupt() {
+		if (thread != null) {
+			thread.interrupt();
+		}
+	}
+
+	/***
+	 * @return True if still running the given time past the deadline and not reported yet, in which case it is
+	 * reported only once
+	 */
+	public synchronized boolean reportIfStuck(long now, long graceNanos) {
+		if (thread == null || reported || now - deadlineNanos < graceNanos) {
+			return false;
+		}
+		reported = true;
+		return true;
+	}
+
+	public synchronized boolean isPastDeadline(long now) {
+		return thread != null && now - deadlineNanos > 0;
+	}
+
+	/***
+	 * @return The stack of the thread running the execution, empty if no longer running
+	 */
+	public synchronized StackTraceElement[] getStackTrace() {
+		return thread == null ? new StackTraceElement[0] : thread.getStackTrace();
+	}
+
+	public synchronized StuckExecutionStatistics getStatistics(long now) {
+		List<String> stack = Arrays.stream(getStackTrace())
+								   .limit(REPORTED_STACK_FRAMES)
+								   .map(StackTraceElement::toString)
+								   .collect(Collectors.toList());
+		return new StuckExecutionStatistics(artifact.toString(),
+											thread == null ? null : thread.getName(),
+											timeoutMillis,
+											TimeUnit.NANOSECONDS.toMillis(now - startedAtNanos),
+											stack);
+	}
+
+	public ArtifactKey getArtifact() {
+		return artifact;
+	}
+
+	public long getTimeoutMillis() {
+		return timeoutMillis;
+	}
+
+	public synchronized String getThreadName() {
+		return thread == null ? null : thread.getName();
+	}
+
+	public synchronized long getRunningMillis(long now) {
+		return TimeUnit.NANOSECONDS.toMillis(now - startedAtNanos);
+	}
+}
@@ -0,0 +1,54 @@
+package com.sapiens.bdms.decisionexecutor.service.model;
+
+import java.util.List;
+
+/***
+ * An execution still running past its deadline, returned as the web response of the stuck executions statistics
+ */
+public class StuckExecutionStatistics {
+	private final String artifact;
+	private final String thread;
+	private final long timeoutMillis;
+	private final long runningMillis;
+	private final List<String> stackTrace;
+
+	public StuckExecutionStatistics(String artifact, String thread, long timeoutMillis, long runningMillis, List<String> stackTrace) {
+		this.artifact = artifact;
+		this.thread = thread;
+		this.timeoutMillis = timeoutMillis;
+		this.runningMillis = runningMillis;
+		this.stackTrace = stackTrace;
+	}
+
+	public String getArtifact() {
+		return artifact;
+	}
+
+	/***
+	 * @return The name of the execution pool thread running the execution
+	 */
+	public String getThread() {
+		return thread;
+	}
+
+	/***
+	 * @return The time the execution was allowed since submitted
+	 */
+	public long getTimeoutMillis() {
+		return timeoutMillis;
+	}
+
+	/***
+	 * @return The time the execution has been running since started
+	 */
+	public long getRunningMillis() {
+		return runningMillis;
+	}
+
+	/***
+	 * @return The top frames of the running thread's stack
+	 */
+	public List<String> getStackTrace() {
+		return stackTrace;
+	}
+}
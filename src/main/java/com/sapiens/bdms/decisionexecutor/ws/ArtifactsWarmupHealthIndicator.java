@@ -0,0 +1,26 @@
+package com.sapiens.bdms.decisionexecutor.ws;
+
+import com.sapiens.bdms.decisionexecutor.service.face.ArtifactsWarmupService;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.Resource;
+
+/***
+ * Reports the application out of service, hence "503 Service Unavailable" by the Actuator health endpoint, until the
+ * artifacts loaded on startup were warmed up, so a load balancer probing it sends calls to warm instances only
+ */
+@Component
+public class ArtifactsWarmupHealthIndicator implements HealthIndicator {
+
+	@Resource
+	private ArtifactsWarmupService pojoArtifactsWarmupService;
+
+	@Override
+	public Health health() {
+		return pojoArtifactsWarmupService.isReady() ?
+				Health.up().build() :
+				Health.outOfService().withDetail("reason", "Warming up the artifacts").build();
+	}
+}
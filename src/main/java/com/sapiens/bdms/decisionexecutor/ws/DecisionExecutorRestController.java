@@ -1,30 +1,79 @@
 package com.sapiens.bdms.decisionexecutor.ws;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
 import com.google.common.collect.Maps;
+import com.sapiens.bdms.decisionexecutor.exception.ExecutionRejectedException;
+import com.sapiens.bdms.decisionexecutor.exception.ExecutionTimeoutException;
 import com.sapiens.bdms.decisionexecutor.service.face.ArtifactExecutorService;
 import com.sapiens.bdms.decisionexecutor.service.face.ArtifactsJarLoaderService;
-import com.sapiens.bdms.decisionexecutor.ws.model.FlowExecutionFactResultDto;
-import com.sapiens.bdms.java.exe.helper.base.FactType;
+import com.sapiens.bdms.decisionexecutor.service.face.ExecutionCoalescingService;
+import com.sapiens.bdms.decisionexecutor.service.face.ExecutionDispatcherService;
+import com.sapiens.bdms.decisionexecutor.service.face.ExecutionMetricsService;
+import com.sapiens.bdms.decisionexecutor.service.face.ExecutionProfileService;
+import com.sapiens.bdms.decisionexecutor.service.face.ExecutionTraceService;
+import com.sapiens.bdms.decisionexecutor.service.model.ArtifactKey;
+import com.sapiens.bdms.decisionexecutor.service.model.BatchItemResult;
+import com.sapiens.bdms.decisionexecutor.service.model.BatchItemResultWriter;
+import com.sapiens.bdms.decisionexecutor.service.model.ExecutionPhase;
+import com.sapiens.bdms.decisionexecutor.service.model.ExecutionProfile;
+import com.sapiens.bdms.decisionexecutor.service.model.ExecutionTrace;
+import com.sapiens.bdms.decisionexecutor.ws.model.ExecutionResultDtos;
+import com.sapiens.bdms.decisionexecutor.ws.model.FlowExecutionResultDto;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import javax.annotation.PostConstruct;
 import javax.annotation.Resource;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
 import java.nio.file.Paths;
-import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
 
+import static com.sapiens.bdms.decisionexecutor.ws.model.ExecutionResultDtos.toError;
 import static org.springframework.web.bind.annotation.RequestMethod.GET;
 import static org.springframework.web.bind.annotation.RequestMethod.POST;
 
 @RestController
 public class DecisionExecutorRestController {
 
+	private static final String NDJSON_CONTENT_TYPE = "application/x-ndjson";
+
+	// the time in milliseconds the client waits for an execution at most
+	private static final String EXECUTION_TIMEOUT_HEADER = "X-Execution-Timeout-Millis";
+
+	// the diagnostics collected and returned besides the conclusion, "full" or "lean"
+	private static final String EXECUTION_PROFILE_HEADER = "X-Execution-Profile";
+
+	// "true" to trace the execution, retrieved by the request ID
+	private static final String EXECUTION_TRACE_HEADER = "X-Execution-Trace";
+
+	// identifies a traced request, generated unless sent
+	private static final String REQUEST_ID_HEADER = "X-Request-Id";
+
 	private final Logger logger = LoggerFactory.getLogger(this.getClass());
 
 	@Resource
@@ -33,55 +82,396 @@ public class DecisionExecutorRestController {
 	@Resource
 	private ArtifactsJarLoaderService pojoArtifactsJarLoaderService;
 
+	@Resource
+	private ExecutionDispatcherService pojoExecutionDispatcherService;
+
+	@Resource
+	private ExecutionCoalescingService pojoExecutionCoalescingService;
+
+	@Resource
+	private ExecutionProfileService pojoExecutionProfileService;
+
+	@Resource
+	private ExecutionTraceService pojoExecutionTraceService;
+
+	@Resource
+	private ExecutionMetricsService pojoExecutionMetricsService;
+
+	@Resource
+	private MappingJackson2HttpMessageConverter mappingJackson2HttpMessageConverter;
+
 	@Value("${artifacts.jar.location}")
 	private String defaultArtifactsJarLocation;
 
+	// same as of the other calls' request and response bodies
+	private ObjectMapper objectMapper;
+
+	// the results of a stream are flushed as they complete rather than after each value
+	private ObjectWriter streamWriter;
+
+	@PostConstruct
+	public void init() {
+		objectMapper = mappingJackson2HttpMessageConverter.getObjectMapper();
+		streamWriter = objectMapper.writer().without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+	}
+
 	/***
 	 * Execute a Decision View according to given parameters and return result with messages
+	 * on the execution pool, or respond with "429 Too Many Requests" if rejected, or "504 Gateway Timeout" if not
+	 * executed within the request's "X-Execution-Timeout-Millis" header or the artifact's configured timeout
 	 * @param conclusionName The decision conclusion
 	 * @param packagePrefix The Java package prefix as was set to the "Generated Package Prefix" property in the
 	 *                      DM Java Adapter with which this Decision class was exported
 	 * @param view The Decision's View
 	 * @param version The Decision's version
 	 * @param factValueByNameInputs The Map of the execution input values by their Fact Type name
+	 * @param timeoutMillis The time the client waits for the execution at most, optional
+	 * @param profileName The execution profile, "full" or "lean", optional, the artifact's configured profile by default
+	 * @param traceRequested Whether to trace the execution, optional, traced at the configured sample rate by default
+	 * @param requestId Identifies the request, by which its trace is retrieved, optional, generated if traced by default
 	 * @return Execution result as map of values by Fact Type Name and messages
 	 */
 	@RequestMapping(value = "/execute/decision/{packagePrefix}/{conclusionName}/{view}/{version}", method = POST)
-	public Object executeDecision(@PathVariable String conclusionName,
-								  @PathVariable String packagePrefix,
-								  @PathVariable String view,
-								  @PathVariable String version,
-								  @RequestBody Map<String, Object> factValueByNameInputs) {
-		try {
-			return pojoArtifactExecutorService.executeDecision(packagePrefix, conclusionName, view, version, factValueByNameInputs);
-		} catch (Exception e) {
-			logger.error(e.getMessage(), e);
-			return "Error: " + e.getMessage();
-		}
+	public CompletableFuture<Object> executeDecision(@PathVariable String conclusionName,
+													 @PathVariable String packagePrefix,
+													 @PathVariable String view,
+													 @PathVariable String version,
+													 @RequestBody Map<String, Object> factValueByNameInputs,
+													 @RequestHeader(value = EXECUTION_TIMEOUT_HEADER, required = false) Long timeoutMillis,
+													 @RequestHeader(value = EXECUTION_PROFILE_HEADER, required = false) String profileName,
+													 @RequestHeader(value = EXECUTION_TRACE_HEADER, required = false) Boolean traceRequested,
+													 @RequestHeader(value = REQUEST_ID_HEADER, required = false) String requestId) {
+		ArtifactKey artifact = ArtifactKey.decision(packagePrefix, conclusionName, view, version);
+		return dispatch(artifact, () -> {
+							ExecutionProfile profile = pojoExecutionProfileService.resolve(artifact, profileName);
+							ExecutionTrace trace = pojoExecutionTraceService.start(artifact, profile, factValueByNameInputs, requestId, Boolean.TRUE.equals(traceRequested));
+							return coalesceUnlessTraced(trace, artifact, profile, factValueByNameInputs, orZero(timeoutMillis), () ->
+									pojoExecutionDispatcherService.submit(artifact, orZero(timeoutMillis), () ->
+											pojoExecutionTraceService.execute(trace, () ->
+													pojoArtifactExecutorService.executeDecision(packagePrefix, conclusionName, view, version, factValueByNameInputs, profile, trace))))
+									.thenApply(result -> withRequestId(trace, result));
+						},
+						e -> "Error: " + e.getMessage());
 	}
 
 	/***
 	 * Execute a Flow according to given parameters and return result with messages
+	 * on the execution pool, or respond with "429 Too Many Requests" if rejected, or "504 Gateway Timeout" if not
+	 * executed within the request's "X-Execution-Timeout-Millis" header or the artifact's configured timeout
 	 * @param packagePrefix The Java package prefix as was set to the "Generated Package Prefix" property in the
 	 *                      DM Java Adapter with which this Decision class was exported
 	 * @param version The Flow's version
 	 * @param factValueByNameInputs The Map of the execution input values by their Fact Type name
+	 * @param timeoutMillis The time the client waits for the execution at most, optional
+	 * @param profileName The execution profile, "full" or "lean", optional, the artifact's configured profile by default
+	 * @param traceRequested Whether to trace the execution, optional, traced at the configured sample rate by default
+	 * @param requestId Identifies the request, by which its trace is retrieved, optional, generated if traced by default
+	 * @param fields The names of the facts to return, optional, all facts by default
 	 * @return Execution result as map of execution result with row hits and messages by Fact Type Name
 	 */
 	@RequestMapping(value = "/execute/flow/{packagePrefix}/{flowName}/{version}", method = POST)
-	public Map<String, Object> executeFlow(@PathVariable String flowName,
-										   @PathVariable String packagePrefix,
-										   @PathVariable String version,
-										   @RequestBody Map<String, Object> factValueByNameInputs) {
+	public CompletableFuture<Object> executeFlow(@PathVariable String flowName,
+												 @PathVariable String packagePrefix,
+												 @PathVariable String version,
+												 @RequestBody Map<String, Object> factValueByNameInputs,
+												 @RequestHeader(value = EXECUTION_TIMEOUT_HEADER, required = false) Long timeoutMillis,
+												 @RequestHeader(value = EXECUTION_PROFILE_HEADER, required = false) String profileName,
+												 @RequestHeader(value = EXECUTION_TRACE_HEADER, required = false) Boolean traceRequested,
+												 @RequestHeader(value = REQUEST_ID_HEADER, required = false) String requestId,
+												 @RequestParam(required = false) List<String> fields) {
+		ArtifactKey artifact = ArtifactKey.flow(packagePrefix, flowName, version);
+		return dispatch(artifact, () -> {
+							ExecutionProfile profile = pojoExecutionProfileService.resolve(artifact, profileName);
+							ExecutionTrace trace = pojoExecutionTraceService.start(artifact, profile, factValueByNameInputs, requestId, Boolean.TRUE.equals(traceRequested));
+							// projected per call, since the execution may be shared by calls of other fields
+							return coalesceUnlessTraced(trace, artifact, profile, factValueByNameInputs, orZero(timeoutMillis), () ->
+									pojoExecutionDispatcherService.submit(artifact, orZero(timeoutMillis), () ->
+											pojoExecutionTraceService.execute(trace, () ->
+													pojoArtifactExecutorService.executeFlow(packagePrefix, flowName, version, factValueByNameInputs, profile, trace))))
+									.thenApply(result -> withRequestId(trace, normalizeFlowResult(artifact, result, fields, profile)));
+						},
+						e -> {
+							Map<String, Object> error = Maps.newHashMap();
+							error.put("Error", e.getMessage());
+							return error;
+						});
+	}
+
+	/***
+	 * Execute a Decision View for each of the given inputs and return the result with messages of each
+	 * on the execution pool, or respond with "429 Too Many Requests" if rejected, or "504 Gateway Timeout" if not
+	 * executed within the request's "X-Execution-Timeout-Millis" header or the artifact's configured timeout
+	 * @param conclusionName The decision conclusion
+	 * @param packagePrefix The Java package prefix as was set to the "Generated Package Prefix" property in the
+	 *                      DM Java Adapter with which this Decision class was exported
+	 * @param view The Decision's View
+	 * @param version The Decision's version
+	 * @param batchInputs The list of Maps of the execution input values by their Fact Type name
+	 * @param timeoutMillis The time the client waits for the whole batch at most, optional
+	 * @param profileName The execution profile, "full" or "lean", optional, the artifact's configured profile by default
+	 * @return Execution result as map of values by Fact Type Name and messages, or map of the error, per given input
+	 */
+	@RequestMapping(value = "/execute/decision/{packagePrefix}/{conclusionName}/{view}/{version}/batch", method = POST)
+	public CompletableFuture<Object> executeDecisionBatch(@PathVariable String conclusionName,
+														  @PathVariable String packagePrefix,
+														  @PathVariable String view,
+														  @PathVariable String version,
+														  @RequestBody List<Map<String, Object>> batchInputs,
+														  @RequestHeader(value = EXECUTION_TIMEOUT_HEADER, required = false) Long timeoutMillis,
+														  @RequestHeader(value = EXECUTION_PROFILE_HEADER, required = false) String profileName) {
+		ArtifactKey artifact = ArtifactKey.decision(packagePrefix, conclusionName, view, version);
+		return dispatch(artifact, () -> {
+			ExecutionProfile profile = pojoExecutionProfileService.resolve(artifact, profileName);
+			return pojoExecutionDispatcherService.submitBatch(artifact, orZero(timeoutMillis), () -> {
+				List<BatchItemResult> results = pojoArtifactExecutorService.executeDecisionBatch(packagePrefix, conclusionName, view, version, batchInputs, profile);
+				return results.stream()
+							  .map(item -> item.isFailed() ? toError(item.getError()) : item.getResult())
+							  .collect(Collectors.toList());
+			});
+		}, ExecutionResultDtos::toError);
+	}
+
+	/***
+	 * Execute a Flow for each of the given inputs and return the result with row hits and messages of each
+	 * on the execution pool, or respond with "429 Too Many Requests" if rejected, or "504 Gateway Timeout" if not
+	 * executed within the request's "X-Execution-Timeout-Millis" header or the artifact's configured timeout
+	 * @param packagePrefix The Java package prefix as was set to the "Generated Package Prefix" property in the
+	 *                      DM Java Adapter with which this Flow class was exported
+	 * @param version The Flow's version
+	 * @param batchInputs The list of Maps of the execution input values by their Fact Type name
+	 * @param timeoutMillis The time the client waits for the whole batch at most, optional
+	 * @param profileName The execution profile, "full" or "lean", optional, the artifact's configured profile by default
+	 * @param fields The names of the facts to return, optional, all facts by default
+	 * @return Execution result as map of execution result with row hits and messages by Fact Type Name, or map of the error, per given input
+	 */
+	@RequestMapping(value = "/execute/flow/{packagePrefix}/{flowName}/{version}/batch", method = POST)
+	public CompletableFuture<Object> executeFlowBatch(@PathVariable String flowName,
+													  @PathVariable String packagePrefix,
+													  @PathVariable String version,
+													  @RequestBody List<Map<String, Object>> batchInputs,
+													  @RequestHeader(value = EXECUTION_TIMEOUT_HEADER, required = false) Long timeoutMillis,
+													  @RequestHeader(value = EXECUTION_PROFILE_HEADER, required = false) String profileName,
+													  @RequestParam(required = false) List<String> fields) {
+		ArtifactKey artifact = ArtifactKey.flow(packagePrefix, flowName, version);
+		return dispatch(artifact, () -> {
+			ExecutionProfile profile = pojoExecutionProfileService.resolve(artifact, profileName);
+			return pojoExecutionDispatcherService.submitBatch(artifact, orZero(timeoutMillis), () -> {
+				List<BatchItemResult> results = pojoArtifactExecutorService.executeFlowBatch(packagePrefix, flowName, version, batchInputs, profile);
+				return results.stream()
+							  .map(item -> item.isFailed() ? toError(item.getError()) : normalizeFlowResult(artifact, (Map<String, Object>) item.getResult(), fields, profile))
+							  .collect(Collectors.toList());
+			});
+		}, ExecutionResultDtos::toError);
+	}
+
+	/***
+	 * Same as "executeDecision", with the input values given by their position in the Decision's fact types order,
+	 * as returned by its metadata, rather than by their Fact Type name. Neither coalesced nor traced.
+	 * @param positionalInputs The execution input values in the fact types order, null for an input not given
+	 * @return Execution result as map of values by Fact Type Name and messages
+	 */
+	@RequestMapping(value = "/execute/decision/{packagePrefix}/{conclusionName}/{view}/{version}/positional", method = POST)
+	public CompletableFuture<Object> executeDecisionPositional(@PathVariable String conclusionName,
+															   @PathVariable String packagePrefix,
+															   @PathVariable String view,
+															   @PathVariable String version,
+															   @RequestBody List<Object> positionalInputs,
+															   @RequestHeader(value = EXECUTION_TIMEOUT_HEADER, required = false) Long timeoutMillis,
+															   @RequestHeader(value = EXECUTION_PROFILE_HEADER, required = false) String profileName) {
+		ArtifactKey artifact = ArtifactKey.decision(packagePrefix, conclusionName, view, version);
+		return dispatch(artifact, () -> {
+							ExecutionProfile profile = pojoExecutionProfileService.resolve(artifact, profileName);
+							return pojoExecutionDispatcherService.submit(artifact, orZero(timeoutMillis), () ->
+									pojoArtifactExecutorService.executeDecisionPositional(packagePrefix, conclusionName, view, version, positionalInputs, profile));
+						},
+						e -> "Error: " + e.getMessage());
+	}
+
+	/***
+	 * Same as "executeFlow", with the input values given by their position in the Flow's fact types order,
+	 * as returned by its metadata, rather than by their Fact Type name. Neither coalesced nor traced.
+	 * @param positionalInputs The execution input values in the fact types order, null for an input not given
+	 * @return Execution result as map of execution result with row hits and messages by Fact Type Name
+	 */
+	@RequestMapping(value = "/execute/flow/{packagePrefix}/{flowName}/{version}/positional", method = POST)
+	public CompletableFuture<Object> executeFlowPositional(@PathVariable String flowName,
+														   @PathVariable String packagePrefix,
+														   @PathVariable String version,
+														   @RequestBody List<Object> positionalInputs,
+														   @RequestHeader(value = EXECUTION_TIMEOUT_HEADER, required = false) Long timeoutMillis,
+														   @RequestHeader(value = EXECUTION_PROFILE_HEADER, required = false) String profileName,
+														   @RequestParam(required = false) List<String> fields) {
+		ArtifactKey artifact = ArtifactKey.flow(packagePrefix, flowName, version);
+		return dispatch(artifact, () -> {
+							ExecutionProfile profile = pojoExecutionProfileService.resolve(artifact, profileName);
+							return pojoExecutionDispatcherService.submit(artifact, orZero(timeoutMillis), () ->
+									pojoArtifactExecutorService.executeFlowPositional(packagePrefix, flowName, version, positionalInputs, profile))
+									.thenApply(result -> normalizeFlowResult(artifact, result, fields, profile));
+						},
+						e -> {
+							Map<String, Object> error = Maps.newHashMap();
+							error.put("Error", e.getMessage());
+							return error;
+						});
+	}
+
+	/***
+	 * Same as "executeDecisionBatch", with the input values of each item given by their position in the Decision's
+	 * fact types order, as returned by its metadata, rather than by their Fact Type name
+	 * @param batchInputs The list of the execution input values in the fact types order
+	 * @return Execution result as map of values by Fact Type Name and messages, or map of the error, per given input
+	 */
+	@RequestMapping(value = "/execute/decision/{packagePrefix}/{conclusionName}/{view}/{version}/batch/positional", method = POST)
+	public CompletableFuture<Object> executeDecisionPositionalBatch(@PathVariable String conclusionName,
+																	@PathVariable String packagePrefix,
+																	@PathVariable String view,
+																	@PathVariable String version,
+																	@RequestBody List<List<Object>> batchInputs,
+																	@RequestHeader(value = EXECUTION_TIMEOUT_HEADER, required = false) Long timeoutMillis,
+																	@RequestHeader(value = EXECUTION_PROFILE_HEADER, required = false) String profileName) {
+		ArtifactKey artifact = ArtifactKey.decision(packagePrefix, conclusionName, view, version);
+		return dispatch(artifact, () -> {
+			ExecutionProfile profile = pojoExecutionProfileService.resolve(artifact, profileName);
+			return pojoExecutionDispatcherService.submitBatch(artifact, orZero(timeoutMillis), () -> {
+				List<BatchItemResult> results = pojoArtifactExecutorService.executeDecisionPositionalBatch(packagePrefix, conclusionName, view, version, batchInputs, profile);
+				return results.stream()
+							  .map(item -> item.isFailed() ? toError(item.getError()) : item.getResult())
+							  .collect(Collectors.toList());
+			});
+		}, ExecutionResultDtos::toError);
+	}
+
+	/***
+	 * Same as "executeFlowBatch", with the input values of each item given by their position in the Flow's
+	 * fact types order, as returned by its metadata, rather than by their Fact Type name
+	 * @param batchInputs The list of the execution input values in the fact types order
+	 * @return Execution result as map of execution result with row hits and messages by Fact Type Name, or map of the error, per given input
+	 */
+	@RequestMapping(value = "/execute/flow/{packagePrefix}/{flowName}/{version}/batch/positional", method = POST)
+	public CompletableFuture<Object> executeFlowPositionalBatch(@PathVariable String flowName,
+																@PathVariable String packagePrefix,
+																@PathVariable String version,
+																@RequestBody List<List<Object>> batchInputs,
+																@RequestHeader(value = EXECUTION_TIMEOUT_HEADER, required = false) Long timeoutMillis,
+																@RequestHeader(value = EXECUTION_PROFILE_HEADER, required = false) String profileName,
+																@RequestParam(required = false) List<String> fields) {
+		ArtifactKey artifact = ArtifactKey.flow(packagePrefix, flowName, version);
+		return dispatch(artifact, () -> {
+			ExecutionProfile profile = pojoExecutionProfileService.resolve(artifact, profileName);
+			return pojoExecutionDispatcherService.submitBatch(artifact, orZero(timeoutMillis), () -> {
+				List<BatchItemResult> results = pojoArtifactExecutorService.executeFlowPositionalBatch(packagePrefix, flowName, version, batchInputs, profile);
+				return results.stream()
+							  .map(item -> item.isFailed() ? toError(item.getError()) : normalizeFlowResult(artifact, (Map<String, Object>) item.getResult(), fields, profile))
+							  .collect(Collectors.toList());
+			});
+		}, ExecutionResultDtos::toError);
+	}
 
+	/***
+	 * Execute a Decision View for each of the newline-delimited JSON inputs of the request body, as soon as it is read,
+	 * and write the result with messages of each as a newline-delimited JSON line of the response, as soon as it is done
+	 * @param conclusionName The decision conclusion
+	 * @param packagePrefix The Java package prefix as was set to the "Generated Package Prefix" property in the
+	 *                      DM Java Adapter with which this Decision class was exported
+	 * @param view The Decision's View
+	 * @param version The Decision's version
+	 * @param profileName The execution profile, "full" or "lean", optional, the artifact's configured profile by default
+	 * @param request The request, whose body is read incrementally
+	 * @param response The response, whose body is written incrementally
+	 */
+	@RequestMapping(value = "/execute/decision/{packagePrefix}/{conclusionName}/{view}/{version}/stream", method = POST, consumes = {NDJSON_CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE})
+	public void executeDecisionStream(@PathVariable String conclusionName,
+									  @PathVariable String packagePrefix,
+									  @PathVariable String view,
+									  @PathVariable String version,
+									  @RequestHeader(value = EXECUTION_PROFILE_HEADER, required = false) String profileName,
+									  HttpServletRequest request,
+									  HttpServletResponse response) throws IOException {
+		ArtifactKey artifact = ArtifactKey.decision(packagePrefix, conclusionName, view, version);
+		ExecutionProfile profile;
+		try {
+			profile = pojoExecutionProfileService.resolve(artifact, profileName);
+		} catch (IllegalArgumentException e) {
+			response.sendError(HttpStatus.BAD_REQUEST.value(), e.getMessage());
+			return;
+		}
+		executeStream(request, response, Function.identity(), (inputs, writer) ->
+				pojoArtifactExecutorService.executeDecisionStream(packagePrefix, conclusionName, view, version, inputs, profile, writer));
+	}
+
+	/***
+	 * Execute a Flow for each of the newline-delimited JSON inputs of the request body, as soon as it is read,
+	 * and write the result with row hits and messages of each as a newline-delimited JSON line of the response,
+	 * as soon as it is done
+	 * @param packagePrefix The Java package prefix as was set to the "Generated Package Prefix" property in the
+	 *                      DM Java Adapter with which this Flow class was exported
+	 * @param version The Flow's version
+	 * @param profileName The execution profile, "full" or "lean", optional, the artifact's configured profile by default
+	 * @param fields The names of the facts to return, optional, all facts by default
+	 * @param request The request, whose body is read incrementally
+	 * @param response The response, whose body is written incrementally
+	 */
+	@RequestMapping(value = "/execute/flow/{packagePrefix}/{flowName}/{version}/stream", method = POST, consumes = {NDJSON_CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE})
+	public void executeFlowStream(@PathVariable String flowName,
+								  @PathVariable String packagePrefix,
+								  @PathVariable String version,
+								  @RequestHeader(value = EXECUTION_PROFILE_HEADER, required = false) String profileName,
+								  @RequestParam(required = false) List<String> fields,
+								  HttpServletRequest request,
+								  HttpServletResponse response) throws IOException {
+		ArtifactKey artifact = ArtifactKey.flow(packagePrefix, flowName, version);
+		ExecutionProfile profile;
+		try {
+			profile = pojoExecutionProfileService.resolve(artifact, profileName);
+		} catch (IllegalArgumentException e) {
+			response.sendError(HttpStatus.BAD_REQUEST.value(), e.getMessage());
+			return;
+		}
+		executeStream(request, response, result -> normalizeFlowResult(artifact, (Map<String, Object>) result, fields, profile), (inputs, writer) ->
+				pojoArtifactExecutorService.executeFlowStream(packagePrefix, flowName, version, inputs, profile, writer));
+	}
+
+	/***
+	 * Returns the input fact types of a Decision View according to given parameters, so the execution inputs can be
+	 * validated by the client beforehand
+	 * @param packagePrefix The Java package prefix as was set to the "Generated Package Prefix" property in the
+	 *                      DM Java Adapter with which this Decision class was exported
+	 * @param conclusionName The decision conclusion
+	 * @param view The Decision's View
+	 * @param version The Decision's version
+	 * @return The Decision's fact types names and data types
+	 */
+	@RequestMapping(value = "/metadata/decision/{packagePrefix}/{conclusionName}/{view}/{version}", method = GET)
+	public Object getDecisionMetadata(@PathVariable String conclusionName,
+									  @PathVariable String packagePrefix,
+									  @PathVariable String view,
+									  @PathVariable String version) {
 		try {
-			Map<String, Object> result = pojoArtifactExecutorService.executeFlow(packagePrefix, flowName, version, factValueByNameInputs);
-			return normalizeFlowResult(result);
+			return pojoArtifactExecutorService.getDecisionMetadata(packagePrefix, conclusionName, view, version);
 		} catch (Exception e) {
 			logger.error(e.getMessage(), e);
-			Map<String, Object> error = Maps.newHashMap();
-			error.put("Error", e.getMessage());
-			return error;
+			return toError(e);
+		}
+	}
+
+	/***
+	 * Returns the input fact types of a Flow according to given parameters, so the execution inputs can be
+	 * validated by the client beforehand
+	 * @param packagePrefix The Java package prefix as was set to the "Generated Package Prefix" property in the
+	 *                      DM Java Adapter with which this Flow class was exported
+	 * @param flowName The Flow's name
+	 * @param version The Flow's version
+	 * @return The Flow's fact types names and data types
+	 */
+	@RequestMapping(value = "/metadata/flow/{packagePrefix}/{flowName}/{version}", method = GET)
+	public Object getFlowMetadata(@PathVariable String flowName,
+								  @PathVariable String packagePrefix,
+								  @PathVariable String version) {
+		try {
+			return pojoArtifactExecutorService.getFlowMetadata(packagePrefix, flowName, version);
+		} catch (Exception e) {
+			logger.error(e.getMessage(), e);
+			return toError(e);
 		}
 	}
 
@@ -123,39 +513,140 @@ public class DecisionExecutorRestController {
 	}
 
 	/***
-	 * Transforms the FactType objects into FlowExecutionFactResultDto,
-	 * which is basically the same except that it does not include the "parent" property
-	 * which cause jackson to fail JSON parsing.
-	 * Another change - removes empty fact type results
-	 * @param flowResult
-	 * @return
+	 * Submits an execution to the execution pool rather than executing it on the web server thread, which is released
+	 * meanwhile. If the execution is rejected, responds at once with "429 Too Many Requests" and a "Retry-After"
+	 * header instead, and if its deadline expires, responds with "504 Gateway Timeout". A call sharing an identical
+	 * execution in flight gets the same responses. An invalid execution profile is responded with "400 Bad Request",
+	 * and an execution failing with an error rather than an exception with "500 Internal Server Error".
+	 * Every error is counted by its type, and the response body is timed as written for the given artifact.
+	 * @param artifact The executed artifact
+	 * @param submission Submits the execution, returning the response body
+	 * @param errorView Transforms the exception the execution failed with into the response body
+	 * @return Completed with the response body once executed
 	 */
-	private Map<String, Object> normalizeFlowResult(Map<String, Object> flowResult) {
-		Map<String, Object> result = Maps.newHashMap();
+	private CompletableFuture<Object> dispatch(ArtifactKey artifact,
+											   Supplier<CompletableFuture<Object>> submission,
+											   Function<Exception, Object> errorView) {
+		pojoExecutionMetricsService.setRequestArtifact(artifact);
+		try {
+			return submission.get().handle((result, error) -> {
+				if (error == null) {
+					return result;
+				}
+				Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+				pojoExecutionMetricsService.recordError(cause);
+				if (!(cause instanceof Exception)) {
+					// e.g: a stack overflow, or a class of a reloaded jar failing to link
+					logger.error(cause.toString(), cause);
+					return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(toError(cause));
+				}
+				Exception e = (Exception) cause;
+				if (e instanceof ExecutionTimeoutException) {
+					logger.warn(e.getMessage());
+					return ResponseEntity.status(HttpStatus.GATEWAY_TIMEOUT).body(toError(e));
+				}
+				if (e instanceof ExecutionRejectedException) {
+					return toRejectedResponse((ExecutionRejectedException) e);
+				}
+				logger.error(e.getMessage(), e);
+				return errorView.apply(e);
+			});
+		} catch (ExecutionRejectedException e) {
+			pojoExecutionMetricsService.recordError(e);
+			return CompletableFuture.completedFuture(toRejectedResponse(e));
+		} catch (IllegalArgumentException e) {
+			pojoExecutionMetricsService.recordError(e);
+			logger.warn(e.getMessage());
+			return CompletableFuture.completedFuture(ResponseEntity.badRequest().body(toError(e)));
+		}
+	}
 
-		flowResult.forEach((key, val) -> {
-			FlowExecutionFactResultDto dto = new FlowExecutionFactResultDto((FactType) val);
-			if(hasAValue(dto)){
-				result.put(key, dto);
-			}
-		});
+	private ResponseEntity<Object> toRejectedResponse(ExecutionRejectedException e) {
+		logger.warn(e.getMessage());
+		return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+							 .header(HttpHeaders.RETRY_AFTER, String.valueOf(e.getRetryAfterSeconds()))
+							 .body(toError(e));
+	}
 
-		return result;
+	/***
+	 * Shares the execution in flight of the same artifact, profile, inputs and timeout, if any, unless traced, since a
+	 * trace is of the call's own execution
+	 */
+	private <T> CompletableFuture<T> coalesceUnlessTraced(ExecutionTrace trace,
+														  ArtifactKey artifact,
+														  ExecutionProfile profile,
+														  Map<String, Object> inputs,
+														  long timeoutMillis,
+														  Supplier<CompletableFuture<T>> submission) {
+		return trace == null ? pojoExecutionCoalescingService.coalesce(artifact, profile, inputs, timeoutMillis, submission) : submission.get();
 	}
 
-	private boolean hasAValue(FlowExecutionFactResultDto dto) {
-		Object value = dto.getValue();
-		return value != null &&
-				isNotEmptyString(value) &&
-				isNotEmptyCollection(value);
+	/***
+	 * @return The given flow result projected to the given fields, timed as the result normalization of the given flow
+	 */
+	private FlowExecutionResultDto normalizeFlowResult(ArtifactKey artifact, Map<String, Object> result, List<String> fields, ExecutionProfile profile) {
+		long start = pojoExecutionMetricsService.startPhase();
+		FlowExecutionResultDto normalized = ExecutionResultDtos.normalizeFlowResult(result, fields, profile);
+		pojoExecutionMetricsService.endPhase(artifact, ExecutionPhase.RESULT_NORMALIZATION, start);
+		return normalized;
 	}
 
-	private boolean isNotEmptyString(Object value){
-		return !(value.getClass().isAssignableFrom(String.class) && ((String) value).isEmpty());
+	/***
+	 * @return The given response body, with the "X-Request-Id" header its trace is retrieved by if traced
+	 */
+	private static Object withRequestId(ExecutionTrace trace, Object body) {
+		return trace == null ? body : ResponseEntity.ok().header(REQUEST_ID_HEADER, trace.getRequestId()).body(body);
 	}
 
-	private boolean isNotEmptyCollection(Object value){
-		return !(Collection.class.isAssignableFrom(value.getClass()) && ((Collection) value).isEmpty());
+	private static long orZero(Long timeoutMillis) {
+		return timeoutMillis == null ? 0 : timeoutMillis;
+	}
+
+	/***
+	 * Reads the request body as a sequence of JSON maps, incrementally, and writes the result of each, or the map of
+	 * its error, as a line of the response body. An error failing the whole stream, e.g: malformed JSON, is written
+	 * as the last line.
+	 */
+	private void executeStream(HttpServletRequest request,
+							   HttpServletResponse response,
+							   Function<Object, Object> resultNormalizer,
+							   StreamExecution execution) throws IOException {
+		response.setContentType(NDJSON_CONTENT_TYPE);
+		JsonGenerator generator = objectMapper.getFactory().createGenerator(response.getOutputStream());
+		generator.setRootValueSeparator(null);
+		BatchItemResultWriter writer = new BatchItemResultWriter() {
+			@Override
+			public void write(BatchItemResult result) throws IOException {
+				streamWriter.writeValue(generator, result.isFailed() ? toError(result.getError()) : resultNormalizer.apply(result.getResult()));
+				generator.writeRaw('\n');
+			}
+
+			@Override
+			public void flush() throws IOException {
+				generator.flush();
+			}
+		};
+		try (MappingIterator<Map<String, Object>> inputs = objectMapper.readerFor(Map.class).readValues(request.getInputStream())) {
+			execution.execute(inputs, writer);
+		} catch (Exception e) {
+			pojoExecutionMetricsService.recordError(e);
+			logger.error(e.getMessage(), e);
+			try {
+				streamWriter.writeValue(generator, toError(e));
+				generator.writeRaw('\n');
+			} catch (IOException writeError) {
+				// the client went away
+			}
+		} finally {
+			generator.close();
+		}
+	}
+
+	/***
+	 * Executes a stream of inputs of a decision or flow, writing the result of each
+	 */
+	private interface StreamExecution {
+		void execute(Iterator<Map<String, Object>> inputs, BatchItemResultWriter writer) throws Exception;
 	}
 
 }
@@ -0,0 +1,232 @@
+package com.sapiens.bdms.decisionexecutor.ws;
+
+import com.sapiens.bdms.decisionexecutor.service.face.ArtifactsJarLoaderService;
+import com.sapiens.bdms.decisionexecutor.service.face.ArtifactsWarmupService;
+import com.sapiens.bdms.decisionexecutor.service.face.ExecutionCoalescingService;
+import com.sapiens.bdms.decisionexecutor.service.face.ExecutionDispatcherService;
+import com.sapiens.bdms.decisionexecutor.service.face.ExecutionPlanService;
+import com.sapiens.bdms.decisionexecutor.service.face.ExecutionResultCacheService;
+import com.sapiens.bdms.decisionexecutor.service.face.ExecutionTraceService;
+import com.sapiens.bdms.decisionexecutor.service.face.ResourceAccountingService;
+import com.sapiens.bdms.decisionexecutor.service.face.RuleAnalyticsService;
+import com.sapiens.bdms.decisionexecutor.service.model.ArtifactBulkheadStatistics;
+import com.sapiens.bdms.decisionexecutor.service.model.ArtifactsGenerationStatistics;
+import com.sapiens.bdms.decisionexecutor.service.model.ArtifactsReloadStatistics;
+import com.sapiens.bdms.decisionexecutor.service.model.ArtifactsWarmupStatistics;
+import com.sapiens.bdms.decisionexecutor.service.model.DecisionRuleStatistics;
+import com.sapiens.bdms.decisionexecutor.service.model.ExecutionCoalescingStatistics;
+import com.sapiens.bdms.decisionexecutor.service.model.ExecutionDispatcherStatistics;
+import com.sapiens.bdms.decisionexecutor.service.model.ExecutionPlanCacheStatistics;
+import com.sapiens.bdms.decisionexecutor.service.model.ExecutionResultCacheStatistics;
+import com.sapiens.bdms.decisionexecutor.service.model.ExecutionTrace;
+import com.sapiens.bdms.decisionexecutor.service.model.ExecutionTraceStatistics;
+import com.sapiens.bdms.decisionexecutor.service.model.ResourceAccountingStatistics;
+import com.sapiens.bdms.decisionexecutor.service.model.StuckExecutionStatistics;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import javax.annotation.Resource;
+import java.util.List;
+import java.util.Map;
+
+import static com.sapiens.bdms.decisionexecutor.ws.model.ExecutionResultDtos.toError;
+import static org.springframework.web.bind.annotation.RequestMethod.GET;
+import static org.springframework.web.bind.annotation.RequestMethod.POST;
+
+@RestController
+public class DecisionExecutorStatisticsRestController {
+
+	@Resource
+	private ArtifactsJarLoaderService pojoArtifactsJarLoaderService;
+
+	@Resource
+	private ArtifactsWarmupService pojoArtifactsWarmupService;
+
+	@Resource
+	private ExecutionPlanService pojoExecutionPlanService;
+
+	@Resource
+	private ExecutionDispatcherService pojoExecutionDispatcherService;
+
+	@Resource
+	private ExecutionResultCacheService pojoExecutionResultCacheService;
+
+	@Resource
+	private ExecutionCoalescingService pojoExecutionCoalescingService;
+
+	@Resource
+	private ExecutionTraceService pojoExecutionTraceService;
+
+	@Resource
+	private RuleAnalyticsService pojoRuleAnalyticsService;
+
+	@Resource
+	private ResourceAccountingService pojoResourceAccountingService;
+
+	/***
+	 * Returns the accumulated statistics of the artifacts jars reloads, either done by the artifacts jar
+	 * location watcher or by the reload calls
+	 * @return Reloads count, latency and number of jars loaded and unloaded
+	 */
+	@RequestMapping(value = "statistics/artifacts/reload", method = GET)
+	public ArtifactsReloadStatistics getArtifactsReloadStatistics() {
+		return pojoArtifactsJarLoaderService.getReloadStatistics();
+	}
+
+	/***
+	 * Returns the artifact classes found in more than one of the loaded jars.
+	 * Such a class is loaded from the last loaded jar containing it, where jars of the same location are loaded in
+	 * their path's alphabetical order.
+	 * @return Map of the jars containing each duplicate class by class name, the first jar is the one the class is loaded from
+	 */
+	@RequestMapping(value = "statistics/artifacts/classes/duplicates", method = GET)
+	public Map<String, List<String>> getDuplicateArtifactClasses() {
+		return pojoArtifactsJarLoaderService.getDuplicateArtifactClasses();
+	}
+
+	/***
+	 * Returns the current generation of the loaded artifacts jars, which is replaced on every reload, and the
+	 * replaced generations whose class loaders are kept open until the requests still executing against them are done
+	 * @return The current generation number and loaded jars, and the number of requests pinning each generation
+	 */
+	@RequestMapping(value = "statistics/artifacts/generations", method = GET)
+	public ArtifactsGenerationStatistics getArtifactsGenerationStatistics() {
+		return pojoArtifactsJarLoaderService.getGenerationStatistics();
+	}
+
+	/***
+	 * Returns the accumulated statistics of the artifacts warm-ups, when "artifacts.warmup.enabled"
+	 * @return Whether ready, the number of artifacts warmed up and their executions, and the artifacts whose warm-up failed
+	 */
+	@RequestMapping(value = "statistics/artifacts/warmup", method = GET)
+	public ArtifactsWarmupStatistics getArtifactsWarmupStatistics() {
+		return pojoArtifactsWarmupService.getStatistics();
+	}
+
+	/***
+	 * Returns the statistics of the cached execution plans, each resolving an artifact's request parameters to its
+	 * class, constructor and fact types once
+	 * @return The number of cached plans, hits, misses and evictions
+	 */
+	@RequestMapping(value = "statistics/execution/plans", method = GET)
+	public ExecutionPlanCacheStatistics getExecutionPlanCacheStatistics() {
+		return pojoExecutionPlanService.getStatistics();
+	}
+
+	/***
+	 * Returns the statistics of the execution pool, on which the execution calls are executed, and its queue
+	 * @return The queue depth and capacity, the executions submitted, completed and rejected, and the queue wait time
+	 */
+	@RequestMapping(value = "statistics/execution/queue", method = GET)
+	public ExecutionDispatcherStatistics getExecutionDispatcherStatistics() {
+		return pojoExecutionDispatcherService.getStatistics();
+	}
+
+	/***
+	 * Returns the adaptive concurrency limit of each recently executed artifact, when "execution.bulkhead.enabled"
+	 * @return The limit, executions in flight, admitted and throttled executions and latency of each artifact
+	 */
+	@RequestMapping(value = "statistics/execution/bulkheads", method = GET)
+	public List<ArtifactBulkheadStatistics> getArtifactBulkheadStatistics() {
+		return pojoExecutionDispatcherService.getBulkheadStatistics();
+	}
+
+	/***
+	 * Returns the executions whose deadline expired while their execution pool thread still runs the artifact, which
+	 * keeps the thread from executing the queued executions until the artifact returns
+	 * @return The artifact, thread, timeout, running time and top stack frames of each such execution
+	 */
+	@RequestMapping(value = "statistics/execution/stuck", method = GET)
+	public List<StuckExecutionStatistics> getStuckExecutions() {
+		return pojoExecutionDispatcherService.getStuckExecutions();
+	}
+
+	/***
+	 * Returns the statistics of the cached execution results, when "execution.result.cache.enabled"
+	 * @return The number of cached results, hits, misses, evictions, invalidations and estimated memory footprint
+	 */
+	@RequestMapping(value = "statistics/execution/results", method = GET)
+	public ExecutionResultCacheStatistics getExecutionResultCacheStatistics() {
+		return pojoExecutionResultCacheService.getStatistics();
+	}
+
+	/***
+	 * Returns the statistics of the identical concurrent execution calls sharing a single execution, when
+	 * "execution.coalescing.enabled"
+	 * @return The number of executions in flight, submitted and shared
+	 */
+	@RequestMapping(value = "statistics/execution/coalescing", method = GET)
+	public ExecutionCoalescingStatistics getExecutionCoalescingStatistics() {
+		return pojoExecutionCoalescingService.getStatistics();
+	}
+
+	/***
+	 * Returns the statistics of the execution traces, either requested by the "X-Execution-Trace" header or sampled
+	 * at "execution.trace.sample.rate"
+	 * @return The number of traced executions, written, dropped and pending traces
+	 */
+	@RequestMapping(value = "statistics/execution/traces", method = GET)
+	public ExecutionTraceStatistics getExecutionTraceStatistics() {
+		return pojoExecutionTraceService.getStatistics();
+	}
+
+	/***
+	 * Returns the rule analytics of the executed decisions, when "execution.rule.analytics.enabled" is true, so hot rows
+	 * can be reordered and rows that never fire found
+	 * @return The number of hits and conflicts of each row fired, the number of executions and their average and
+	 * maximal time, per decision version
+	 */
+	@RequestMapping(value = "statistics/execution/rules", method = GET)
+	public List<DecisionRuleStatistics> getDecisionRuleStatistics() {
+		return pojoRuleAnalyticsService.getStatistics();
+	}
+
+	/***
+	 * Returns the artifacts whose executions consumed the most CPU time or heap, as measured for the executing thread
+	 * around each execution while the accounting is enabled
+	 * @param by "cpu" to rank by CPU time, "allocation" to rank by allocated heap, optional, "cpu" by default
+	 * @param top The number of artifacts to return, optional, 20 by default
+	 * @return The CPU time and allocated heap of each of the top consumers, in total, on average and as a share of all
+	 */
+	@RequestMapping(value = "statistics/execution/resources", method = GET)
+	public ResponseEntity<Object> getResourceAccountingStatistics(@RequestParam(defaultValue = "cpu") String by,
+																  @RequestParam(defaultValue = "20") int top) {
+		if (!by.equals("cpu") && !by.equals("allocation")) {
+			return ResponseEntity.badRequest().body(toError(new IllegalArgumentException("Unknown ranking \"" + by + "\", expected \"cpu\" or \"allocation\"")));
+		}
+		return ResponseEntity.ok(pojoResourceAccountingService.getStatistics(by.equals("allocation"), top));
+	}
+
+	/***
+	 * Enables or disables the resource accounting of the executions at runtime, overriding
+	 * "execution.resource.accounting.enabled" until restarted
+	 * @param enabled Whether to account the executions from now on
+	 * @param reset Optional, whether to drop the executions accounted so far, false by default
+	 * @return The resource accounting statistics after the change
+	 */
+	@RequestMapping(value = "statistics/execution/resources/accounting", method = POST)
+	public ResourceAccountingStatistics setResourceAccounting(@RequestParam boolean enabled,
+															  @RequestParam(defaultValue = "false") boolean reset) {
+		pojoResourceAccountingService.setEnabled(enabled, reset);
+		return pojoResourceAccountingService.getStatistics(false, 0);
+	}
+
+	/***
+	 * Returns the trace of a traced execution call, or responds with "404 Not Found" if not traced, not written yet
+	 * or no longer retained
+	 * @param requestId The "X-Request-Id" header of the traced call's response
+	 * @return The inputs, executed decisions, result or error, thread and duration of the execution
+	 */
+	@RequestMapping(value = "statistics/execution/traces/{requestId}", method = GET)
+	public ResponseEntity<Object> getExecutionTrace(@PathVariable String requestId) {
+		ExecutionTrace trace = pojoExecutionTraceService.getTrace(requestId);
+		if (trace == null) {
+			return ResponseEntity.status(HttpStatus.NOT_FOUND).body(toError(new IllegalArgumentException("No execution trace of request \"" + requestId + "\"")));
+		}
+		return ResponseEntity.ok(trace);
+	}
+}
@@ -0,0 +1,40 @@
+package com.sapiens.bdms.decisionexecutor.ws.model;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import com.sapiens.bdms.decisionexecutor.service.model.DecisionResult;
+
+import java.io.IOException;
+import java.util.Collection;
+import java.util.Map;
+
+/***
+ * Writes a decision execution result as its "conclusion" and "messages", or as its "conclusion" only if lean
+ */
+public class DecisionResultSerializer extends StdSerializer<DecisionResult> {
+
+	public DecisionResultSerializer() {
+		super(DecisionResult.class);
+	}
+
+	@Override
+	public void serialize(DecisionResult result, JsonGenerator generator, SerializerProvider provider) throws IOException {
+		generator.writeStartObject();
+		provider.defaultSerializeField("conclusion", result.getConclusion(), generator);
+		Map<String, Collection<String>> messages = result.getMessages();
+		if (messages != null) {
+			generator.writeFieldName("messages");
+			generator.writeStartObject();
+			for (Map.Entry<String, Collection<String>> messagesOfRow : messages.entrySet()) {
+				generator.writeArrayFieldStart(messagesOfRow.getKey());
+				for (String message : messagesOfRow.getValue()) {
+					generator.writeString(message);
+				}
+				generator.writeEndArray();
+			}
+			generator.writeEndObject();
+		}
+		generator.writeEndObject();
+	}
+}
@@ -0,0 +1,46 @@
+package com.sapiens.bdms.decisionexecutor.ws.model;
+
+import com.google.common.collect.Maps;
+import com.sapiens.bdms.decisionexecutor.service.model.ExecutionProfile;
+
+import java.util.Collection;
+import java.util.Map;
+
+/***
+ * Transforms the execution results and errors into the objects returned as the web response, and written as the
+ * output of the bulk executions
+ */
+public final class ExecutionResultDtos {
+
+	private ExecutionResultDtos() {
+	}
+
+	/***
+	 * Wraps the flow execution result's FactType objects, to be written without their "parent" property,
+	 * which cause jackson to fail JSON parsing, and without the empty fact type results
+	 * @param flowResult The flow execution result
+	 * @return The flow execution result to return
+	 */
+	public static FlowExecutionResultDto normalizeFlowResult(Map<String, Object> flowResult) {
+		return new FlowExecutionResultDto(flowResult, null, ExecutionProfile.FULL);
+	}
+
+	/***
+	 * Same as "normalizeFlowResult", returning only the facts of the given names, without their row hits if lean
+	 * @param fields The names of the facts to return, null or empty for all
+	 * @param profile The profile the flow was executed with
+	 */
+	public static FlowExecutionResultDto normalizeFlowResult(Map<String, Object> flowResult, Collection<String> fields, ExecutionProfile profile) {
+		return new FlowExecutionResultDto(flowResult, fields, profile);
+	}
+
+	/***
+	 * @return The map of the given error's message by "Error"
+	 */
+	public static Map<String, Object> toError(Throwable e) {
+		Map<String, Object> error = Maps.newHashMap();
+		// some parsing errors, e.g. of a malformed number, have no message
+		error.put("Error", e.getMessage() != null ? e.getMessage() : e.toString());
+		return error;
+	}
+}
@@ -0,0 +1,21 @@
+package com.sapiens.bdms.decisionexecutor.ws.model;
+
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.sapiens.bdms.decisionexecutor.service.model.DecisionResult;
+import com.sapiens.bdms.java.exe.helper.base.FactType;
+import com.sapiens.bdms.java.exe.helper.base.RowHit;
+
+/***
+ * The serializers of the execution results, writing them straight to the response rather than through bean
+ * introspection and intermediate maps
+ */
+public class ExecutionResultModule extends SimpleModule {
+
+	public ExecutionResultModule() {
+		super("ExecutionResultModule");
+		addSerializer(DecisionResult.class, new DecisionResultSerializer());
+		addSerializer(FlowExecutionResultDto.class, new FlowExecutionResultSerializer());
+		addSerializer(FactType.class, FactTypeSerializer.INSTANCE);
+		addSerializer(RowHit.class, RowHitSerializer.INSTANCE);
+	}
+}
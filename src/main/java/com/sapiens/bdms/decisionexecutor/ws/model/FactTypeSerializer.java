@@ -0,0 +1,45 @@
+package com.sapiens.bdms.decisionexecutor.ws.model;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import com.sapiens.bdms.java.exe.helper.base.FactType;
+import com.sapiens.bdms.java.exe.helper.base.RowHit;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+
+/***
+ * Writes a fact type as its value and row hits, without its "parent" artifact instance
+ */
+public class FactTypeSerializer extends StdSerializer<FactType> {
+
+	static final FactTypeSerializer INSTANCE = new FactTypeSerializer();
+
+	public FactTypeSerializer() {
+		super(FactType.class);
+	}
+
+	@Override
+	public void serialize(FactType factType, JsonGenerator generator, SerializerProvider provider) throws IOException {
+		generator.writeStartObject();
+		provider.defaultSerializeField("value", factType.getValue(), generator);
+		Map<String, List<RowHit>> rowHits = factType.getRowHits();
+		generator.writeFieldName("rowHits");
+		if (rowHits == null) {
+			generator.writeNull();
+		} else {
+			generator.writeStartObject();
+			for (Map.Entry<String, List<RowHit>> rowHitsOfRow : rowHits.entrySet()) {
+				generator.writeArrayFieldStart(rowHitsOfRow.getKey());
+				for (RowHit rowHit : rowHitsOfRow.getValue()) {
+					RowHitSerializer.INSTANCE.serialize(rowHit, generator, provider);
+				}
+				generator.writeEndArray();
+			}
+			generator.writeEndObject();
+		}
+		generator.writeEndObject();
+	}
+}
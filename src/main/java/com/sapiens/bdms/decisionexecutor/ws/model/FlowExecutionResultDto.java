@@ -0,0 +1,47 @@
+package com.sapiens.bdms.decisionexecutor.ws.model;
+
+import com.sapiens.bdms.decisionexecutor.service.model.ExecutionProfile;
+import com.sapiens.bdms.decisionexecutor.service.model.FactSchema;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/***
+ * Flow execution result to return as the web response, serialized straight from the flow's fact types by
+ * FlowExecutionResultSerializer, without the fact types' "parent" and the facts without a value, and without the row
+ * hits if lean
+ */
+public class FlowExecutionResultDto {
+	private final Map<String, Object> factTypesByName;
+	private final Set<String> fields;
+	private final boolean withRowHits;
+
+	/***
+	 * @param factTypesByName The flow execution result, as the FactType objects by fact name
+	 * @param fields The names of the facts to return, null or empty for all
+	 * @param profile The execution profile, the row hits are returned only if full
+	 */
+	public FlowExecutionResultDto(Map<String, Object> factTypesByName, Collection<String> fields, ExecutionProfile profile) {
+		this.factTypesByName = factTypesByName;
+		this.withRowHits = profile != ExecutionProfile.LEAN;
+		this.fields = fields == null || fields.isEmpty() ? null :
+				fields.stream().map(FactSchema::normalizeToCamelCase).collect(Collectors.toSet());
+	}
+
+	public Map<String, Object> getFactTypesByName() {
+		return factTypesByName;
+	}
+
+	public boolean isWithRowHits() {
+		return withRowHits;
+	}
+
+	/***
+	 * @return Whether the fact of the given name is returned, regardless of its value
+	 */
+	public boolean isIncluded(String factName) {
+		return fields == null || fields.contains(factName);
+	}
+}
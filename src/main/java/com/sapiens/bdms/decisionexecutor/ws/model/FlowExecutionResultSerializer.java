@@ -0,0 +1,46 @@
+package com.sapiens.bdms.decisionexecutor.ws.model;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import com.sapiens.bdms.java.exe.helper.base.FactType;
+
+import java.io.IOException;
+import java.util.Collection;
+import java.util.Map;
+
+/***
+ * Writes the requested facts of a flow execution result which have a value, each as its value and row hits, or as
+ * its value only if lean
+ */
+public class FlowExecutionResultSerializer extends StdSerializer<FlowExecutionResultDto> {
+
+	public FlowExecutionResultSerializer() {
+		super(FlowExecutionResultDto.class);
+	}
+
+	@Override
+	public void serialize(FlowExecutionResultDto result, JsonGenerator generator, SerializerProvider provider) throws IOException {
+		generator.writeStartObject();
+		for (Map.Entry<String, Object> fact : result.getFactTypesByName().entrySet()) {
+			if (result.isIncluded(fact.getKey()) && hasAValue((FactType) fact.getValue())) {
+				generator.writeFieldName(fact.getKey());
+				if (result.isWithRowHits()) {
+					FactTypeSerializer.INSTANCE.serialize((FactType) fact.getValue(), generator, provider);
+				} else {
+					generator.writeStartObject();
+					provider.defaultSerializeField("value", ((FactType) fact.getValue()).getValue(), generator);
+					generator.writeEndObject();
+				}
+			}
+		}
+		generator.writeEndObject();
+	}
+
+	private static boolean hasAValue(FactType factType) {
+		Object value = factType.getValue();
+		return value != null &&
+				!(value instanceof String && ((String) value).isEmpty()) &&
+				!(value instanceof Collection && ((Collection) value).isEmpty());
+	}
+}
@@ -0,0 +1,42 @@
+package com.sapiens.bdms.decisionexecutor.ws.model;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import com.sapiens.bdms.java.exe.helper.base.RowHit;
+
+import java.io.IOException;
+import java.util.Map;
+
+/***
+ * Writes a row hit of a fact type with its values before and after and its messages
+ */
+public class RowHitSerializer extends StdSerializer<RowHit> {
+
+	static final RowHitSerializer INSTANCE = new RowHitSerializer();
+
+	public RowHitSerializer() {
+		super(RowHit.class);
+	}
+
+	@Override
+	public void serialize(RowHit rowHit, JsonGenerator generator, SerializerProvider provider) throws IOException {
+		generator.writeStartObject();
+		generator.writeStringField("rowId", rowHit.getRowId());
+		generator.writeStringField("rowHash", rowHit.getRowHash());
+		provider.defaultSerializeField("valueBefore", rowHit.getValueBefore(), generator);
+		provider.defaultSerializeField("valueAfter", rowHit.getValueAfter(), generator);
+		Map<String, String> messages = rowHit.getMessages();
+		generator.writeFieldName("messages");
+		if (messages == null) {
+			generator.writeNull();
+		} else {
+			generator.writeStartObject();
+			for (Map.Entry<String, String> message : messages.entrySet()) {
+				generator.writeStringField(message.getKey(), message.getValue());
+			}
+			generator.writeEndObject();
+		}
+		generator.writeEndObject();
+	}
+}
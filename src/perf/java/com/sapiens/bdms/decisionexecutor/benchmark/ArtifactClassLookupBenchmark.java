@@ -0,0 +1,64 @@
+package com.sapiens.bdms.decisionexecutor.benchmark;
+
+import com.sapiens.bdms.decisionexecutor.service.face.ArtifactsJarLoaderService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.concurrent.TimeUnit;
+
+import static com.sapiens.bdms.decisionexecutor.benchmark.SyntheticArtifacts.PACKAGE_PREFIX;
+
+/***
+ * Resolving an artifact class by its name among the loaded jars, for the first and the last loaded jar's class
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ArtifactClassLookupBenchmark {
+
+	@Param({"1", "50", "500"})
+	private int jars;
+
+	private ConfigurableApplicationContext context;
+	private ArtifactsJarLoaderService loader;
+	private String firstClassName;
+	private String lastClassName;
+
+	@Setup(Level.Trial)
+	public void setUp() {
+		context = BenchmarkContext.start(jars);
+		loader = context.getBean(ArtifactsJarLoaderService.class);
+		firstClassName = PACKAGE_PREFIX + ".flows.dmm1_0.Pricing0";
+		lastClassName = PACKAGE_PREFIX + ".flows.dmm1_0.Pricing" + (jars - 1);
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() {
+		context.close();
+	}
+
+	@Benchmark
+	public Class getFirstJarClass() throws ClassNotFoundException {
+		return loader.getArtifactClass(firstClassName);
+	}
+
+	@Benchmark
+	public Class getLastJarClass() throws ClassNotFoundException {
+		return loader.getArtifactClass(lastClassName);
+	}
+}
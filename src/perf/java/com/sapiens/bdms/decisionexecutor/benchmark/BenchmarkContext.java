@@ -0,0 +1,35 @@
+package com.sapiens.bdms.decisionexecutor.benchmark;
+
+import com.sapiens.bdms.decisionexecutor.DecisionExecutorApplication;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+/***
+ * Starts the application without the web server, the same way as the bulk execution, with the synthetic artifact
+ * jars loaded, so the benchmarks call the same service beans as the web calls
+ */
+public final class BenchmarkContext {
+
+	private BenchmarkContext() {
+	}
+
+	/***
+	 * @param jarCount The number of synthetic artifact jars to load (see SyntheticArtifacts)
+	 * @param properties Additional "name=value" properties overriding the application properties
+	 * @return The started context, to be closed once done
+	 */
+	public static ConfigurableApplicationContext start(int jarCount, String... properties) {
+		String[] args = new String[properties.length + 2];
+		args[0] = "--artifacts.jar.location=" + SyntheticArtifacts.getJarsDirectory(jarCount);
+		// loaded once at startup, not polled while measuring
+		args[1] = "--artifacts.watcher.enabled=false";
+		for (int i = 0; i < properties.length; i++) {
+			args[i + 2] = "--" + properties[i];
+		}
+		return new SpringApplicationBuilder(DecisionExecutorApplication.class)
+				.web(WebApplicationType.NONE)
+				.logStartupInfo(false)
+				.run(args);
+	}
+}
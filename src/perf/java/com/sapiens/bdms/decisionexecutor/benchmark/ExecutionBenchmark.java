@@ -0,0 +1,86 @@
+package com.sapiens.bdms.decisionexecutor.benchmark;
+
+import com.google.common.collect.Maps;
+import com.sapiens.bdms.decisionexecutor.service.face.ArtifactExecutorService;
+import com.sapiens.bdms.decisionexecutor.service.model.ExecutionProfile;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static com.sapiens.bdms.decisionexecutor.benchmark.SyntheticArtifacts.PACKAGE_PREFIX;
+import static com.sapiens.bdms.decisionexecutor.benchmark.SyntheticArtifacts.VERSION;
+import static com.sapiens.bdms.decisionexecutor.benchmark.SyntheticArtifacts.VIEW;
+
+/***
+ * A single Decision and Flow execution as done by the web calls, from the request's input map to the detached result,
+ * on the current thread rather than the execution pool
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ExecutionBenchmark {
+
+	@Param({"FULL", "LEAN"})
+	private ExecutionProfile profile;
+
+	@Param({"false", "true"})
+	private boolean instancePool;
+
+	// the cost of timing the execution phases
+	@Param({"true", "false"})
+	private boolean phaseMetrics;
+
+	private ConfigurableApplicationContext context;
+	private ArtifactExecutorService executor;
+	private Map<String, Object> decisionInputs;
+	private Map<String, Object> flowInputs;
+
+	@Setup(Level.Trial)
+	public void setUp() {
+		context = BenchmarkContext.start(1, "execution.instance.pool.enabled=" + instancePool,
+										 "metrics.execution.phases.enabled=" + phaseMetrics);
+		executor = context.getBean(ArtifactExecutorService.class);
+
+		decisionInputs = Maps.newHashMap();
+		decisionInputs.put("Customer Name", "John Smith");
+		decisionInputs.put("Amount", "150.25");
+		decisionInputs.put("Birth Date", "01/28/1980 15:23:23");
+		decisionInputs.put("Tags", Arrays.asList("gold", "retail", "online"));
+
+		flowInputs = Maps.newHashMap();
+		flowInputs.put("Amount", 21);
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() {
+		context.close();
+	}
+
+	@Benchmark
+	public Object executeDecision() throws Exception {
+		return executor.executeDecision(PACKAGE_PREFIX, "Score0", VIEW, VERSION, decisionInputs, profile, null);
+	}
+
+	@Benchmark
+	public Object executeFlow() throws Exception {
+		return executor.executeFlow(PACKAGE_PREFIX, "Pricing0", VERSION, flowInputs, profile, null);
+	}
+}
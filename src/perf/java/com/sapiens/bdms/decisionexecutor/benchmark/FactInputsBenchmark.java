@@ -0,0 +1,93 @@
+package com.sapiens.bdms.decisionexecutor.benchmark;
+
+import com.google.common.collect.Maps;
+import com.sapiens.bdms.decisionexecutor.service.face.ArtifactInputsInitializerService;
+import com.sapiens.bdms.decisionexecutor.service.face.ArtifactsJarLoaderService;
+import com.sapiens.bdms.decisionexecutor.service.face.ExecutionPlanService;
+import com.sapiens.bdms.decisionexecutor.service.model.ArtifactsGeneration;
+import com.sapiens.bdms.decisionexecutor.service.model.ExecutionPlan;
+import com.sapiens.bdms.java.exe.helper.base.Group;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static com.sapiens.bdms.decisionexecutor.benchmark.SyntheticArtifacts.PACKAGE_PREFIX;
+import static com.sapiens.bdms.decisionexecutor.benchmark.SyntheticArtifacts.VERSION;
+import static com.sapiens.bdms.decisionexecutor.benchmark.SyntheticArtifacts.VIEW;
+
+/***
+ * Parsing and binding the request's input map to a Decision instance, per kind of fact type
+ */
+@State(Scope.Thread)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class FactInputsBenchmark {
+
+	private ConfigurableApplicationContext context;
+	private ArtifactInputsInitializerService initializer;
+	private ExecutionPlan plan;
+	private Group instance;
+	private Map<String, Object> scalarInputs;
+	private Map<String, Object> listInputs;
+	private Map<String, Object> dateInputs;
+
+	@Setup(Level.Trial)
+	public void setUp() throws Exception {
+		context = BenchmarkContext.start(1);
+		initializer = context.getBean(ArtifactInputsInitializerService.class);
+		try (ArtifactsGeneration generation = context.getBean(ArtifactsJarLoaderService.class).acquireGeneration()) {
+			plan = context.getBean(ExecutionPlanService.class).getDecisionPlan(generation, PACKAGE_PREFIX, "Score0", VIEW, VERSION);
+		}
+		instance = plan.newInstance();
+
+		scalarInputs = Maps.newHashMap();
+		scalarInputs.put("Customer Name", "John Smith");
+		scalarInputs.put("Amount", "150.25");
+
+		listInputs = Maps.newHashMap();
+		listInputs.put("Tags", Arrays.asList("gold", "retail", "online", "north", "priority"));
+
+		dateInputs = Maps.newHashMap();
+		dateInputs.put("Birth Date", "01/28/1980 15:23:23");
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() {
+		context.close();
+	}
+
+	@Benchmark
+	public Group setScalarFacts() {
+		initializer.setFactInputs(scalarInputs, plan, instance);
+		return instance;
+	}
+
+	@Benchmark
+	public Group setListFacts() {
+		initializer.setFactInputs(listInputs, plan, instance);
+		return instance;
+	}
+
+	@Benchmark
+	public Group setDateFacts() {
+		initializer.setFactInputs(dateInputs, plan, instance);
+		return instance;
+	}
+}
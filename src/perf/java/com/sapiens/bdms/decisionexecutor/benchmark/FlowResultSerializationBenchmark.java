@@ -0,0 +1,72 @@
+package com.sapiens.bdms.decisionexecutor.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.google.common.collect.Maps;
+import com.sapiens.bdms.decisionexecutor.service.face.ArtifactExecutorService;
+import com.sapiens.bdms.decisionexecutor.service.model.ExecutionProfile;
+import com.sapiens.bdms.decisionexecutor.ws.model.FlowExecutionResultDto;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static com.sapiens.bdms.decisionexecutor.benchmark.SyntheticArtifacts.PACKAGE_PREFIX;
+import static com.sapiens.bdms.decisionexecutor.benchmark.SyntheticArtifacts.VERSION;
+import static com.sapiens.bdms.decisionexecutor.ws.model.ExecutionResultDtos.normalizeFlowResult;
+
+/***
+ * Turning an executed Flow's result into the web response, and writing it as JSON with the application's mapper
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class FlowResultSerializationBenchmark {
+
+	@Param({"FULL", "LEAN"})
+	private ExecutionProfile profile;
+
+	private ConfigurableApplicationContext context;
+	private ObjectWriter writer;
+	private Map<String, Object> flowResult;
+
+	@Setup(Level.Trial)
+	public void setUp() throws Exception {
+		context = BenchmarkContext.start(1);
+		writer = context.getBean(MappingJackson2HttpMessageConverter.class).getObjectMapper().writer();
+		Map<String, Object> inputs = Maps.newHashMap();
+		inputs.put("Amount", 21);
+		flowResult = context.getBean(ArtifactExecutorService.class).executeFlow(PACKAGE_PREFIX, "Pricing0", VERSION, inputs, profile, null);
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() {
+		context.close();
+	}
+
+	@Benchmark
+	public FlowExecutionResultDto normalize() {
+		return normalizeFlowResult(flowResult, null, profile);
+	}
+
+	@Benchmark
+	public byte[] normalizeAndSerialize() throws Exception {
+		return writer.writeValueAsBytes(normalizeFlowResult(flowResult, null, profile));
+	}
+}
@@ -0,0 +1,108 @@
+package com.sapiens.bdms.decisionexecutor.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.google.common.collect.Maps;
+import com.sapiens.bdms.decisionexecutor.service.face.ArtifactInputsInitializerService;
+import com.sapiens.bdms.decisionexecutor.service.face.ArtifactsJarLoaderService;
+import com.sapiens.bdms.decisionexecutor.service.face.ExecutionPlanService;
+import com.sapiens.bdms.decisionexecutor.service.model.ArtifactsGeneration;
+import com.sapiens.bdms.decisionexecutor.service.model.ExecutionPlan;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static com.sapiens.bdms.decisionexecutor.benchmark.SyntheticArtifacts.PACKAGE_PREFIX;
+import static com.sapiens.bdms.decisionexecutor.benchmark.SyntheticArtifacts.VERSION;
+import static com.sapiens.bdms.decisionexecutor.benchmark.SyntheticArtifacts.VIEW;
+
+/***
+ * Reading a Decision's request body of each supported encoding and parsing it to the fact data types, by fact name or
+ * by position, with the application's mappers. The body size of each encoding is printed once per trial.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class InputFormatBenchmark {
+
+	@Param({"json", "smile", "cbor"})
+	private String encoding;
+
+	private ConfigurableApplicationContext context;
+	private ArtifactInputsInitializerService initializer;
+	private ExecutionPlan plan;
+	private ObjectReader mapReader;
+	private ObjectReader listReader;
+	private byte[] mapBody;
+	private byte[] positionalBody;
+
+	@Setup(Level.Trial)
+	public void setUp() throws Exception {
+		context = BenchmarkContext.start(1);
+		initializer = context.getBean(ArtifactInputsInitializerService.class);
+		try (ArtifactsGeneration generation = context.getBean(ArtifactsJarLoaderService.class).acquireGeneration()) {
+			plan = context.getBean(ExecutionPlanService.class).getDecisionPlan(generation, PACKAGE_PREFIX, "Score0", VIEW, VERSION);
+		}
+
+		ObjectMapper mapper = getMapper();
+		mapReader = mapper.readerFor(Map.class);
+		listReader = mapper.readerFor(List.class);
+
+		Map<String, Object> inputs = Maps.newLinkedHashMap();
+		inputs.put("Customer Name", "John Smith");
+		inputs.put("Amount", "150.25");
+		inputs.put("Birth Date", "01/28/1980 15:23:23");
+		inputs.put("Tags", Arrays.asList("gold", "retail", "online"));
+		mapBody = mapper.writeValueAsBytes(inputs);
+		positionalBody = mapper.writeValueAsBytes(Arrays.asList("John Smith", "150.25", "01/28/1980 15:23:23", Arrays.asList("gold", "retail", "online")));
+		System.out.printf("%n%s body: %d bytes by fact name, %d bytes positional%n", encoding, mapBody.length, positionalBody.length);
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() {
+		context.close();
+	}
+
+	@Benchmark
+	public Map<String, Object> readByFactName() throws Exception {
+		return initializer.parseFactInputs(mapReader.readValue(mapBody), plan);
+	}
+
+	@Benchmark
+	public Map<String, Object> readPositional() throws Exception {
+		return initializer.parsePositionalFactInputs(listReader.readValue(positionalBody), plan);
+	}
+
+	private ObjectMapper getMapper() {
+		switch (encoding) {
+			case "smile":
+				return context.getBean(MappingJackson2SmileHttpMessageConverter.class).getObjectMapper();
+			case "cbor":
+				return context.getBean(MappingJackson2CborHttpMessageConverter.class).getObjectMapper();
+			default:
+				return context.getBean(MappingJackson2HttpMessageConverter.class).getObjectMapper();
+		}
+	}
+}
@@ -0,0 +1,217 @@
+package com.sapiens.bdms.decisionexecutor.benchmark;
+
+import com.sapiens.bdms.java.exe.helper.base.Group;
+
+import javax.tools.JavaCompiler;
+import javax.tools.ToolProvider;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.jar.JarEntry;
+import java.util.jar.JarOutputStream;
+import java.util.stream.Stream;
+
+/***
+ * Generates the artifact jars the benchmarks execute, compiled against the bdms-java-exe-helper at build time, so the
+ * benchmarks run offline and without any exported artifact.
+ * Each jar has a Decision "Score{i}" of view "Base" and a Flow "Pricing{i}", both of version 1.0 and package prefix
+ * "com.bench", where the Decision has a String, a BigDecimal, a Date and a list of Strings fact type.
+ * The jars are written to a directory per number of loaded jars, e.g: "jars-50" has the jars of i = 0..49.
+ */
+public class SyntheticArtifacts {
+
+	public static final String PACKAGE_PREFIX = "com.bench";
+	public static final String VIEW = "Base";
+	public static final String VERSION = "1.0";
+	public static final String DIRECTORY_PROPERTY = "benchmark.artifacts.dir";
+	public static final int[] JAR_COUNTS = {1, 50, 500};
+
+	private static final String DECISION_PACKAGE = PACKAGE_PREFIX + ".views." + VIEW + ".dmm1_0";
+	private static final String FLOW_PACKAGE = PACKAGE_PREFIX + ".flows.dmm1_0";
+
+	private static final String DECISION_SOURCE =
+			"package " + DECISION_PACKAGE + ";\n" +
+			"import com.sapiens.bdms.java.exe.helper.base.*;\n" +
+			"import java.math.BigDecimal;\n" +
+			"import java.util.*;\n" +
+			"public class Score%1$d extends Decision<String> {\n" +
+			"	private FactType<String> CustomerName = new FactType<>(this);\n" +
+			"	private FactType<BigDecimal> Amount = new FactType<>(this);\n" +
+			"	private FactType<Date> BirthDate = new FactType<>(this);\n" +
+			"	private FactType<List<String>> Tags = new FactType<>(new ArrayList<>(), this);\n" +
+			"	private FactType<String> Score = new FactType<>(this);\n" +
+			"	public String getCustomerName() { return CustomerName.getValue(); }\n" +
+			"	public BigDecimal getAmount() { return Amount.getValue(); }\n" +
+			"	public Date getBirthDate() { return BirthDate.getValue(); }\n" +
+			"	public List<String> getTags() { return Tags.getValue(); }\n" +
+			"	public void addTags(String tag) { Tags.getValue().add(tag); }\n" +
+			"	public String getScore() { return Score.getValue(); }\n" +
+			"	public void clear() {\n" +
+			"		CustomerName = new FactType<>(this); Amount = new FactType<>(this); BirthDate = new FactType<>(this);\n" +
+			"		Tags = new FactType<>(new ArrayList<>(), this); Score = new FactType<>(this); clearFactTypesMap();\n" +
+			"	}\n" +
+			"	protected Map<String, Object> buildFactTypesMap() {\n" +
+			"		Map<String, Object> m = new LinkedHashMap<>();\n" +
+			"		m.put(\"CustomerName\", CustomerName); m.put(\"Amount\", Amount); m.put(\"BirthDate\", BirthDate); m.put(\"Tags\", Tags); m.put(\"Score\", Score);\n" +
+			"		return m;\n" +
+			"	}\n" +
+			"	public Map<Integer, Map<String, FactType>> getFactTypesRecursively() {\n" +
+			"		Map<String, FactType> m = new LinkedHashMap<>();\n" +
+			"		m.put(\"CustomerName\", CustomerName); m.put(\"Amount\", Amount); m.put(\"BirthDate\", BirthDate); m.put(\"Tags\", Tags); m.put(\"Score\", Score);\n" +
+			"		Map<Integer, Map<String, FactType>> r = new HashMap<>(); r.put(getId(), m); return r;\n" +
+			"	}\n" +
+			"	public String execute() {\n" +
+			"		notifyExecutionStarted();\n" +
+			"		BigDecimal a = Amount.getValue();\n" +
+			"		if (a != null && a.compareTo(BigDecimal.valueOf(100)) > 0) {\n" +
+			"			Score.setValue(\"HIGH\", \"row1\"); Score.addMessage(\"row1\", \"1\", \"amount is high\"); notifyRowHit(\"ScoreRfv\", \"Base\", \"HIGH\", \"row1\");\n" +
+			"		} else {\n" +
+			"			Score.setValue(\"LOW\", \"row2\"); notifyRowHit(\"ScoreRfv\", \"Base\", \"LOW\", \"row2\");\n" +
+			"		}\n" +
+			"		notifyExecutionEnded();\n" +
+			"		return Score.getValue();\n" +
+			"	}\n" +
+			"	public String getView() { return \"" + VIEW + "\"; }\n" +
+			"	public String getVersion() { return \"" + VERSION + "\"; }\n" +
+			"	public String getName() { return \"Score%1$d\"; }\n" +
+			"	public String getConclusion() { return Score.getValue(); }\n" +
+			"	public void executeBranch(String b) { execute(); }\n" +
+			"}\n";
+
+	private static final String FLOW_SOURCE =
+			"package " + FLOW_PACKAGE + ";\n" +
+			"import com.sapiens.bdms.java.exe.helper.base.*;\n" +
+			"import java.math.BigDecimal;\n" +
+			"import java.util.*;\n" +
+			"public class Pricing%1$d extends Flow {\n" +
+			"	private FactType<BigDecimal> Amount = new FactType<>(this);\n" +
+			"	private FactType<BigDecimal> Price = new FactType<>(this);\n" +
+			"	private FactType<String> Note = new FactType<>(this);\n" +
+			"	public BigDecimal getAmount() { return Amount.getValue(); }\n" +
+			"	public BigDecimal getPrice() { return Price.getValue(); }\n" +
+			"	public String getNote() { return Note.getValue(); }\n" +
+			"	public void clear() { Amount = new FactType<>(this); Price = new FactType<>(this); Note = new FactType<>(this); clearFactTypesMap(); }\n" +
+			"	protected Map<String, Object> buildFactTypesMap() {\n" +
+			"		Map<String, Object> m = new LinkedHashMap<>(); m.put(\"Amount\", Amount); m.put(\"Price\", Price); m.put(\"Note\", Note); return m;\n" +
+			"	}\n" +
+			"	public Map<Integer, Map<String, FactType>> getFactTypesRecursively() {\n" +
+			"		Map<String, FactType> m = new LinkedHashMap<>(); m.put(\"Amount\", Amount); m.put(\"Price\", Price); m.put(\"Note\", Note);\n" +
+			"		Map<Integer, Map<String, FactType>> r = new HashMap<>(); r.put(getId(), m); return r;\n" +
+			"	}\n" +
+			"	public Map<String, Object> execute() {\n" +
+			"		BigDecimal a = Amount.getValue() == null ? BigDecimal.ZERO : Amount.getValue();\n" +
+			"		Price.setValue(a.multiply(BigDecimal.valueOf(2)), \"r1\");\n" +
+			"		Note.setValue(a.signum() > 0 ? \"priced\" : \"free\", \"r2\");\n" +
+			"		Map<String, Object> r = new LinkedHashMap<>(); r.put(\"Amount\", Amount); r.put(\"Price\", Price); r.put(\"Note\", Note); return r;\n" +
+			"	}\n" +
+			"	public String getView() { return null; }\n" +
+			"	public String getVersion() { return \"" + VERSION + "\"; }\n" +
+			"	public String getName() { return \"Pricing%1$d\"; }\n" +
+			"}\n";
+
+	/***
+	 * @param args The directory to write the jars to
+	 */
+	public static void main(String[] args) throws IOException {
+		Path directory = Paths.get(args[0]);
+		int maxJars = JAR_COUNTS[JAR_COUNTS.length - 1];
+		Path allJars = directory.resolve("jars-" + maxJars);
+		if (Files.isDirectory(allJars) && listJars(allJars).size() == maxJars) {
+			return;
+		}
+		Path sources = directory.resolve("src");
+		Path classes = directory.resolve("classes");
+		Files.createDirectories(allJars);
+
+		List<String> sourceFiles = new ArrayList<>();
+		for (int i = 0; i < maxJars; i++) {
+			sourceFiles.add(writeSource(sources, DECISION_PACKAGE, "Score" + i, String.format(DECISION_SOURCE, i)).toString());
+			sourceFiles.add(writeSource(sources, FLOW_PACKAGE, "Pricing" + i, String.format(FLOW_SOURCE, i)).toString());
+		}
+		compile(sourceFiles, classes);
+		for (int i = 0; i < maxJars; i++) {
+			writeJar(allJars.resolve(String.format("bench-%03d.jar", i)), classes,
+					 DECISION_PACKAGE + ".Score" + i, FLOW_PACKAGE + ".Pricing" + i);
+		}
+		for (int jarCount : JAR_COUNTS) {
+			if (jarCount == maxJars) {
+				continue;
+			}
+			Path jars = directory.resolve("jars-" + jarCount);
+			Files.createDirectories(jars);
+			for (Path jar : listJars(allJars).subList(0, jarCount)) {
+				Files.copy(jar, jars.resolve(jar.getFileName()), StandardCopyOption.REPLACE_EXISTING);
+			}
+		}
+	}
+
+	/***
+	 * @return The directory of the jars of the given number of loaded jars
+	 */
+	public static String getJarsDirectory(int jarCount) {
+		return Paths.get(System.getProperty(DIRECTORY_PROPERTY, "target/benchmark/benchmark-artifacts"), "jars-" + jarCount)
+					.toAbsolutePath().toString();
+	}
+
+	private static Path writeSource(Path sources, String packageName, String className, String source) throws IOException {
+		Path file = sources.resolve(packageName.replace('.', File.separatorChar)).resolve(className + ".java");
+		Files.createDirectories(file.getParent());
+		Files.write(file, source.getBytes(StandardCharsets.UTF_8));
+		return file;
+	}
+
+	private static void compile(List<String> sourceFiles, Path classes) throws IOException {
+		JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+		if (compiler == null) {
+			throw new IllegalStateException("Generating the benchmark artifacts requires a JDK");
+		}
+		Files.createDirectories(classes);
+		String helperJar;
+		try {
+			helperJar = Paths.get(Group.class.getProtectionDomain().getCodeSource().getLocation().toURI()).toString();
+		} catch (Exception e) {
+			throw new IllegalStateException("Failed to locate the bdms-java-exe-helper jar", e);
+		}
+		List<String> arguments = new ArrayList<>();
+		arguments.add("-nowarn");
+		// loadable by the Java 8 runtime the application targets, whichever JDK runs the build
+		arguments.add("-source");
+		arguments.add("1.8");
+		arguments.add("-target");
+		arguments.add("1.8");
+		arguments.add("-classpath");
+		arguments.add(helperJar);
+		arguments.add("-d");
+		arguments.add(classes.toString());
+		arguments.addAll(sourceFiles);
+		if (compiler.run(null, null, null, arguments.toArray(new String[0])) != 0) {
+			throw new IllegalStateException("Failed to compile the benchmark artifacts");
+		}
+	}
+
+	private static void writeJar(Path jar, Path classes, String... classNames) throws IOException {
+		try (JarOutputStream out = new JarOutputStream(Files.newOutputStream(jar))) {
+			for (String className : classNames) {
+				String entry = className.replace('.', '/') + ".class";
+				out.putNextEntry(new JarEntry(entry));
+				Files.copy(classes.resolve(entry), out);
+				out.closeEntry();
+			}
+		}
+	}
+
+	private static List<Path> listJars(Path directory) throws IOException {
+		try (Stream<Path> files = Files.list(directory)) {
+			List<Path> jars = new ArrayList<>();
+			files.filter(file -> file.toString().endsWith(".jar")).sorted(Comparator.naturalOrder()).forEach(jars::add);
+			return jars;
+		}
+	}
+}
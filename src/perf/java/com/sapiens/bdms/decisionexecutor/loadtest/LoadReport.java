@@ -0,0 +1,146 @@
+package com.sapiens.bdms.decisionexecutor.loadtest;
+
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/***
+ * The latencies and response statuses of the measured calls, per call name, of all the calls, and of the calls
+ * overlapping an artifact jars reload, summarized as the report compared against a stored baseline
+ */
+public class LoadReport {
+
+	public static final String ALL_CALLS = "all";
+	public static final String DURING_RELOADS = "during reloads";
+
+	// the compared percentiles, by their name in the summary
+	private static final String[] PERCENTILE_NAMES = {"p50Millis", "p99Millis", "p999Millis"};
+	private static final double[] PERCENTILES = {50, 99, 99.9};
+
+	// a latency is not regressed by less than this, however small its baseline
+	private static final double MIN_REGRESSION_MILLIS = 1;
+
+	private final LoadScenario scenario;
+	private final ConcurrentMap<String, CallStatistics> statisticsByCall = Maps.newConcurrentMap();
+	private final List<Double> reloadMillis = Lists.newCopyOnWriteArrayList();
+
+	public LoadReport(LoadScenario scenario) {
+		this.scenario = scenario;
+	}
+
+	/***
+	 * @param latencyNanos From the time the call was due to be sent, so a slow response delays no measured call
+	 * @param status The response status, or 0 if no response was received
+	 */
+	public void record(String callName, long latencyNanos, int status, boolean duringReload) {
+		long latencyMicros = TimeUnit.NANOSECONDS.toMicros(latencyNanos);
+		getStatistics(callName).record(latencyMicros, status);
+		getStatistics(ALL_CALLS).record(latencyMicros, status);
+		if (duringReload) {
+			getStatistics(DURING_RELOADS).record(latencyMicros, status);
+		}
+	}
+
+	public void recordReload(long durationNanos) {
+		reloadMillis.add(durationNanos / 1e6);
+	}
+
+	/***
+	 * @return The report as written to the report and baseline files
+	 */
+	public Map<String, Object> toSummary() {
+		Map<String, Object> summary = Maps.newLinkedHashMap();
+		summary.put("scenario", scenario.getName());
+		summary.put("ratePerSecond", scenario.getRatePerSecond());
+		summary.put("durationSeconds", scenario.getDurationSeconds());
+		Map<String, Object> calls = Maps.newLinkedHashMap();
+		statisticsByCall.keySet().stream().sorted().forEach(name -> calls.put(name, statisticsByCall.get(name).toSummary()));
+		summary.put("calls", calls);
+		summary.put("reloadMillis", reloadMillis);
+		return summary;
+	}
+
+	/***
+	 * Compares the latency percentiles and the error rate of each call with those of the given baseline
+	 * @param baseline A summary of a previous run of the same scenario
+	 * @param tolerance The ratio by which a latency may exceed its baseline, e.g: 0.2 for 20%
+	 * @param table To which the compared values are appended, a line per call and percentile
+	 * @return The regressions found, empty if none
+	 */
+	public List<String> compare(Map<String, Object> baseline, double tolerance, StringBuilder table) {
+		List<String> regressions = Lists.newArrayList();
+		Map<String, Map<String, Object>> baselineCalls = (Map<String, Map<String, Object>>) baseline.get("calls");
+		table.append(String.format("%-24s %-11s %12s %12s %9s%n", "call", "", "baseline", "current", "change"));
+		for (Map.Entry<String, Map<String, Object>> baselineCall : baselineCalls.entrySet()) {
+			CallStatistics current = statisticsByCall.get(baselineCall.getKey());
+			if (current == null) {
+				regressions.add(baselineCall.getKey() + ": not called");
+				continue;
+			}
+			Map<String, Object> currentCall = current.toSummary();
+			for (String percentile : PERCENTILE_NAMES) {
+				double before = ((Number) baselineCall.getValue().get(percentile)).doubleValue();
+				double after = ((Number) currentCall.get(percentile)).doubleValue();
+				table.append(String.format("%-24s %-11s %12.3f %12.3f %+8.1f%%%n", baselineCall.getKey(), percentile, before, after,
+										   before == 0 ? 0 : (after - before) * 100 / before));
+				if (after > before * (1 + tolerance) && after - before >= MIN_REGRESSION_MILLIS) {
+					regressions.add(String.format("%s: %s %.3f ms, baseline %.3f ms", baselineCall.getKey(), percentile, after, before));
+				}
+			}
+			double errorRateBefore = errorRate(baselineCall.getValue());
+			double errorRateAfter = errorRate(currentCall);
+			if (errorRateAfter > errorRateBefore + 0.001) {
+				regressions.add(String.format("%s: error rate %.2f%%, baseline %.2f%%", baselineCall.getKey(), errorRateAfter * 100, errorRateBefore * 100));
+			}
+		}
+		return regressions;
+	}
+
+	private CallStatistics getStatistics(String callName) {
+		return statisticsByCall.computeIfAbsent(callName, name -> new CallStatistics());
+	}
+
+	private static double errorRate(Map<String, Object> call) {
+		long count = ((Number) call.get("count")).longValue();
+		return count == 0 ? 0 : ((Number) call.get("errors")).doubleValue() / count;
+	}
+
+	/***
+	 * The latencies in microseconds and the response statuses of a call
+	 */
+	private static class CallStatistics {
+		private final Histogram latencies = new ConcurrentHistogram(3);
+		private final ConcurrentMap<Integer, LongAdder> statuses = Maps.newConcurrentMap();
+		private final LongAdder errors = new LongAdder();
+
+		void record(long latencyMicros, int status) {
+			latencies.recordValue(latencyMicros);
+			statuses.computeIfAbsent(status, key -> new LongAdder()).increment();
+			if (status < 200 || status >= 300) {
+				errors.increment();
+			}
+		}
+
+		Map<String, Object> toSummary() {
+			Map<String, Object> summary = Maps.newLinkedHashMap();
+			summary.put("count", latencies.getTotalCount());
+			summary.put("errors", errors.sum());
+			Map<String, Long> statusCounts = Maps.newTreeMap();
+			statuses.forEach((status, count) -> statusCounts.put(status == 0 ? "none" : String.valueOf(status), count.sum()));
+			summary.put("statuses", statusCounts);
+			for (int i = 0; i < PERCENTILES.length; i++) {
+				summary.put(PERCENTILE_NAMES[i], latencies.getValueAtPercentile(PERCENTILES[i]) / 1000.0);
+			}
+			summary.put("maxMillis", latencies.getMaxValue() / 1000.0);
+			summary.put("meanMillis", latencies.getMean() / 1000.0);
+			return summary;
+		}
+	}
+}
@@ -0,0 +1,193 @@
+package com.sapiens.bdms.decisionexecutor.loadtest;
+
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+
+import java.util.List;
+import java.util.Map;
+
+/***
+ * A load test scenario, read from a JSON scenario file: the calls to send at a fixed rate, each picked at random by
+ * its weight, and the artifact jar reloads to call while the calls are sent
+ */
+public class LoadScenario {
+
+	private String name;
+	private int ratePerSecond;
+	private int warmupSeconds;
+	private int durationSeconds;
+	private int connections;
+	private int jars;
+	private List<Call> calls = Lists.newArrayList();
+	private List<Reload> reloads = Lists.newArrayList();
+
+	/***
+	 * @return The scenario name, by which its report and baseline are named
+	 */
+	public String getName() {
+		return name;
+	}
+
+	public void setName(String name) {
+		this.name = name;
+	}
+
+	/***
+	 * @return The calls sent per second, regardless of how fast the previous calls are responded
+	 */
+	public int getRatePerSecond() {
+		return ratePerSecond;
+	}
+
+	public void setRatePerSecond(int ratePerSecond) {
+		this.ratePerSecond = ratePerSecond;
+	}
+
+	/***
+	 * @return The seconds of calls sent before measuring, at the same rate
+	 */
+	public int getWarmupSeconds() {
+		return warmupSeconds;
+	}
+
+	public void setWarmupSeconds(int warmupSeconds) {
+		this.warmupSeconds = warmupSeconds;
+	}
+
+	/***
+	 * @return The seconds of calls measured
+	 */
+	public int getDurationSeconds() {
+		return durationSeconds;
+	}
+
+	public void setDurationSeconds(int durationSeconds) {
+		this.durationSeconds = durationSeconds;
+	}
+
+	/***
+	 * @return The number of calls in flight at most, beyond which the calls wait for a connection, measured as well
+	 */
+	public int getConnections() {
+		return connections;
+	}
+
+	public void setConnections(int connections) {
+		this.connections = connections;
+	}
+
+	/***
+	 * @return The number of synthetic artifact jars loaded, 1, 50 or 500, of which each call picks one at random
+	 */
+	public int getJars() {
+		return jars;
+	}
+
+	public void setJars(int jars) {
+		this.jars = jars;
+	}
+
+	public List<Call> getCalls() {
+		return calls;
+	}
+
+	public void setCalls(List<Call> calls) {
+		this.calls = calls;
+	}
+
+	public List<Reload> getReloads() {
+		return reloads;
+	}
+
+	public void setReloads(List<Reload> reloads) {
+		this.reloads = reloads;
+	}
+
+	/***
+	 * A call of the scenario, whose path may have a "{jar}" placeholder replaced by the index of the artifact jar
+	 * picked, e.g: "/execute/decision/com.bench/Score{jar}/Base/1.0"
+	 */
+	public static class Call {
+		private String name;
+		private int weight = 1;
+		private String path;
+		private Map<String, String> headers = Maps.newHashMap();
+		private Object body;
+		private int batchSize;
+
+		/***
+		 * @return The call name, by which its latencies are reported
+		 */
+		public String getName() {
+			return name;
+		}
+
+		public void setName(String name) {
+			this.name = name;
+		}
+
+		/***
+		 * @return The share of this call out of the sum of all the calls' weights
+		 */
+		public int getWeight() {
+			return weight;
+		}
+
+		public void setWeight(int weight) {
+			this.weight = weight;
+		}
+
+		public String getPath() {
+			return path;
+		}
+
+		public void setPath(String path) {
+			this.path = path;
+		}
+
+		public Map<String, String> getHeaders() {
+			return headers;
+		}
+
+		public void setHeaders(Map<String, String> headers) {
+			this.headers = headers;
+		}
+
+		/***
+		 * @return The JSON request body
+		 */
+		public Object getBody() {
+			return body;
+		}
+
+		public void setBody(Object body) {
+			this.body = body;
+		}
+
+		/***
+		 * @return If positive, the body is sent as an array of this number of copies of it, as the body of a batch call
+		 */
+		public int getBatchSize() {
+			return batchSize;
+		}
+
+		public void setBatchSize(int batchSize) {
+			this.batchSize = batchSize;
+		}
+	}
+
+	/***
+	 * A reload of all the loaded artifact jars, called at the given second of the measured calls
+	 */
+	public static class Reload {
+		private int atSecond;
+
+		public int getAtSecond() {
+			return atSecond;
+		}
+
+		public void setAtSecond(int atSecond) {
+			this.atSecond = atSecond;
+		}
+	}
+}
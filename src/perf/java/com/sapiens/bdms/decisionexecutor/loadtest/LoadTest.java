@@ -0,0 +1,264 @@
+package com.sapiens.bdms.decisionexecutor.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+import com.google.common.io.ByteStreams;
+import com.sapiens.bdms.decisionexecutor.DecisionExecutorApplication;
+import com.sapiens.bdms.decisionexecutor.benchmark.SyntheticArtifacts;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import java.util.stream.Stream;
+
+/***
+ * Starts the application in-process on a random port with the synthetic artifact jars, and sends the calls of a
+ * scenario at its fixed rate (open loop), each measured from the time it was due rather than from when a connection
+ * was free, while reloading the artifact jars at the scenario's times.
+ * The report is written to "{scenario}-report.json" of the working directory and compared against the scenario's
+ * baseline if stored, exiting with 1 on any regression.
+ * <br>
+ * Options: --scenario={name or path of the scenario file}, --tolerance={ratio, 0.2 by default},
+ * --save-baseline to store the report as the scenario's baseline
+ */
+public class LoadTest {
+
+	public static final String SCENARIOS_DIRECTORY_PROPERTY = "load.scenarios.dir";
+
+	// relative to the working directory, as the reload call's path is a single path segment
+	private static final String ARTIFACTS_DIRECTORY = "artifacts";
+
+	private static final ObjectMapper MAPPER = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+
+	private final LoadScenario scenario;
+	private final LoadReport report;
+	private final List<Sender> senders = Lists.newArrayList();
+	private final List<long[]> reloadWindows = Collections.synchronizedList(Lists.newArrayList());
+	private final String baseUrl;
+
+	private LoadTest(LoadScenario scenario, int port) throws IOException {
+		this.scenario = scenario;
+		this.report = new LoadReport(scenario);
+		this.baseUrl = "http://localhost:" + port;
+		for (LoadScenario.Call call : scenario.getCalls()) {
+			Object body = call.getBatchSize() > 0 ? Collections.nCopies(call.getBatchSize(), call.getBody()) : call.getBody();
+			Sender sender = new Sender(call, MAPPER.writeValueAsBytes(body));
+			for (int i = 0; i < call.getWeight(); i++) {
+				senders.add(sender);
+			}
+		}
+	}
+
+	public static void main(String[] args) throws Exception {
+		Map<String, String> options = parseOptions(args);
+		LoadScenario scenario = MAPPER.readValue(resolveScenario(options.getOrDefault("scenario", "mixed")), LoadScenario.class);
+		double tolerance = Double.parseDouble(options.getOrDefault("tolerance", "0.2"));
+
+		copyArtifacts(scenario.getJars());
+		// kept alive up to the number of connections rather than the default 5
+		System.setProperty("http.maxConnections", String.valueOf(scenario.getConnections()));
+		ConfigurableApplicationContext context = new SpringApplicationBuilder(DecisionExecutorApplication.class)
+				.run("--server.port=0", "--artifacts.jar.location=" + ARTIFACTS_DIRECTORY, "--artifacts.watcher.enabled=false");
+		int exitCode;
+		try {
+			int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+			LoadReport report = new LoadTest(scenario, port).run();
+			exitCode = writeReport(scenario, report, tolerance, options.containsKey("save-baseline"));
+		} finally {
+			context.close();
+		}
+		System.exit(exitCode);
+	}
+
+	/***
+	 * Sends the warm-up calls and then the measured calls, one per period of the scenario's rate
+	 */
+	private LoadReport run() throws InterruptedException {
+		ExecutorService connections = Executors.newFixedThreadPool(scenario.getConnections());
+		ScheduledExecutorService reloader = Executors.newSingleThreadScheduledExecutor();
+		long periodNanos = TimeUnit.SECONDS.toNanos(1) / scenario.getRatePerSecond();
+		long start = System.nanoTime();
+		long measureStart = start + TimeUnit.SECONDS.toNanos(scenario.getWarmupSeconds());
+		long end = measureStart + TimeUnit.SECONDS.toNanos(scenario.getDurationSeconds());
+		for (LoadScenario.Reload reload : scenario.getReloads()) {
+			long delayNanos = measureStart + TimeUnit.SECONDS.toNanos(reload.getAtSecond()) - System.nanoTime();
+			reloader.schedule(this::reload, delayNanos, TimeUnit.NANOSECONDS);
+		}
+		System.out.printf("Sending %d calls per second of scenario \"%s\" for %d seconds after %d seconds of warm-up%n",
+						  scenario.getRatePerSecond(), scenario.getName(), scenario.getDurationSeconds(), scenario.getWarmupSeconds());
+
+		for (long dueNanos = start; dueNanos < end; dueNanos += periodNanos) {
+			long waitNanos = dueNanos - System.nanoTime();
+			if (waitNanos > 0) {
+				LockSupport.parkNanos(waitNanos);
+			}
+			Sender sender = senders.get(ThreadLocalRandom.current().nextInt(senders.size()));
+			long due = dueNanos;
+			boolean measured = dueNanos >= measureStart;
+			connections.execute(() -> sender.send(due, measured));
+		}
+		connections.shutdown();
+		connections.awaitTermination(1, TimeUnit.MINUTES);
+		reloader.shutdown();
+		reloader.awaitTermination(1, TimeUnit.MINUTES);
+		return report;
+	}
+
+	/***
+	 * Reloads all the loaded artifact jars, while the calls are sent
+	 */
+	private void reload() {
+		long[] window = {System.nanoTime(), Long.MAX_VALUE};
+		reloadWindows.add(window);
+		try {
+			int status = send("GET", baseUrl + "/reload/artifacts/jars/from/" + ARTIFACTS_DIRECTORY + "?forceReload=true", null, Collections.emptyMap());
+			if (status != 200) {
+				System.out.println("Reload responded with " + status);
+			}
+		} catch (IOException e) {
+			System.out.println("Reload failed: " + e);
+		}
+		window[1] = System.nanoTime();
+		report.recordReload(window[1] - window[0]);
+	}
+
+	private boolean overlapsReload(long fromNanos, long toNanos) {
+		synchronized (reloadWindows) {
+			return reloadWindows.stream().anyMatch(window -> window[0] <= toNanos && window[1] >= fromNanos);
+		}
+	}
+
+	/***
+	 * @return The response status, after reading the whole response body
+	 */
+	private static int send(String method, String url, byte[] body, Map<String, String> headers) throws IOException {
+		HttpURLConnection connection = (HttpURLConnection) new URL(url).openConnection();
+		connection.setRequestMethod(method);
+		headers.forEach(connection::setRequestProperty);
+		if (body != null) {
+			connection.setDoOutput(true);
+			connection.setRequestProperty("Content-Type", "application/json");
+			connection.setFixedLengthStreamingMode(body.length);
+			try (OutputStream out = connection.getOutputStream()) {
+				out.write(body);
+			}
+		}
+		int status = connection.getResponseCode();
+		// fully read, so the connection is kept alive for the next call
+		try (InputStream in = status < 400 ? connection.getInputStream() : connection.getErrorStream()) {
+			if (in != null) {
+				ByteStreams.copy(in, ByteStreams.nullOutputStream());
+			}
+		}
+		return status;
+	}
+
+	private static int writeReport(LoadScenario scenario, LoadReport report, double tolerance, boolean saveBaseline) throws IOException {
+		Map<String, Object> summary = report.toSummary();
+		String json = MAPPER.writeValueAsString(summary);
+		System.out.println(json);
+		Files.write(Paths.get(scenario.getName() + "-report.json"), json.getBytes("UTF-8"));
+
+		Path baseline = getScenariosDirectory().resolve("baselines").resolve(scenario.getName() + ".json");
+		if (saveBaseline) {
+			Files.createDirectories(baseline.getParent());
+			Files.write(baseline, json.getBytes("UTF-8"));
+			System.out.println("Saved as the baseline " + baseline);
+			return 0;
+		}
+		if (!Files.exists(baseline)) {
+			System.out.println("No baseline to compare with, stored by --save-baseline as " + baseline);
+			return 0;
+		}
+		StringBuilder table = new StringBuilder();
+		List<String> regressions = report.compare(MAPPER.readValue(baseline.toFile(), Map.class), tolerance, table);
+		System.out.println(table);
+		if (regressions.isEmpty()) {
+			System.out.println("No regression against the baseline " + baseline);
+			return 0;
+		}
+		System.out.println("Regressions against the baseline " + baseline + ":");
+		regressions.forEach(regression -> System.out.println("  " + regression));
+		return 1;
+	}
+
+	private static File resolveScenario(String scenario) {
+		File file = new File(scenario);
+		return file.isFile() ? file : getScenariosDirectory().resolve(scenario + ".json").toFile();
+	}
+
+	private static Path getScenariosDirectory() {
+		return Paths.get(System.getProperty(SCENARIOS_DIRECTORY_PROPERTY, "src/perf/scenarios"));
+	}
+
+	/***
+	 * Copies the synthetic artifact jars into the directory the application loads from and reloads
+	 */
+	private static void copyArtifacts(int jarCount) throws IOException {
+		Path artifacts = Paths.get(ARTIFACTS_DIRECTORY);
+		Files.createDirectories(artifacts);
+		try (Stream<Path> jars = Files.list(Paths.get(SyntheticArtifacts.getJarsDirectory(jarCount)))) {
+			for (Path jar : (Iterable<Path>) jars::iterator) {
+				Files.copy(jar, artifacts.resolve(jar.getFileName()), StandardCopyOption.REPLACE_EXISTING);
+			}
+		}
+	}
+
+	private static Map<String, String> parseOptions(String[] args) {
+		Map<String, String> options = Maps.newHashMap();
+		for (String arg : args) {
+			String option = arg.startsWith("--") ? arg.substring(2) : arg;
+			int separator = option.indexOf('=');
+			options.put(separator < 0 ? option : option.substring(0, separator), separator < 0 ? "" : option.substring(separator + 1));
+		}
+		return options;
+	}
+
+	/***
+	 * Sends a call of the scenario and records its latency
+	 */
+	private class Sender {
+		private final LoadScenario.Call call;
+		private final byte[] body;
+
+		Sender(LoadScenario.Call call, byte[] body) {
+			this.call = call;
+			this.body = body;
+		}
+
+		void send(long dueNanos, boolean measured) {
+			String path = call.getPath().replace("{jar}", String.valueOf(ThreadLocalRandom.current().nextInt(scenario.getJars())));
+			int status;
+			try {
+				status = LoadTest.send("POST", baseUrl + path, body, call.getHeaders());
+			} catch (IOException e) {
+				status = 0;
+			}
+			long doneNanos = System.nanoTime();
+			if (measured) {
+				report.record(call.getName(), doneNanos - dueNanos, status, overlapsReload(dueNanos, doneNanos));
+			}
+		}
+	}
+}